@@ -0,0 +1,180 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access;
+
+import java.util.Map;
+
+import ch.qos.logback.access.spi.AccessEvent;
+import ch.qos.logback.core.encoder.JsonEncoderBase;
+
+/**
+ * Writes access events as JSON objects, one per line, encoded in UTF-8. For
+ * example:
+ * 
+ * <pre>
+ * {"timestamp":1286548436123,"remoteHost":"127.0.0.1","remoteUser":"-","method":"GET","requestURI":"/index.html","protocol":"HTTP/1.1","statusCode":200,"contentLength":1024}
+ * </pre>
+ * 
+ * Each field can be left out by setting the corresponding <b>Include*</b>
+ * property to false. The request and response headers are left out by
+ * default.
+ */
+public class JsonEncoder extends JsonEncoderBase<AccessEvent> {
+
+  static final byte[] TIMESTAMP = fieldName("timestamp");
+  static final byte[] REMOTE_HOST = fieldName("remoteHost");
+  static final byte[] REMOTE_USER = fieldName("remoteUser");
+  static final byte[] METHOD = fieldName("method");
+  static final byte[] REQUEST_URI = fieldName("requestURI");
+  static final byte[] PROTOCOL = fieldName("protocol");
+  static final byte[] STATUS_CODE = fieldName("statusCode");
+  static final byte[] CONTENT_LENGTH = fieldName("contentLength");
+  static final byte[] REQUEST_HEADERS = fieldName("requestHeaders");
+  static final byte[] RESPONSE_HEADERS = fieldName("responseHeaders");
+
+  private boolean includeTimestamp = true;
+  private boolean includeRemoteHost = true;
+  private boolean includeRemoteUser = true;
+  private boolean includeMethod = true;
+  private boolean includeRequestURI = true;
+  private boolean includeProtocol = true;
+  private boolean includeStatusCode = true;
+  private boolean includeContentLength = true;
+  private boolean includeRequestHeaders = false;
+  private boolean includeResponseHeaders = false;
+
+  @Override
+  protected void writeFields(AccessEvent event) {
+    if (includeTimestamp) {
+      writeNumberField(TIMESTAMP, event.getTimeStamp());
+    }
+    if (includeRemoteHost) {
+      writeStringField(REMOTE_HOST, event.getRemoteHost());
+    }
+    if (includeRemoteUser) {
+      writeStringField(REMOTE_USER, event.getRemoteUser());
+    }
+    if (includeMethod) {
+      writeStringField(METHOD, event.getMethod());
+    }
+    if (includeRequestURI) {
+      writeStringField(REQUEST_URI, event.getRequestURI());
+    }
+    if (includeProtocol) {
+      writeStringField(PROTOCOL, event.getProtocol());
+    }
+    if (includeStatusCode) {
+      writeNumberField(STATUS_CODE, event.getStatusCode());
+    }
+    if (includeContentLength) {
+      writeNumberField(CONTENT_LENGTH, event.getContentLength());
+    }
+    if (includeRequestHeaders) {
+      writeHeaders(REQUEST_HEADERS, event.getRequestHeaderMap());
+    }
+    if (includeResponseHeaders) {
+      writeHeaders(RESPONSE_HEADERS, event.getResponseHeaderMap());
+    }
+  }
+
+  private void writeHeaders(byte[] name, Map<String, String> headerMap) {
+    writeFieldName(name);
+    writeStartObject();
+    for (Map.Entry<String, String> entry : headerMap.entrySet()) {
+      writeFieldName(entry.getKey());
+      writeString(entry.getValue());
+    }
+    writeEndObject();
+  }
+
+  public boolean isIncludeTimestamp() {
+    return includeTimestamp;
+  }
+
+  public void setIncludeTimestamp(boolean includeTimestamp) {
+    this.includeTimestamp = includeTimestamp;
+  }
+
+  public boolean isIncludeRemoteHost() {
+    return includeRemoteHost;
+  }
+
+  public void setIncludeRemoteHost(boolean includeRemoteHost) {
+    this.includeRemoteHost = includeRemoteHost;
+  }
+
+  public boolean isIncludeRemoteUser() {
+    return includeRemoteUser;
+  }
+
+  public void setIncludeRemoteUser(boolean includeRemoteUser) {
+    this.includeRemoteUser = includeRemoteUser;
+  }
+
+  public boolean isIncludeMethod() {
+    return includeMethod;
+  }
+
+  public void setIncludeMethod(boolean includeMethod) {
+    this.includeMethod = includeMethod;
+  }
+
+  public boolean isIncludeRequestURI() {
+    return includeRequestURI;
+  }
+
+  public void setIncludeRequestURI(boolean includeRequestURI) {
+    this.includeRequestURI = includeRequestURI;
+  }
+
+  public boolean isIncludeProtocol() {
+    return includeProtocol;
+  }
+
+  public void setIncludeProtocol(boolean includeProtocol) {
+    this.includeProtocol = includeProtocol;
+  }
+
+  public boolean isIncludeStatusCode() {
+    return includeStatusCode;
+  }
+
+  public void setIncludeStatusCode(boolean includeStatusCode) {
+    this.includeStatusCode = includeStatusCode;
+  }
+
+  public boolean isIncludeContentLength() {
+    return includeContentLength;
+  }
+
+  public void setIncludeContentLength(boolean includeContentLength) {
+    this.includeContentLength = includeContentLength;
+  }
+
+  public boolean isIncludeRequestHeaders() {
+    return includeRequestHeaders;
+  }
+
+  public void setIncludeRequestHeaders(boolean includeRequestHeaders) {
+    this.includeRequestHeaders = includeRequestHeaders;
+  }
+
+  public boolean isIncludeResponseHeaders() {
+    return includeResponseHeaders;
+  }
+
+  public void setIncludeResponseHeaders(boolean includeResponseHeaders) {
+    this.includeResponseHeaders = includeResponseHeaders;
+  }
+}
@@ -172,6 +172,13 @@ public class PatternLayout extends PatternLayoutBase<AccessEvent> {
     return writeLoopOnConverters(event);
   }
 
+  // declared here, next to doLayout(AccessEvent), so that encoders keep appending
+  // to their buffer, see isDoLayoutIntoBufferEquivalent()
+  @Override
+  public void doLayout(AccessEvent event, StringBuilder buf) {
+    super.doLayout(event, buf);
+  }
+
   @Override
   public void start() {
     if (getPattern().equalsIgnoreCase(CLF_PATTERN_NAME)
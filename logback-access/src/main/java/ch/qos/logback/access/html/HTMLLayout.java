@@ -20,7 +20,6 @@ import java.util.Map;
 import ch.qos.logback.access.PatternLayout;
 import ch.qos.logback.access.spi.AccessEvent;
 import ch.qos.logback.core.html.HTMLLayoutBase;
-import ch.qos.logback.core.pattern.Converter;
 
 /**
  * 
@@ -59,7 +58,15 @@ public class HTMLLayout extends HTMLLayoutBase<AccessEvent> {
   }
 
   public String doLayout(AccessEvent event) {
-    StringBuilder buf = new StringBuilder();
+    StringBuilder buf = new StringBuilder(256);
+    doLayout(event, buf);
+    return buf.toString();
+  }
+
+  // sub-classes overriding doLayout(AccessEvent) alone are laid out through it by
+  // encoders, see isDoLayoutIntoBufferEquivalent()
+  @Override
+  public void doLayout(AccessEvent event, StringBuilder buf) {
     startNewTableIfLimitReached(buf);
 
     boolean odd = true;
@@ -76,24 +83,8 @@ public class HTMLLayout extends HTMLLayoutBase<AccessEvent> {
     }
     buf.append(LINE_SEPARATOR);
 
-    Converter<AccessEvent> c = head;
-    while (c != null) {
-      appendEventToBuffer(buf, c, event);
-      c = c.getNext();
-    }
+    appendCells(buf, event);
     buf.append("</tr>");
     buf.append(LINE_SEPARATOR);
-
-    return buf.toString();
-  }
-
-  private void appendEventToBuffer(StringBuilder buf, Converter<AccessEvent> c,
-      AccessEvent event) {
-    buf.append("<td class=\"");
-    buf.append(computeConverterName(c));
-    buf.append("\">");
-    c.write(buf, event);
-    buf.append("</td>");
-    buf.append(LINE_SEPARATOR);
   }
 }
@@ -17,12 +17,12 @@ import ch.qos.logback.access.spi.AccessEvent;
 
 public class ContentLengthConverter extends AccessConverter {
 
-  public String convert(AccessEvent accessEvent) {
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
     long len = accessEvent.getContentLength();
     if(len == AccessEvent.SENTINEL) {
-      return AccessEvent.NA;
+      buf.append(AccessEvent.NA);
     } else {
-    return Long.toString(len);
+      buf.append(len);
     } 
   }
 
@@ -13,21 +13,18 @@
  */
 package ch.qos.logback.access.pattern;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
 
 import ch.qos.logback.access.spi.AccessEvent;
 import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.util.CachingDateFormatter;
 
 
 
 public class DateConverter extends AccessConverter {
 
-  long lastTimestamp = -1;
-  String timesmapStr = null;
-  SimpleDateFormat simpleFormat = null;
+  CachingDateFormatter cachingDateFormatter = null;
   
   public void start() {
     
@@ -39,39 +36,27 @@ public class DateConverter extends AccessConverter {
     if (datePattern.equals(CoreConstants.ISO8601_STR)) {
       datePattern = CoreConstants.ISO8601_PATTERN;
     } 
-    
+
+    TimeZone tz = null;
+    List optionList = getOptionList();
+
+    // if the option list contains a TZ option, then set it.
+    if (optionList != null && optionList.size() > 1) {
+      tz = TimeZone.getTimeZone((String) optionList.get(1));
+    }
+
     try {
-      simpleFormat = new SimpleDateFormat(datePattern);
-      //maximumCacheValidity = CachedDateFormat.getMaximumCacheValidity(pattern);
+      cachingDateFormatter = new CachingDateFormatter(datePattern, tz);
     } catch (IllegalArgumentException e) {
       addWarn(
         "Could not instantiate SimpleDateFormat with pattern " + datePattern, e);
-      // default to the ISO8601 format
-      simpleFormat = new SimpleDateFormat(CoreConstants.CLF_DATE_PATTERN);
-    }
-    
-    List optionList = getOptionList();
-    
-    // if the option list contains a TZ option, then set it.
-    if (optionList != null && optionList.size() > 1) {
-      TimeZone tz = TimeZone.getTimeZone((String) optionList.get(1));
-      simpleFormat.setTimeZone(tz);
+      // default to the CLF format
+      cachingDateFormatter = new CachingDateFormatter(
+          CoreConstants.CLF_DATE_PATTERN, tz);
     }
   }
-  
 
-  public String convert(AccessEvent accessEvent) {
-  
-    long timestamp = accessEvent.getTimeStamp();
-    
-    // if called multiple times within the same millisecond
-    // return old value
-    if(timestamp == lastTimestamp) {
-      return timesmapStr;
-    } else {
-      lastTimestamp = timestamp;
-      timesmapStr = simpleFormat.format(new Date(timestamp));
-      return timesmapStr;
-    }
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    cachingDateFormatter.appendTo(buf, accessEvent.getTimeStamp());
   }
 }
@@ -30,8 +30,7 @@ import ch.qos.logback.core.CoreConstants;
 public class FullRequestConverter extends AccessConverter {
 
   @Override
-  public String convert(AccessEvent ae) {
-    StringBuffer buf = new StringBuffer();
+  public void appendTo(StringBuilder buf, AccessEvent ae) {
     buf.append(ae.getRequestURL());
     buf.append(CoreConstants.LINE_SEPARATOR);
     
@@ -45,7 +44,6 @@ public class FullRequestConverter extends AccessConverter {
     }
     buf.append(CoreConstants.LINE_SEPARATOR);
     buf.append(ae.getRequestContent());
-    return buf.toString();
   }
 
 }
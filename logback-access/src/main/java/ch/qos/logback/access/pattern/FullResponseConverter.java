@@ -21,8 +21,7 @@ import ch.qos.logback.core.CoreConstants;
 public class FullResponseConverter extends AccessConverter {
 
   @Override
-  public String convert(AccessEvent ae) {
-    StringBuffer buf = new StringBuffer();
+  public void appendTo(StringBuilder buf, AccessEvent ae) {
     
     buf.append("HTTP/1.1 ");
     int statusCode = ae.getStatusCode();
@@ -41,7 +40,6 @@ public class FullResponseConverter extends AccessConverter {
     buf.append(CoreConstants.LINE_SEPARATOR);
     buf.append(ae.getResponseContent());
     buf.append(CoreConstants.LINE_SEPARATOR);
-    return buf.toString();
   }
 
   static String getStatusCodeDescription(int sc) {
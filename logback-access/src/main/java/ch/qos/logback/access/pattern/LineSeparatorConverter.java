@@ -19,7 +19,7 @@ import ch.qos.logback.core.CoreConstants;
 
 public class LineSeparatorConverter extends AccessConverter {
 
-  public String convert(AccessEvent event) {
-    return CoreConstants.LINE_SEPARATOR;
+  public void appendTo(StringBuilder buf, AccessEvent event) {
+    buf.append(CoreConstants.LINE_SEPARATOR);
   }
 }
@@ -30,8 +30,8 @@ public class LocalIPAddressConverter extends AccessConverter {
     }
   }
 
-  public String convert(AccessEvent accessEvent) {
-    return localIPAddressStr;
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    buf.append(localIPAddressStr);
   }
 
 }
@@ -18,7 +18,7 @@ import ch.qos.logback.access.spi.AccessEvent;
 public class LocalPortConverter extends AccessConverter {
 
   
-  public String convert(AccessEvent accessEvent) {    
-    return Integer.toString(accessEvent.getLocalPort());
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    buf.append(accessEvent.getLocalPort());
   }
 }
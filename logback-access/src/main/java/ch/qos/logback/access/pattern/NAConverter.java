@@ -23,8 +23,8 @@ import ch.qos.logback.access.spi.AccessEvent;
  */
 public class NAConverter extends AccessConverter {
   
-  public String convert(AccessEvent accessEvent) {    
-      return AccessEvent.NA;
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    buf.append(AccessEvent.NA);
   }
 
 }
@@ -18,8 +18,8 @@ import ch.qos.logback.access.spi.AccessEvent;
 public class RemoteHostConverter extends AccessConverter {
 
   
-  public String convert(AccessEvent accessEvent) {    
-    return accessEvent.getRemoteHost();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getRemoteHost());
   }
 
 }
@@ -17,8 +17,8 @@ import ch.qos.logback.access.spi.AccessEvent;
 
 public class RemoteIPAddressConverter extends AccessConverter {
 
-  public String convert(AccessEvent accessEvent) {
-    return accessEvent.getRemoteAddr();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getRemoteAddr());
   }
 
 }
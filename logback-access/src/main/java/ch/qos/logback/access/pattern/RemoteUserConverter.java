@@ -18,13 +18,12 @@ import ch.qos.logback.access.spi.AccessEvent;
 public class RemoteUserConverter extends AccessConverter {
 
   
-  public String convert(AccessEvent accessEvent) {    
-    
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
     String user = accessEvent.getRemoteUser();
     if(user == null) {
-      return AccessEvent.NA;
+      buf.append(AccessEvent.NA);
     } else {
-      return user;
+      buf.append(user);
     }
   }
 
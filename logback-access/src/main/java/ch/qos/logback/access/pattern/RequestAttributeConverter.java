@@ -30,12 +30,12 @@ public class RequestAttributeConverter extends AccessConverter {
     }
   }
 
-  public String convert(AccessEvent accessEvent) {
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
     if (!isStarted()) {
-      return "INACTIVE_REQUEST_ATTRIB_CONV";
+      buf.append("INACTIVE_REQUEST_ATTRIB_CONV");
+      return;
     }
-
-    return accessEvent.getAttribute(key);
+    appendValue(buf, accessEvent.getAttribute(key));
   }
 
 }
@@ -27,8 +27,8 @@ import ch.qos.logback.access.spi.AccessEvent;
 public class RequestContentConverter extends AccessConverter {
 
   @Override
-  public String convert(AccessEvent accessEvent) {
-    return accessEvent.getRequestContent();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getRequestContent());
   }
 
 }
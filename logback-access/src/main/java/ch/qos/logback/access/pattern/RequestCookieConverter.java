@@ -30,11 +30,11 @@ public class RequestCookieConverter extends AccessConverter {
     }
   }
 
-  public String convert(AccessEvent accessEvent) {
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
     if (!isStarted()) {
-      return "INACTIVE_COOKIE_CONVERTER";
+      buf.append("INACTIVE_COOKIE_CONVERTER");
+      return;
     }
-
-    return accessEvent.getCookie(key);
+    appendValue(buf, accessEvent.getCookie(key));
   }
 }
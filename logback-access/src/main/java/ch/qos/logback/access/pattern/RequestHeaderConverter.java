@@ -30,15 +30,15 @@ public class RequestHeaderConverter extends AccessConverter {
     super.start();
   }
 
-  public String convert(AccessEvent accessEvent) {
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
     if(!isStarted()) {
-      return "INACTIVE_HEADER_CONV";
+      buf.append("INACTIVE_HEADER_CONV");
+      return;
     }
-    
     if(key != null) {
-      return accessEvent.getRequestHeader(key);
+      appendValue(buf, accessEvent.getRequestHeader(key));
     } else {
-      return accessEvent.getRequestHeaderMap().toString();
+      buf.append(accessEvent.getRequestHeaderMap());
     }
   }
 
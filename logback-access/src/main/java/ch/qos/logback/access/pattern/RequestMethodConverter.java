@@ -18,7 +18,7 @@ import ch.qos.logback.access.spi.AccessEvent;
 public class RequestMethodConverter extends AccessConverter {
 
    
-  public String convert(AccessEvent accessEvent) {    
-    return accessEvent.getMethod();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getMethod());
   }
 }
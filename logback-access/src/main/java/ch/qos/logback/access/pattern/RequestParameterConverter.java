@@ -31,18 +31,18 @@ public class RequestParameterConverter extends AccessConverter {
     }
   }
 
-  public String convert(AccessEvent accessEvent) {
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
     if (!isStarted()) {
-      return "INACTIVE_REQUEST_PARAM_CONV";
+      buf.append("INACTIVE_REQUEST_PARAM_CONV");
+      return;
     }
-
     String[] paramArray = accessEvent.getRequestParameter(key);
     if (paramArray.length == 1) {
-      return paramArray[0];
+      appendValue(buf, paramArray[0]);
     } else {
       // for an array string {"a", "b"} named 'sa', Array.toString(sa) returns the string 
       // "[a, b]".
-      return Arrays.toString(paramArray);
+      buf.append(Arrays.toString(paramArray));
     }
   }
 
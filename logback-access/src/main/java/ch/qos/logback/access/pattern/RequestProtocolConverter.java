@@ -18,7 +18,7 @@ import ch.qos.logback.access.spi.AccessEvent;
 public class RequestProtocolConverter extends AccessConverter {
 
   
-  public String convert(AccessEvent accessEvent) {    
-    return accessEvent.getProtocol();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getProtocol());
   }
 }
@@ -22,8 +22,8 @@ import ch.qos.logback.access.spi.AccessEvent;
  */
 public class RequestURIConverter extends AccessConverter {
 
-  public String convert(AccessEvent accessEvent) {
-    return accessEvent.getRequestURI();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getRequestURI());
   }
 
 }
@@ -22,7 +22,7 @@ import ch.qos.logback.access.spi.AccessEvent;
  */
 public class RequestURLConverter extends AccessConverter {
 
-  public String convert(AccessEvent accessEvent) {
-    return accessEvent.getRequestURL();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getRequestURL());
   }
 }
@@ -30,12 +30,12 @@ public class ResponseHeaderConverter extends AccessConverter {
     }
   }
 
-  public String convert(AccessEvent accessEvent) {
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
     if(!isStarted()) {
-      return "INACTIVE_REPONSE_HEADER_CONV";
+      buf.append("INACTIVE_REPONSE_HEADER_CONV");
+      return;
     }
-    
-    return accessEvent.getResponseHeader(key);
+    appendValue(buf, accessEvent.getResponseHeader(key));
     //return null;
     
 //    HttpServletResponse response = accessEvent.getHttpResponse();
@@ -17,7 +17,7 @@ import ch.qos.logback.access.spi.AccessEvent;
 
 public class ServerNameConverter extends AccessConverter {
 
-  public String convert(AccessEvent accessEvent) {    
-    return accessEvent.getServerName();
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    appendValue(buf, accessEvent.getServerName());
   }
 }
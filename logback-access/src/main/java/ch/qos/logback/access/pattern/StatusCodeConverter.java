@@ -17,8 +17,8 @@ import ch.qos.logback.access.spi.AccessEvent;
 
 public class StatusCodeConverter extends AccessConverter {
 
-  public String convert(AccessEvent accessEvent) {
-    return Integer.toString(accessEvent.getStatusCode());
+  public void appendTo(StringBuilder buf, AccessEvent accessEvent) {
+    buf.append(accessEvent.getStatusCode());
   }
 
 }
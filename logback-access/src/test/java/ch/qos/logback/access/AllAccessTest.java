@@ -18,7 +18,8 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses( { ch.qos.logback.access.spi.PackageTest.class,
+@SuiteClasses( { JsonEncoderTest.class,
+    ch.qos.logback.access.spi.PackageTest.class,
     ch.qos.logback.access.net.PackageTest.class,
     ch.qos.logback.access.pattern.PackageTest.class,
     ch.qos.logback.access.jetty.PackageTest.class,
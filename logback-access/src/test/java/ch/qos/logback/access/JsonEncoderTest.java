@@ -0,0 +1,101 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.access;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.access.dummy.DummyRequest;
+import ch.qos.logback.access.dummy.DummyResponse;
+import ch.qos.logback.access.dummy.DummyServerAdapter;
+import ch.qos.logback.access.spi.AccessEvent;
+
+public class JsonEncoderTest {
+
+  static final String FIELDS = "\"remoteHost\":\"testHost\","
+      + "\"remoteUser\":\"testUser\",\"method\":\"testMethod\","
+      + "\"requestURI\":null,\"protocol\":\"testProtocol\","
+      + "\"statusCode\":200,\"contentLength\":1000";
+
+  JsonEncoder encoder = new JsonEncoder();
+  ByteArrayOutputStream baos = new ByteArrayOutputStream();
+  DummyRequest request = new DummyRequest();
+  DummyResponse response = new DummyResponse();
+
+  @Before
+  public void setUp() throws IOException {
+    encoder.setIncludeTimestamp(false);
+    encoder.start();
+    encoder.init(baos);
+  }
+
+  String encode() throws IOException {
+    AccessEvent event = new AccessEvent(request, response,
+        new DummyServerAdapter(request, response));
+    baos.reset();
+    encoder.doEncode(event);
+    return new String(baos.toByteArray(), "UTF-8");
+  }
+
+  @Test
+  public void headersAreExcludedByDefault() throws IOException {
+    assertEquals("{" + FIELDS + "}\n", encode());
+  }
+
+  @Test
+  public void headersIncluded() throws IOException {
+    encoder.setIncludeRequestHeaders(true);
+    encoder.setIncludeResponseHeaders(true);
+    String json = encode();
+    assertTrue(json, json.startsWith("{" + FIELDS + ",\"requestHeaders\":{"
+        + "\"headerName1\":\"headerValue1\",\"headerName2\":\"headerValue2\"},"
+        + "\"responseHeaders\":{"));
+    assertTrue(json, json.contains("\"headerName1\":\"headerValue1\""));
+    assertTrue(json, json.endsWith("}}\n"));
+  }
+
+  @Test
+  public void fieldsExcluded() throws IOException {
+    encoder.setIncludeRemoteHost(false);
+    encoder.setIncludeRemoteUser(false);
+    encoder.setIncludeMethod(false);
+    encoder.setIncludeRequestURI(false);
+    encoder.setIncludeProtocol(false);
+    encoder.setIncludeStatusCode(false);
+    encoder.setIncludeContentLength(false);
+    assertEquals("{}\n", encode());
+    encoder.setIncludeResponseHeaders(true);
+    response.headerMap = new HashMap<String, String>();
+    assertEquals("{\"responseHeaders\":{}}\n", encode());
+  }
+
+  @Test
+  public void nullHeaderName() throws IOException {
+    encoder.setIncludeContentLength(false);
+    encoder.setIncludeResponseHeaders(true);
+    Map<String, String> headerMap = new HashMap<String, String>();
+    headerMap.put(null, "v");
+    response.headerMap = headerMap;
+    String json = encode();
+    assertTrue(json, json.endsWith(",\"responseHeaders\":{\"null\":\"v\"}}\n"));
+  }
+}
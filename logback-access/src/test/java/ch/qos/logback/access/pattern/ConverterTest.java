@@ -15,7 +15,9 @@ package ch.qos.logback.access.pattern;
 
 import static org.junit.Assert.assertEquals;
 
+import java.text.SimpleDateFormat;
 import java.util.ArrayList;
+import java.util.Date;
 import java.util.List;
 
 import javax.servlet.http.Cookie;
@@ -28,6 +30,7 @@ import ch.qos.logback.access.dummy.DummyRequest;
 import ch.qos.logback.access.dummy.DummyResponse;
 import ch.qos.logback.access.dummy.DummyServerAdapter;
 import ch.qos.logback.access.spi.AccessEvent;
+import ch.qos.logback.core.CoreConstants;
 
 public class ConverterTest  {
 
@@ -62,7 +65,8 @@ public class ConverterTest  {
     DateConverter converter = new DateConverter();
     converter.start();
     String result = converter.convert(event);
-    assertEquals(converter.simpleFormat.format(event.getTimeStamp()), result);
+    SimpleDateFormat sdf = new SimpleDateFormat(CoreConstants.CLF_DATE_PATTERN);
+    assertEquals(sdf.format(new Date(event.getTimeStamp())), result);
   }
 
   public void testLineLocalPortConverter() {
@@ -0,0 +1,146 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.AsyncAppenderBase;
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.async.WaitStrategy;
+
+/**
+ * Throughput and latency of {@link AsyncAppenderBase} with its default
+ * ArrayBlockingQueue and with the ring buffer under each {@link WaitStrategy}.
+ * 
+ * <p>
+ * {@link #append()} measures the throughput of the producers.
+ * {@link #appendLatency()} samples the time a producer spends in doAppend,
+ * including the time spent waiting for room in a full queue.
+ * {@link #enqueueToDispatch()} samples the time from the call to doAppend
+ * until the worker thread has handed the event to the attached appender.
+ * 
+ * <p>
+ * The number of producer threads is set with the <code>-t</code> option of
+ * JMH. As the behavior of the queues under contention matters most, results
+ * should cover 1 to 64 producers, for example:
+ * 
+ * <pre>
+ * for t in 1 2 4 8 16 32 64; do
+ *   java -jar target/benchmarks.jar AsyncAppenderBenchmark -t $t
+ * done
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AsyncAppenderBenchmark {
+
+  static final int QUEUE_SIZE = 1024;
+
+  @Param( { "ArrayBlockingQueue", "SPIN", "YIELD", "PARK" })
+  String queueMode;
+
+  AsyncAppenderBase<Object> async;
+  CountingAppender counter;
+
+  @Setup
+  public void setUp() {
+    ContextBase context = new ContextBase();
+    counter = new CountingAppender();
+    counter.setContext(context);
+    counter.start();
+
+    async = new AsyncAppenderBase<Object>();
+    async.setContext(context);
+    async.setQueueSize(QUEUE_SIZE);
+    if (!"ArrayBlockingQueue".equals(queueMode)) {
+      async.setWaitStrategy(WaitStrategy.valueOf(queueMode));
+    }
+    async.addAppender(counter);
+    async.start();
+  }
+
+  @TearDown
+  public void tearDown() {
+    async.stop();
+  }
+
+  @Benchmark
+  public void append() {
+    async.doAppend("hello");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void appendContended() {
+    async.doAppend("hello");
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void appendLatency() {
+    async.doAppend("hello");
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SampleTime)
+  @OutputTimeUnit(TimeUnit.NANOSECONDS)
+  public void enqueueToDispatch() {
+    Dispatch dispatch = new Dispatch();
+    async.doAppend(dispatch);
+    while (!dispatch.done) {
+      Thread.yield();
+    }
+  }
+
+  /**
+   * An event whose dispatch by the worker thread is awaited by its producer.
+   */
+  static class Dispatch {
+    volatile boolean done;
+  }
+
+  /**
+   * Only ever invoked by the worker thread of the async appender.
+   */
+  static class CountingAppender extends AppenderBase<Object> {
+    long count;
+
+    protected void append(Object e) {
+      count++;
+      if (e instanceof Dispatch) {
+        ((Dispatch) e).done = true;
+      }
+    }
+  }
+}
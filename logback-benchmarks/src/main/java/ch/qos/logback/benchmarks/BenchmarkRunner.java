@@ -0,0 +1,45 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs all benchmarks of this module with the GC profiler, so that the
+ * allocation rate of each benchmark is reported along with its timing. When
+ * arguments are given, they are handed to the regular JMH command line
+ * instead.
+ */
+public class BenchmarkRunner {
+
+  public static void main(String[] args) throws Exception {
+    if (args.length > 0) {
+      Main.main(args);
+      return;
+    }
+    runAll();
+  }
+
+  static void runAll() throws RunnerException {
+    Options options = new OptionsBuilder().include(
+        BenchmarkRunner.class.getPackage().getName() + ".*").addProfiler(
+        GCProfiler.class).build();
+    new Runner(options).run();
+  }
+}
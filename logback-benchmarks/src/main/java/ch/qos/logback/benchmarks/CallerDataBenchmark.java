@@ -0,0 +1,85 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.spi.CallerDataProvider;
+import ch.qos.logback.classic.spi.StackWalkerCallerDataProvider;
+import ch.qos.logback.classic.spi.ThrowableCallerDataProvider;
+
+/**
+ * Cost of computing caller data with each {@link CallerDataProvider}, for
+ * various depths of the application stack below the logging call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CallerDataBenchmark {
+
+  static final String FQCN = CallerDataBenchmark.class.getName();
+
+  @Param( { "throwable", "stackWalker" })
+  String provider;
+
+  @Param( { "10", "100", "500" })
+  int stackDepth;
+
+  @Param( { "1", "8" })
+  int maxDepth;
+
+  CallerDataProvider callerDataProvider;
+
+  @Setup
+  public void setUp() {
+    if ("stackWalker".equals(provider)) {
+      callerDataProvider = new StackWalkerCallerDataProvider();
+    } else {
+      callerDataProvider = new ThrowableCallerDataProvider();
+    }
+  }
+
+  @Benchmark
+  public StackTraceElement[] getCallerData() {
+    return Application.recurse(this, stackDepth);
+  }
+
+  StackTraceElement[] logCall() {
+    return callerDataProvider.getCallerData(FQCN, maxDepth);
+  }
+
+  static class Application {
+    static StackTraceElement[] recurse(CallerDataBenchmark benchmark, int depth) {
+      if (depth <= 0) {
+        return benchmark.logCall();
+      }
+      return recurse(benchmark, depth - 1);
+    }
+  }
+}
@@ -0,0 +1,83 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Cost of logging calls below the effective level of the logger, i.e. of
+ * the level check when no turbo filters are installed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DisabledLevelBenchmark {
+
+  LoggerContext lc;
+  Logger logger;
+  Integer arg1 = 1;
+  Integer arg2 = 2;
+
+  @Setup
+  public void setUp() {
+    lc = new LoggerContext();
+    lc.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+    logger = lc.getLogger(DisabledLevelBenchmark.class);
+  }
+
+  @Benchmark
+  public boolean isDebugEnabled() {
+    return logger.isDebugEnabled();
+  }
+
+  @Benchmark
+  public void debugNoArg() {
+    logger.debug("hello");
+  }
+
+  @Benchmark
+  public void debugOneArg() {
+    logger.debug("hello {}", arg1);
+  }
+
+  @Benchmark
+  public void debugTwoArgs() {
+    logger.debug("hello {} {}", arg1, arg2);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void debugTwoArgsContended() {
+    logger.debug("hello {} {}", arg1, arg2);
+  }
+}
@@ -0,0 +1,122 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.rolling.RollingFileAppender;
+import ch.qos.logback.core.rolling.TimeBasedRollingPolicy;
+
+/**
+ * Throughput of logging through a {@link FileAppender} or a
+ * {@link RollingFileAppender}, from the logger call to the file.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FileAppenderBenchmark {
+
+  static final String PATTERN = "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n";
+
+  @Param( { "file", "rolling" })
+  String appenderType;
+
+  @Param( { "true", "false" })
+  boolean immediateFlush;
+
+  LoggerContext lc;
+  Logger logger;
+  FileAppender<ILoggingEvent> appender;
+  File dir;
+
+  @Setup
+  public void setUp() {
+    lc = new LoggerContext();
+    dir = new File(System.getProperty("java.io.tmpdir"), "logback-benchmarks-"
+        + System.nanoTime());
+
+    PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+    encoder.setContext(lc);
+    encoder.setPattern(PATTERN);
+    encoder.setImmediateFlush(immediateFlush);
+    encoder.start();
+
+    if ("rolling".equals(appenderType)) {
+      RollingFileAppender<ILoggingEvent> rfa = new RollingFileAppender<ILoggingEvent>();
+      TimeBasedRollingPolicy<ILoggingEvent> tbrp = new TimeBasedRollingPolicy<ILoggingEvent>();
+      tbrp.setContext(lc);
+      tbrp.setFileNamePattern(dir + "/rolling-%d{yyyy-MM-dd}.log");
+      tbrp.setParent(rfa);
+      tbrp.start();
+      rfa.setRollingPolicy(tbrp);
+      appender = rfa;
+    } else {
+      appender = new FileAppender<ILoggingEvent>();
+      appender.setFile(dir + "/file.log");
+    }
+    appender.setContext(lc);
+    appender.setEncoder(encoder);
+    appender.start();
+
+    logger = lc.getLogger(FileAppenderBenchmark.class);
+    logger.setAdditive(false);
+    logger.addAppender(appender);
+  }
+
+  @TearDown
+  public void tearDown() {
+    lc.stop();
+    File[] files = dir.listFiles();
+    if (files != null) {
+      for (File f : files) {
+        f.delete();
+      }
+    }
+    dir.delete();
+  }
+
+  @Benchmark
+  public void log() {
+    logger.info("order {} processed", "A-1234");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void logContended() {
+    logger.info("order {} processed", "A-1234");
+  }
+}
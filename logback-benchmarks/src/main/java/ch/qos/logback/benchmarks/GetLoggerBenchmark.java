@@ -0,0 +1,141 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+
+/**
+ * Cost of retrieving existing loggers by name, of creating new loggers, and
+ * of retrieving existing loggers while other loggers are being created.
+ * 
+ * <p>
+ * In the <code>lookupDuringCreation</code> group, one thread keeps creating
+ * loggers while three others look up existing ones. Since creating a logger
+ * only locks its parent, the lookups of this group should cost about as much
+ * as those of {@link #getLoggerContended}.
+ * 
+ * <p>
+ * The context, {@link #NAME_COUNT} existing loggers included, is rebuilt for
+ * each iteration, so that the loggers created during an iteration do not
+ * accumulate. Use the <code>-t</code> option of JMH to run
+ * {@link #getLogger} and {@link #createLogger} with 1 up to 64 threads.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetLoggerBenchmark {
+
+  static final int NAME_COUNT = 100 * 1000;
+
+  @State(Scope.Benchmark)
+  public static class Context {
+    LoggerContext lc;
+    String[] names;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+      lc = new LoggerContext();
+      if (names == null) {
+        names = new String[NAME_COUNT];
+        for (int i = 0; i < NAME_COUNT; i++) {
+          names[i] = "com.foo" + (i % 10) + ".bar" + (i % 100) + ".Class" + i;
+        }
+      }
+      for (int i = 0; i < NAME_COUNT; i++) {
+        lc.getLogger(names[i]);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class Cursor {
+    int index;
+
+    int next() {
+      if (++index == NAME_COUNT) {
+        index = 0;
+      }
+      return index;
+    }
+  }
+
+  /**
+   * Generates names of loggers which do not exist yet. Names differ from one
+   * thread to the next, and share their ancestors with other new loggers as
+   * existing names do.
+   */
+  @State(Scope.Thread)
+  public static class NewNames {
+    static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+
+    final String prefix = "com.new" + THREAD_COUNT.getAndIncrement() + ".bar";
+    long count;
+
+    String next() {
+      long i = count++;
+      return prefix + (i % 100) + ".Class" + i;
+    }
+  }
+
+  @Benchmark
+  public Logger getLogger(Context context, Cursor cursor) {
+    return context.lc.getLogger(context.names[cursor.next()]);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public Logger getLoggerContended(Context context, Cursor cursor) {
+    return context.lc.getLogger(context.names[cursor.next()]);
+  }
+
+  @Benchmark
+  public Logger createLogger(Context context, NewNames newNames) {
+    return context.lc.getLogger(newNames.next());
+  }
+
+  @Benchmark
+  @Group("lookupDuringCreation")
+  @GroupThreads(1)
+  public Logger creation(Context context, NewNames newNames) {
+    return context.lc.getLogger(newNames.next());
+  }
+
+  @Benchmark
+  @Group("lookupDuringCreation")
+  @GroupThreads(3)
+  public Logger lookup(Context context, Cursor cursor) {
+    return context.lc.getLogger(context.names[cursor.next()]);
+  }
+}
@@ -0,0 +1,114 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.JsonEncoder;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.encoder.Encoder;
+
+/**
+ * Cost of writing an event as JSON with {@link JsonEncoder}, compared to a
+ * PatternLayoutEncoder producing a similar line from a hand-written pattern.
+ * The pattern variant does not escape its output and is thus not even valid
+ * JSON in general.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JsonEncoderBenchmark {
+
+  static final String JSON_PATTERN = "{\"timestamp\":\"%date{ISO8601}\","
+      + "\"level\":\"%level\",\"thread\":\"%thread\",\"logger\":\"%logger\","
+      + "\"message\":\"%msg\",\"mdc\":{%mdc}}%n";
+
+  @Param( { "json", "pattern" })
+  String encoderType;
+
+  @Param( { "false", "true" })
+  boolean withThrowable;
+
+  LoggerContext lc;
+  Encoder<ILoggingEvent> encoder;
+  LoggingEvent event;
+
+  @Setup
+  public void setUp() throws IOException {
+    lc = new LoggerContext();
+    if ("json".equals(encoderType)) {
+      JsonEncoder jsonEncoder = new JsonEncoder();
+      jsonEncoder.setImmediateFlush(false);
+      encoder = jsonEncoder;
+    } else {
+      PatternLayoutEncoder ple = new PatternLayoutEncoder();
+      ple.setPattern(JSON_PATTERN + (withThrowable ? "%ex" : ""));
+      ple.setImmediateFlush(false);
+      encoder = ple;
+    }
+    encoder.setContext(lc);
+    encoder.start();
+    encoder.init(new NullOutputStream());
+
+    Logger logger = lc.getLogger("com.example.service.impl.OrderServiceImpl");
+    MDC.put("requestId", "7f3c2a");
+    MDC.put("user", "alice");
+    Throwable t = withThrowable ? new IllegalStateException("payment refused")
+        : null;
+    event = new LoggingEvent(JsonEncoderBenchmark.class.getName(), logger,
+        Level.INFO, "order {} processed in {} ms", t, new Object[] { "A-1234",
+            17 });
+    MDC.clear();
+    // compute the message and thread name once, as they are not part of
+    // what is measured here
+    event.getFormattedMessage();
+    event.getThreadName();
+  }
+
+  @Benchmark
+  public void doEncode() throws IOException {
+    encoder.doEncode(event);
+  }
+
+  static class NullOutputStream extends OutputStream {
+    public void write(int b) {
+    }
+
+    public void write(byte[] b, int off, int len) {
+    }
+  }
+}
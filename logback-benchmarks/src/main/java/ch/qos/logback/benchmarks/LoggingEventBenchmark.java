@@ -0,0 +1,76 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * Cost of building a {@link LoggingEvent}, with and without formatting its
+ * message.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingEventBenchmark {
+
+  static final String FQCN = LoggingEventBenchmark.class.getName();
+
+  LoggerContext lc;
+  Logger logger;
+  Object[] args = new Object[] { "world", 42 };
+
+  @Setup
+  public void setUp() {
+    lc = new LoggerContext();
+    logger = lc.getLogger(LoggingEventBenchmark.class);
+  }
+
+  @Benchmark
+  public ILoggingEvent construct() {
+    return new LoggingEvent(FQCN, logger, Level.INFO, "hello {} {}", null,
+        args);
+  }
+
+  @Benchmark
+  public String constructAndFormat() {
+    return construct().getFormattedMessage();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String constructAndFormatContended() {
+    return construct().getFormattedMessage();
+  }
+}
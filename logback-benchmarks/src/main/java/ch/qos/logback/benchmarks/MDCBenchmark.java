@@ -0,0 +1,117 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.MDC;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * Cost of typical sequences of MDC operations, such as those of a servlet
+ * filter setting several keys per request, with and without logging events
+ * capturing the MDC in between.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MDCBenchmark {
+
+  static final String FQCN = MDCBenchmark.class.getName();
+
+  LoggerContext lc;
+  Logger logger;
+
+  @Setup
+  public void setUp() {
+    lc = new LoggerContext();
+    logger = lc.getLogger(MDCBenchmark.class);
+  }
+
+  @TearDown
+  public void tearDown() {
+    MDC.clear();
+  }
+
+  ILoggingEvent log(String msg) {
+    // building the event captures the MDC, as logging it would
+    return new LoggingEvent(FQCN, logger, Level.INFO, msg, null, null);
+  }
+
+  @Benchmark
+  public void putSixKeysAndClear() {
+    MDC.put("req.remoteHost", "127.0.0.1");
+    MDC.put("req.requestURI", "/orders/1234");
+    MDC.put("req.requestURL", "http://localhost/orders/1234");
+    MDC.put("req.queryString", "verbose=true");
+    MDC.put("req.userAgent", "Mozilla/5.0");
+    MDC.put("req.xForwardedFor", "10.0.0.1");
+    MDC.clear();
+  }
+
+  @Benchmark
+  public ILoggingEvent putSixKeysLogAndClear() {
+    MDC.put("req.remoteHost", "127.0.0.1");
+    MDC.put("req.requestURI", "/orders/1234");
+    MDC.put("req.requestURL", "http://localhost/orders/1234");
+    MDC.put("req.queryString", "verbose=true");
+    MDC.put("req.userAgent", "Mozilla/5.0");
+    MDC.put("req.xForwardedFor", "10.0.0.1");
+    ILoggingEvent event = log("request received");
+    MDC.clear();
+    return event;
+  }
+
+  @Benchmark
+  public String putGetRemove() {
+    MDC.put("user", "alice");
+    String user = MDC.get("user");
+    MDC.remove("user");
+    return user;
+  }
+
+  @Benchmark
+  public ILoggingEvent putLogRemove() {
+    MDC.put("user", "alice");
+    ILoggingEvent event = log("hello");
+    MDC.remove("user");
+    return event;
+  }
+
+  @Benchmark
+  @Threads(4)
+  public ILoggingEvent putSixKeysLogAndClearContended() {
+    return putSixKeysLogAndClear();
+  }
+}
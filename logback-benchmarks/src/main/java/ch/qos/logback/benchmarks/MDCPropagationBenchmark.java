@@ -0,0 +1,103 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.util.MDCPropagationMode;
+
+/**
+ * Cost of creating threads, and of running tasks wrapped so as to carry the
+ * MDC of their submitter, under each {@link MDCPropagationMode}. The creating
+ * thread holds an MDC of six entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MDCPropagationBenchmark {
+
+  @Param( { "COPY", "LAZY", "NONE" })
+  String mode;
+
+  LogbackMDCAdapter adapter;
+
+  Runnable task = new Runnable() {
+    public void run() {
+    }
+  };
+
+  @Setup
+  public void setUp() {
+    adapter = new LogbackMDCAdapter(MDCPropagationMode.valueOf(mode));
+    adapter.put("req.remoteHost", "127.0.0.1");
+    adapter.put("req.requestURI", "/orders/1234");
+    adapter.put("req.requestURL", "http://localhost/orders/1234");
+    adapter.put("req.queryString", "verbose=true");
+    adapter.put("req.userAgent", "Mozilla/5.0");
+    adapter.put("req.xForwardedFor", "10.0.0.1");
+  }
+
+  @TearDown
+  public void tearDown() {
+    adapter.clear();
+  }
+
+  /**
+   * Thread construction is where inheritable thread locals are propagated.
+   */
+  @Benchmark
+  public Thread createThread() {
+    return new Thread(task);
+  }
+
+  /**
+   * As above, the parent modifying its MDC after each creation, as a request
+   * handling thread would.
+   */
+  @Benchmark
+  public Thread createThreadAndPut() {
+    Thread thread = new Thread(task);
+    adapter.put("req.requestURI", "/orders/5678");
+    return thread;
+  }
+
+  @Benchmark
+  public void startAndJoinThread() throws InterruptedException {
+    Thread thread = new Thread(task);
+    thread.start();
+    thread.join();
+  }
+
+  @Benchmark
+  public void wrapAndRun() {
+    adapter.wrap(task).run();
+  }
+}
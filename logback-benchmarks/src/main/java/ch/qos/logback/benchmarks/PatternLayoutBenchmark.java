@@ -0,0 +1,86 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.LoggingEvent;
+
+/**
+ * Cost of rendering an event with commonly used conversion patterns.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternLayoutBenchmark {
+
+  @Param( { "%msg%n", "%-5level %logger{36} - %msg%n",
+      "%d{HH:mm:ss.SSS} [%thread] %-5level %logger{36} - %msg%n",
+      "%date %level [%thread] %logger{10} [%file:%line] %msg%n" })
+  String pattern;
+
+  LoggerContext lc;
+  PatternLayout layout;
+  LoggingEvent event;
+
+  @Setup
+  public void setUp() {
+    lc = new LoggerContext();
+    layout = new PatternLayout();
+    layout.setContext(lc);
+    layout.setPattern(pattern);
+    layout.start();
+
+    Logger logger = lc.getLogger("com.example.service.impl.OrderServiceImpl");
+    event = new LoggingEvent(PatternLayoutBenchmark.class.getName(), logger,
+        Level.INFO, "order {} processed in {} ms", null, new Object[] {
+            "A-1234", 17 });
+    // compute the message, thread name and caller data once, as they are
+    // not part of what is measured here
+    event.getFormattedMessage();
+    event.getThreadName();
+    event.getCallerData();
+  }
+
+  @Benchmark
+  public String doLayout() {
+    return layout.doLayout(event);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String doLayoutContended() {
+    return layout.doLayout(event);
+  }
+}
@@ -0,0 +1,167 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Serializable;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.core.ContextBase;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.net.SocketAppenderBase;
+import ch.qos.logback.core.spi.FilterReply;
+import ch.qos.logback.core.spi.PreSerializationTransformer;
+
+/**
+ * Throughput of SocketAppenderBase writing to a local server which discards
+ * its input, with and without a monitor around the whole of doAppend as was
+ * the case when SocketAppenderBase derived from AppenderBase. Each event goes
+ * through a filter and a transformation costing a few microseconds of CPU, so
+ * that scaling reflects the work done outside of the I/O lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocketAppenderBenchmark {
+
+  static final int WORK_UNITS = 200;
+
+  @Param( { "false", "true" })
+  boolean fullySynchronized;
+
+  ServerSocket serverSocket;
+  StringSocketAppender appender;
+
+  @Setup
+  public void setUp() throws IOException {
+    serverSocket = new ServerSocket(0);
+    startDrainingServer(serverSocket);
+
+    appender = fullySynchronized ? new SynchronizedStringSocketAppender()
+        : new StringSocketAppender();
+    appender.setContext(new ContextBase());
+    appender.setRemoteHost("localhost");
+    appender.setPort(serverSocket.getLocalPort());
+    appender.setReconnectionDelay(0);
+    appender.addFilter(new BusyFilter());
+    appender.start();
+  }
+
+  @TearDown
+  public void tearDown() throws IOException {
+    appender.stop();
+    serverSocket.close();
+  }
+
+  @Benchmark
+  public void append() {
+    appender.doAppend("hello");
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void appendContended() {
+    appender.doAppend("hello");
+  }
+
+  static void startDrainingServer(final ServerSocket serverSocket) {
+    Thread acceptor = new Thread("SocketAppenderBenchmark-acceptor") {
+      public void run() {
+        try {
+          while (true) {
+            final Socket socket = serverSocket.accept();
+            Thread drainer = new Thread() {
+              public void run() {
+                byte[] buf = new byte[8192];
+                try {
+                  InputStream in = socket.getInputStream();
+                  while (in.read(buf) != -1) {
+                  }
+                } catch (IOException e) {
+                }
+              }
+            };
+            drainer.setDaemon(true);
+            drainer.start();
+          }
+        } catch (IOException e) {
+          // server socket closed
+        }
+      }
+    };
+    acceptor.setDaemon(true);
+    acceptor.start();
+  }
+
+  static long burn(String s) {
+    long h = 0;
+    for (int i = 0; i < WORK_UNITS; i++) {
+      h = 31 * h + s.hashCode() + i;
+    }
+    return h;
+  }
+
+  static class BusyFilter extends Filter<String> {
+    volatile long sink;
+
+    public FilterReply decide(String event) {
+      sink = burn(event);
+      return FilterReply.NEUTRAL;
+    }
+  }
+
+  static class StringSocketAppender extends SocketAppenderBase<String> {
+    PreSerializationTransformer<String> pst = new PreSerializationTransformer<String>() {
+      public Serializable transform(String event) {
+        return event + burn(event);
+      }
+    };
+
+    protected void postProcessEvent(String event) {
+    }
+
+    protected PreSerializationTransformer<String> getPST() {
+      return pst;
+    }
+  }
+
+  /**
+   * Emulates the previous behavior where doAppend was synchronized.
+   */
+  static class SynchronizedStringSocketAppender extends StringSocketAppender {
+    public synchronized void doAppend(String eventObject) {
+      super.doAppend(eventObject);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.net.LoggingEventPreSerializationTransformer;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.CoreConstants;
+
+/**
+ * Cost of the serialization done by the SocketAppender for each event: the
+ * transformation into a LoggingEventVO followed by writing to an
+ * ObjectOutputStream which is reset periodically. The bytes are discarded
+ * so that no network I/O is measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SocketSerializationBenchmark {
+
+  LoggerContext lc;
+  LoggingEvent event;
+  LoggingEventPreSerializationTransformer pst = new LoggingEventPreSerializationTransformer();
+  ObjectOutputStream oos;
+  int counter = 0;
+
+  @Setup
+  public void setUp() throws IOException {
+    lc = new LoggerContext();
+    Logger logger = lc.getLogger(SocketSerializationBenchmark.class);
+    event = new LoggingEvent(SocketSerializationBenchmark.class.getName(),
+        logger, Level.INFO, "order {} processed in {} ms", null, new Object[] {
+            "A-1234", 17 });
+    event.prepareForDeferredProcessing();
+    oos = new ObjectOutputStream(new NullOutputStream());
+  }
+
+  @Benchmark
+  public Serializable transform() {
+    return pst.transform(event);
+  }
+
+  @Benchmark
+  public void transformAndWrite() throws IOException {
+    oos.writeObject(pst.transform(event));
+    oos.flush();
+    if (++counter >= CoreConstants.OOS_RESET_FREQUENCY) {
+      counter = 0;
+      oos.reset();
+    }
+  }
+
+  static class NullOutputStream extends OutputStream {
+    public void write(int b) {
+    }
+
+    public void write(byte[] b, int off, int len) {
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.turbo.MDCFilter;
+import ch.qos.logback.classic.turbo.MarkerFilter;
+import ch.qos.logback.classic.turbo.TurboFilter;
+
+/**
+ * Cost of a disabled logging call going through a chain of turbo filters
+ * which all reply NEUTRAL. Unless one of them can accept, the level check
+ * discards such calls before the chain is consulted.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TurboFilterChainBenchmark {
+
+  @Param( { "0", "1", "3" })
+  int filterCount;
+
+  // whether the marker filters accept on match, which keeps the chain in
+  // front of the level check
+  @Param( { "false", "true" })
+  boolean accepting;
+
+  LoggerContext lc;
+  Logger logger;
+  Integer arg1 = 1;
+  Integer arg2 = 2;
+
+  @Setup
+  public void setUp() {
+    lc = new LoggerContext();
+    lc.getLogger(Logger.ROOT_LOGGER_NAME).setLevel(Level.INFO);
+    for (int i = 0; i < filterCount; i++) {
+      TurboFilter filter = buildFilter(i);
+      filter.setContext(lc);
+      filter.start();
+      lc.addTurboFilter(filter);
+    }
+    logger = lc.getLogger(TurboFilterChainBenchmark.class);
+  }
+
+  TurboFilter buildFilter(int i) {
+    if (i % 2 == 0) {
+      MarkerFilter markerFilter = new MarkerFilter();
+      markerFilter.setMarker("BENCHMARK" + i);
+      if (accepting) {
+        markerFilter.setOnMatch("ACCEPT");
+      }
+      return markerFilter;
+    } else {
+      MDCFilter mdcFilter = new MDCFilter();
+      mdcFilter.setMDCKey("key" + i);
+      mdcFilter.setValue("value" + i);
+      return mdcFilter;
+    }
+  }
+
+  @Benchmark
+  public boolean isDebugEnabled() {
+    return logger.isDebugEnabled();
+  }
+
+  @Benchmark
+  public void debugNoArg() {
+    logger.debug("hello");
+  }
+
+  @Benchmark
+  public void debugOneArg() {
+    logger.debug("hello {}", arg1);
+  }
+
+  @Benchmark
+  public void debugTwoArgs() {
+    logger.debug("hello {} {}", arg1, arg2);
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void debugTwoArgsContended() {
+    logger.debug("hello {} {}", arg1, arg2);
+  }
+}
@@ -17,6 +17,11 @@ public class ClassicConstants {
   static public final String USER_MDC_KEY = "user";
 
   public static final String LOGBACK_CONTEXT_SELECTOR = "logback.ContextSelector";
+  /**
+   * The system property selecting how the MDC is propagated to child threads,
+   * see {@link ch.qos.logback.classic.util.MDCPropagationMode}.
+   */
+  public static final String LOGBACK_MDC_PROPAGATION = "logback.mdc.propagation";
   public static final String JNDI_CONFIGURATION_RESOURCE = "java:comp/env/logback/configuration-resource";
   public static final String JNDI_CONTEXT_NAME = "java:comp/env/logback/context-name";
 
@@ -27,7 +27,9 @@ import org.slf4j.spi.LocationAwareLogger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggerRemoteView;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.ReusableLoggingEvent;
 import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.OutputStreamAppender;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.spi.AppenderAttachable;
 import ch.qos.logback.core.spi.AppenderAttachableImpl;
@@ -104,6 +106,13 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
    */
   private boolean additive = true;
 
+  /**
+   * The appenders events logged by this logger are written to, as determined
+   * by the additivity rules. Computed lazily and recomputed whenever the
+   * appender configuration of the logger context changes.
+   */
+  private transient volatile AppenderChain appenderChain;
+
   final transient LoggerContext loggerContext;
   // loggerRemoteView cannot be final because it may change as a consequence
   // of changes in LoggerContext
@@ -217,6 +226,7 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
   public void detachAndStopAllAppenders() {
     if (aai != null) {
       aai.detachAndStopAllAppenders();
+      loggerContext.invalidateAppenderChains();
     }
   }
 
@@ -224,7 +234,9 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     if (aai == null) {
       return false;
     }
-    return aai.detachAppender(name);
+    boolean removed = aai.detachAppender(name);
+    loggerContext.invalidateAppenderChains();
+    return removed;
   }
 
   // this method MUST be synchronized. See comments on 'aai' field for further
@@ -234,6 +246,7 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       aai = new AppenderAttachableImpl<ILoggingEvent>();
     }
     aai.addAppender(newAppender);
+    loggerContext.invalidateAppenderChains();
   }
 
   public boolean isAttached(Appender<ILoggingEvent> appender) {
@@ -265,24 +278,93 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
    *          The event to log
    */
   public void callAppenders(ILoggingEvent event) {
-    int writes = 0;
+    final Appender<ILoggingEvent>[] appenders = getAppenderChain().appenders;
+    final int len = appenders.length;
+    for (int i = 0; i < len; i++) {
+      appenders[i].doAppend(event);
+    }
+    // No appenders in hierarchy
+    if (len == 0) {
+      loggerContext.noAppenderDefinedWarning(this);
+    }
+  }
+
+  private AppenderChain getAppenderChain() {
+    AppenderChain chain = appenderChain;
+    int version = loggerContext.getAppenderChainVersion();
+    if (chain == null || chain.version != version) {
+      // the version is read before the hierarchy so that a concurrent
+      // change results in a new computation on the next call
+      chain = new AppenderChain(version, computeAppenderChain());
+      appenderChain = chain;
+    }
+    return chain;
+  }
+
+  /**
+   * Whether logging calls may pass a recycled event to the appenders, i.e.
+   * garbage-free mode is on and every appender in the chain is known to be
+   * done with an event when doAppend returns. Other appenders might retain the
+   * event, e.g. in a buffer, and have it overwritten by the next call.
+   */
+  private boolean canRecycleEvents() {
+    return loggerContext.isGarbageFree()
+        && getAppenderChain().recyclingSafe;
+  }
+
+  /**
+   * Collect the appenders of this logger and of its ancestors up to the first
+   * non-additive one. An appender attached at several levels is listed once.
+   */
+  @SuppressWarnings("unchecked")
+  private Appender<ILoggingEvent>[] computeAppenderChain() {
+    List<Appender<ILoggingEvent>> list = new ArrayList<Appender<ILoggingEvent>>();
     for (Logger l = this; l != null; l = l.parent) {
-      writes += l.appendLoopOnAppenders(event);
+      Iterator<Appender<ILoggingEvent>> it = l.iteratorForAppenders();
+      while (it.hasNext()) {
+        Appender<ILoggingEvent> appender = it.next();
+        if (!containsSameInstance(list, appender)) {
+          list.add(appender);
+        }
+      }
       if (!l.additive) {
         break;
       }
     }
-    // No appenders in hierarchy
-    if (writes == 0) {
-      loggerContext.noAppenderDefinedWarning(this);
+    return list.toArray(new Appender[list.size()]);
+  }
+
+  private static boolean containsSameInstance(
+      List<Appender<ILoggingEvent>> list, Appender<ILoggingEvent> appender) {
+    for (Appender<ILoggingEvent> a : list) {
+      if (a == appender) {
+        return true;
+      }
     }
+    return false;
   }
 
-  private int appendLoopOnAppenders(ILoggingEvent event) {
-    if (aai != null) {
-      return aai.appendLoopOnAppenders(event);
-    } else {
-      return 0;
+  private static final class AppenderChain {
+    final int version;
+    final Appender<ILoggingEvent>[] appenders;
+    final boolean recyclingSafe;
+
+    AppenderChain(int version, Appender<ILoggingEvent>[] appenders) {
+      this.version = version;
+      this.appenders = appenders;
+      this.recyclingSafe = isRecyclingSafe(appenders);
+    }
+
+    // output stream appenders write the event before returning, the
+    // AsyncAppender copies recycled events before queueing them
+    private static boolean isRecyclingSafe(Appender<ILoggingEvent>[] appenders) {
+      for (Appender<ILoggingEvent> appender : appenders) {
+        if (!(appender instanceof OutputStreamAppender)
+            && !(appender instanceof AsyncAppender)) {
+          return false;
+        }
+      }
+      return true;
     }
   }
 
@@ -293,7 +375,9 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     if (aai == null) {
       return false;
     }
-    return aai.detachAppender(appender);
+    boolean removed = aai.detachAppender(appender);
+    loggerContext.invalidateAppenderChains();
+    return removed;
   }
 
   static int getSeparatorIndexOf(String name) {
@@ -367,6 +451,7 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     detachAndStopAllAppenders();
     localLevelReset();
     additive = true;
+    appenderChain = null;
     if (childrenList == null) {
       return;
     }
@@ -404,12 +489,20 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
    * The next methods are not merged into one because of the time we gain by not
    * creating a new Object[] with the params. This reduces the cost of not
    * logging by about 20 nanoseconds.
+   * 
+   * Unless one of the turbo filters can return ACCEPT, requests below the
+   * effective level are discarded before the turbo filter chain is consulted.
    */
 
   private final void filterAndLog_0_Or3Plus(final String localFQCN,
       final Marker marker, final Level level, final String msg,
       final Object[] params, final Throwable t) {
 
+    if (effectiveLevelInt > level.levelInt
+        && !loggerContext.canTurboFilterChainAccept()) {
+      return;
+    }
+
     final FilterReply decision = loggerContext
         .getTurboFilterChainDecision_0_3OrMore(marker, this, level, msg,
             params, t);
@@ -422,6 +515,14 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       return;
     }
 
+    if (canRecycleEvents()) {
+      ReusableLoggingEvent rle = ReusableLoggingEvent.acquire();
+      if (rle != null) {
+        appendReusableLoggingEvent(rle.init(localFQCN, this, level, marker,
+            msg, params, t));
+        return;
+      }
+    }
     buildLoggingEventAndAppend(localFQCN, marker, level, msg, params, t);
   }
 
@@ -429,6 +530,11 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       final Marker marker, final Level level, final String msg,
       final Object param, final Throwable t) {
 
+    if (effectiveLevelInt > level.levelInt
+        && !loggerContext.canTurboFilterChainAccept()) {
+      return;
+    }
+
     final FilterReply decision = loggerContext.getTurboFilterChainDecision_1(
         marker, this, level, msg, param, t);
 
@@ -440,6 +546,14 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       return;
     }
 
+    if (canRecycleEvents()) {
+      ReusableLoggingEvent rle = ReusableLoggingEvent.acquire();
+      if (rle != null) {
+        appendReusableLoggingEvent(rle.init(localFQCN, this, level, marker,
+            msg, param, t));
+        return;
+      }
+    }
     buildLoggingEventAndAppend(localFQCN, marker, level, msg,
         new Object[] { param }, t);
   }
@@ -448,6 +562,11 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       final Marker marker, final Level level, final String msg,
       final Object param1, final Object param2, final Throwable t) {
 
+    if (effectiveLevelInt > level.levelInt
+        && !loggerContext.canTurboFilterChainAccept()) {
+      return;
+    }
+
     final FilterReply decision = loggerContext.getTurboFilterChainDecision_2(
         marker, this, level, msg, param1, param2, t);
 
@@ -459,6 +578,14 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
       return;
     }
 
+    if (canRecycleEvents()) {
+      ReusableLoggingEvent rle = ReusableLoggingEvent.acquire();
+      if (rle != null) {
+        appendReusableLoggingEvent(rle.init(localFQCN, this, level, marker,
+            msg, param1, param2, t));
+        return;
+      }
+    }
     buildLoggingEventAndAppend(localFQCN, marker, level, msg, new Object[] {
         param1, param2 }, t);
   }
@@ -471,6 +598,17 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
     callAppenders(le);
   }
 
+  /**
+   * The recycled event must be released even if an appender throws.
+   */
+  private void appendReusableLoggingEvent(ReusableLoggingEvent rle) {
+    try {
+      callAppenders(rle);
+    } finally {
+      rle.release();
+    }
+  }
+
   public void trace(String msg) {
     filterAndLog_0_Or3Plus(FQCN, null, Level.TRACE, msg, null, null);
   }
@@ -780,6 +918,7 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
 
   public void setAdditive(boolean additive) {
     this.additive = additive;
+    loggerContext.invalidateAppenderChains();
   }
 
   public String toString() {
@@ -793,11 +932,17 @@ public final class Logger implements org.slf4j.Logger, LocationAwareLogger,
    * It is used by isYYYEnabled() methods.
    * 
    * It returns the typical FilterReply values: ACCEPT, NEUTRAL or DENY.
+   * The chain is skipped, and NEUTRAL returned, for levels below the
+   * effective level if none of the turbo filters can return ACCEPT.
    * 
    * @param level
    * @return the reply given by the TurboFilters
    */
   private FilterReply callTurboFilters(Marker marker, Level level) {
+    if (effectiveLevelInt > level.levelInt
+        && !loggerContext.canTurboFilterChainAccept()) {
+      return FilterReply.NEUTRAL;
+    }
     return loggerContext.getTurboFilterChainDecision_0_3OrMore(marker, this,
         level, null, null, null);
   }
@@ -17,15 +17,21 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Hashtable;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.slf4j.ILoggerFactory;
 import org.slf4j.Marker;
 
+import ch.qos.logback.classic.spi.CallerData;
+import ch.qos.logback.classic.spi.CallerDataProvider;
 import ch.qos.logback.classic.spi.LoggerComparator;
 import ch.qos.logback.classic.spi.LoggerContextListener;
 import ch.qos.logback.classic.spi.LoggerContextVO;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.spi.PackagingDataCache;
 import ch.qos.logback.classic.spi.TurboFilterList;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.core.ContextBase;
@@ -49,21 +55,27 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     LifeCycle {
 
   final Logger root;
-  private int size;
   private int noAppenderWarning = 0;
   final private List<LoggerContextListener> loggerContextListenerList = new ArrayList<LoggerContextListener>();
 
-  // We want loggerCache to be synchronized so Hashtable is a good choice. In
-  // practice, it performs a little faster than the map returned by
-  // Collections.synchronizedMap at the cost of a very slightly higher memory
-  // footprint.
-  private Hashtable<String, Logger> loggerCache;
+  // loggerCache is read without locking. Loggers are put into the cache only
+  // once fully created and linked to their parent, so that a cache hit never
+  // needs to synchronize.
+  private final ConcurrentMap<String, Logger> loggerCache;
 
   private LoggerContextVO loggerContextRemoteView;
   private final TurboFilterList turboFilterList = new TurboFilterList();
   private boolean packagingDataEnabled = true;
+  private final PackagingDataCache packagingDataCache = new PackagingDataCache();
+  private boolean garbageFree = false;
+
+  // incremented whenever appenders are attached or detached, or additivity
+  // changes, anywhere in the logger hierarchy
+  private final AtomicInteger appenderChainVersion = new AtomicInteger();
 
   private int maxCallerDataDepth = ClassicConstants.DEFAULT_MAX_CALLEDER_DATA_DEPTH;
+  private CallerDataProvider callerDataProvider = CallerData
+      .newDefaultProvider();
 
   boolean started = false;
 
@@ -71,13 +83,12 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
 
   public LoggerContext() {
     super();
-    this.loggerCache = new Hashtable<String, Logger>();
+    this.loggerCache = new ConcurrentHashMap<String, Logger>();
     this.loggerContextRemoteView = new LoggerContextVO(this);
     this.root = new Logger(Logger.ROOT_LOGGER_NAME, null, this);
     this.root.setLevel(Level.DEBUG);
     loggerCache.put(Logger.ROOT_LOGGER_NAME, root);
     initEvaluatorMap();
-    size = 1;
   }
 
   void initEvaluatorMap() {
@@ -128,7 +139,7 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
 
     // check if the desired logger exists, if it does, return it
     // without further ado.
-    Logger childLogger = (Logger) loggerCache.get(name);
+    Logger childLogger = loggerCache.get(name);
     // if we have the child, then let us return it without wasting time
     if (childLogger != null) {
       return childLogger;
@@ -146,12 +157,16 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
       }
       // move i left of the last point
       i = h + 1;
-      synchronized (logger) {
-        childLogger = logger.getChildByName(childName);
-        if (childLogger == null) {
-          childLogger = logger.createChildByName(childName);
-          loggerCache.put(childName, childLogger);
-          incSize();
+      // existing ancestors are found without locking, only the parent of
+      // a missing logger is locked while the logger is created
+      childLogger = loggerCache.get(childName);
+      if (childLogger == null) {
+        synchronized (logger) {
+          childLogger = logger.getChildByName(childName);
+          if (childLogger == null) {
+            childLogger = logger.createChildByName(childName);
+            loggerCache.put(childName, childLogger);
+          }
         }
       }
       logger = childLogger;
@@ -161,12 +176,8 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     }
   }
 
-  private void incSize() {
-    size++;
-  }
-
   int size() {
-    return size;
+    return loggerCache.size();
   }
 
   /**
@@ -177,7 +188,7 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
    *          the name of the logger to search for.
    */
   public Logger exists(String name) {
-    return (Logger) loggerCache.get(name);
+    return loggerCache.get(name);
   }
 
   final void noAppenderDefinedWarning(final Logger logger) {
@@ -207,6 +218,49 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     return packagingDataEnabled;
   }
 
+  /**
+   * The cache of packaging data shared by the events of this context. It is
+   * cleared when the context is reset, e.g. after redeployment of the
+   * application.
+   */
+  public PackagingDataCache getPackagingDataCache() {
+    return packagingDataCache;
+  }
+
+  /**
+   * In garbage-free mode, loggers recycle a thread-local {@link LoggingEvent}
+   * instead of creating a new event for each logging call.
+   * 
+   * <p>
+   * Recycling is only safe if every appender receiving the event is done with
+   * it when its doAppend method returns. Loggers therefore recycle events only
+   * if all their appenders are output stream appenders, e.g. ConsoleAppender
+   * or FileAppender, or {@link AsyncAppender}s, which copy recycled events
+   * before queueing them. Loggers with other appenders, e.g. SMTPAppender or
+   * CyclicBufferAppender which buffer events, create a new event per call.
+   * 
+   * @param garbageFree
+   */
+  public void setGarbageFree(boolean garbageFree) {
+    this.garbageFree = garbageFree;
+  }
+
+  public boolean isGarbageFree() {
+    return garbageFree;
+  }
+
+  /**
+   * Causes loggers to recompute the list of appenders they write to. Invoked
+   * when appenders are attached or detached, or when additivity changes.
+   */
+  void invalidateAppenderChains() {
+    appenderChainVersion.incrementAndGet();
+  }
+
+  int getAppenderChainVersion() {
+    return appenderChainVersion.get();
+  }
+
   /**
    * This method clears all internal properties, closes all appenders, removes
    * any turboFilters, fires an OnReset event, removes all status listeners,
@@ -218,6 +272,8 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     super.reset();
     initEvaluatorMap();
     root.recursiveReset();
+    invalidateAppenderChains();
+    packagingDataCache.clear();
     resetTurboFilterList();
     fireOnReset();
     resetListenersExceptResetResistant();
@@ -250,6 +306,15 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     turboFilterList.clear();
   }
 
+  /**
+   * Whether any of the registered turbo filters may return
+   * {@link FilterReply#ACCEPT}. If not, logging requests below the effective
+   * level of their logger are discarded without consulting the chain.
+   */
+  final boolean canTurboFilterChainAccept() {
+    return turboFilterList.canAnyFilterAccept();
+  }
+
   final FilterReply getTurboFilterChainDecision_0_3OrMore(final Marker marker,
       final Logger logger, final Level level, final String format,
       final Object[] params, final Throwable t) {
@@ -266,8 +331,8 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     if (turboFilterList.size() == 0) {
       return FilterReply.NEUTRAL;
     }
-    return turboFilterList.getTurboFilterChainDecision(marker, logger, level,
-        format, new Object[] { param }, t);
+    return turboFilterList.getTurboFilterChainDecision_1(marker, logger, level,
+        format, param, t);
   }
 
   final FilterReply getTurboFilterChainDecision_2(final Marker marker,
@@ -276,8 +341,8 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
     if (turboFilterList.size() == 0) {
       return FilterReply.NEUTRAL;
     }
-    return turboFilterList.getTurboFilterChainDecision(marker, logger, level,
-        format, new Object[] { param1, param2 }, t);
+    return turboFilterList.getTurboFilterChainDecision_2(marker, logger, level,
+        format, param1, param2, t);
   }
 
   // === start listeners ==============================================
@@ -356,4 +421,20 @@ public class LoggerContext extends ContextBase implements ILoggerFactory,
   public void setMaxCallerDataDepth(int maxCallerDataDepth) {
     this.maxCallerDataDepth = maxCallerDataDepth;
   }
+
+  public CallerDataProvider getCallerDataProvider() {
+    return callerDataProvider;
+  }
+
+  /**
+   * Set the strategy used to compute the caller data of logging events. By
+   * default, caller data is extracted from a Throwable, see
+   * {@link CallerData#newDefaultProvider()}.
+   */
+  public void setCallerDataProvider(CallerDataProvider callerDataProvider) {
+    if (callerDataProvider == null) {
+      throw new IllegalArgumentException("callerDataProvider cannot be null");
+    }
+    this.callerDataProvider = callerDataProvider;
+  }
 }
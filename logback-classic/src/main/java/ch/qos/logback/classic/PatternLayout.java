@@ -140,4 +140,11 @@ public class PatternLayout extends PatternLayoutBase<ILoggingEvent> {
     return writeLoopOnConverters(event);
   }
 
+  // declared here, next to doLayout(ILoggingEvent), so that encoders keep appending
+  // to their buffer, see isDoLayoutIntoBufferEquivalent()
+  @Override
+  public void doLayout(ILoggingEvent event, StringBuilder buf) {
+    super.doLayout(event, buf);
+  }
+
 }
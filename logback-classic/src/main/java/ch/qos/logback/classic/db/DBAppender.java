@@ -28,6 +28,7 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.StackTraceElementProxy;
 import ch.qos.logback.classic.spi.ThrowableProxyUtil;
+import ch.qos.logback.classic.util.MDCPropertyMap;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.db.DBAppenderBase;
 
@@ -170,14 +171,19 @@ public class DBAppender extends DBAppenderBase<ILoggingEvent> {
   }
 
   Map<String, String> mergePropertyMaps(ILoggingEvent event) {
+    Map<String, String> loggerContextMap = event.getLoggerContextVO()
+        .getPropertyMap();
+    Map<String, String> mdcMap = event.getMDCPropertyMap();
+    if (mdcMap instanceof MDCPropertyMap) {
+      // computed once per MDC map and logger context properties
+      return ((MDCPropertyMap) mdcMap).mergedWith(loggerContextMap);
+    }
+
     Map<String, String> mergedMap = new HashMap<String, String>();
     // we add the context properties first, then the event properties, since
     // we consider that event-specific properties should have priority over
     // context-wide
     // properties.
-    Map<String, String> loggerContextMap = event.getLoggerContextVO()
-        .getPropertyMap();
-    Map<String, String> mdcMap = event.getMDCPropertyMap();
     if (loggerContextMap != null) {
       mergedMap.putAll(loggerContextMap);
     }
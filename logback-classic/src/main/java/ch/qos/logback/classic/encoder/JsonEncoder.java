@@ -0,0 +1,310 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.encoder;
+
+import java.util.Iterator;
+import java.util.Map;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.pattern.StackTraceRenderingCache;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.classic.util.MDCPropertyMap;
+import ch.qos.logback.core.encoder.JsonEncoderBase;
+
+/**
+ * Writes logging events as JSON objects, one per line, encoded in UTF-8. For
+ * example:
+ * 
+ * <pre>
+ * {"timestamp":1286548436123,"level":"INFO","thread":"main","logger":"a.b.C","message":"hello world"}
+ * </pre>
+ * 
+ * Each field can be left out by setting the corresponding <b>Include*</b>
+ * property to false. The MDC, markers and throwable fields are written only
+ * if the event carries the corresponding data.
+ * 
+ * <p>
+ * Events of level ERROR are always flushed, even if <b>ImmediateFlush</b> is
+ * false.
+ */
+public class JsonEncoder extends JsonEncoderBase<ILoggingEvent> {
+
+  static final byte[] TIMESTAMP = fieldName("timestamp");
+  static final byte[] LEVEL = fieldName("level");
+  static final byte[] THREAD = fieldName("thread");
+  static final byte[] LOGGER = fieldName("logger");
+  static final byte[] MESSAGE = fieldName("message");
+  static final byte[] ARGUMENTS = fieldName("arguments");
+  static final byte[] MDC = fieldName("mdc");
+  static final byte[] MARKERS = fieldName("markers");
+  static final byte[] THROWABLE = fieldName("throwable");
+  static final byte[] CLASS_NAME = fieldName("className");
+  static final byte[] STACK_TRACE = fieldName("stackTrace");
+  static final byte[] COMMON_FRAMES = fieldName("commonFrames");
+  static final byte[] CAUSE = fieldName("cause");
+
+  /**
+   * Renders an MDC map as a JSON object. The rendering is cached in the map,
+   * so that it is computed once for all the events sharing the same MDC.
+   */
+  static final MDCPropertyMap.Renderer JSON_RENDERER = new MDCPropertyMap.Renderer() {
+    public String render(Map<String, String> mdcPropertyMap) {
+      StringBuilder buf = new StringBuilder();
+      buf.append('{');
+      Iterator<Map.Entry<String, String>> it = mdcPropertyMap.entrySet()
+          .iterator();
+      while (it.hasNext()) {
+        Map.Entry<String, String> entry = it.next();
+        buf.append('"');
+        appendEscaped(buf, entry.getKey());
+        buf.append("\":");
+        if (entry.getValue() == null) {
+          buf.append("null");
+        } else {
+          buf.append('"');
+          appendEscaped(buf, entry.getValue());
+          buf.append('"');
+        }
+        if (it.hasNext()) {
+          buf.append(',');
+        }
+      }
+      buf.append('}');
+      return buf.toString();
+    }
+  };
+
+  final StackTraceRenderingCache renderingCache = new StackTraceRenderingCache();
+
+  private boolean includeTimestamp = true;
+  private boolean includeLevel = true;
+  private boolean includeThread = true;
+  private boolean includeLogger = true;
+  private boolean includeMessage = true;
+  private boolean includeArguments = true;
+  private boolean includeMDC = true;
+  private boolean includeMarkers = true;
+  private boolean includeThrowable = true;
+
+  @Override
+  protected void writeFields(ILoggingEvent event) {
+    if (includeTimestamp) {
+      writeNumberField(TIMESTAMP, event.getTimeStamp());
+    }
+    if (includeLevel) {
+      writeStringField(LEVEL, event.getLevel().toString());
+    }
+    if (includeThread) {
+      writeStringField(THREAD, event.getThreadName());
+    }
+    if (includeLogger) {
+      writeStringField(LOGGER, event.getLoggerName());
+    }
+    if (includeMessage) {
+      writeStringField(MESSAGE, event.getFormattedMessage());
+    }
+    if (includeArguments) {
+      writeArguments(event.getArgumentArray());
+    }
+    if (includeMDC) {
+      Map<String, String> mdc = event.getMDCPropertyMap();
+      if (mdc != null && !mdc.isEmpty()) {
+        writeFieldName(MDC);
+        writeRawValue(MDCPropertyMap.render(mdc, JSON_RENDERER));
+      }
+    }
+    if (includeMarkers && event.getMarker() != null) {
+      writeFieldName(MARKERS);
+      writeStartArray();
+      writeMarker(event.getMarker());
+      writeEndArray();
+    }
+    if (includeThrowable && event.getThrowableProxy() != null) {
+      writeFieldName(THROWABLE);
+      writeThrowable(event.getThrowableProxy());
+    }
+  }
+
+  private void writeArguments(Object[] argumentArray) {
+    if (argumentArray == null || argumentArray.length == 0) {
+      return;
+    }
+    writeFieldName(ARGUMENTS);
+    writeStartArray();
+    for (Object arg : argumentArray) {
+      if (arg == null) {
+        writeNull();
+      } else if (arg instanceof Long || arg instanceof Integer
+          || arg instanceof Short || arg instanceof Byte) {
+        writeNumber(((Number) arg).longValue());
+      } else {
+        writeString(String.valueOf(arg));
+      }
+    }
+    writeEndArray();
+  }
+
+  /**
+   * Write the name of the marker followed by the names of the markers it
+   * references, depth first.
+   */
+  private void writeMarker(Marker marker) {
+    writeString(marker.getName());
+    if (marker.hasReferences()) {
+      Iterator<?> it = marker.iterator();
+      while (it.hasNext()) {
+        writeMarker((Marker) it.next());
+      }
+    }
+  }
+
+  private void writeThrowable(IThrowableProxy tp) {
+    writeStartObject();
+    writeStringField(CLASS_NAME, tp.getClassName());
+    writeStringField(MESSAGE, tp.getMessage());
+    writeFieldName(STACK_TRACE);
+    // the frames of a recurring exception are rendered only once
+    Object key = renderingCache.keyOf(tp);
+    String frames = renderingCache.get(key);
+    if (frames == null) {
+      frames = renderStackTrace(tp);
+      renderingCache.put(key, frames);
+    }
+    writeRawValue(frames);
+    if (tp.getCommonFrames() > 0) {
+      writeNumberField(COMMON_FRAMES, tp.getCommonFrames());
+    }
+    if (tp.getCause() != null) {
+      writeFieldName(CAUSE);
+      writeThrowable(tp.getCause());
+    }
+    writeEndObject();
+  }
+
+  /**
+   * Render the frames of the throwable, the frames in common with the
+   * enclosing throwable excluded, as a JSON array of strings.
+   */
+  static String renderStackTrace(IThrowableProxy tp) {
+    StackTraceElementProxy[] stepArray = tp.getStackTraceElementProxyArray();
+    int length = stepArray.length - tp.getCommonFrames();
+    StringBuilder buf = new StringBuilder(length * 64);
+    buf.append('[');
+    for (int i = 0; i < length; i++) {
+      if (i > 0) {
+        buf.append(',');
+      }
+      buf.append('"');
+      appendEscaped(buf, stepArray[i].getSTEAsString());
+      buf.append('"');
+    }
+    buf.append(']');
+    return buf.toString();
+  }
+
+  /**
+   * Returns the cache of rendered stack frames used by this encoder.
+   */
+  public StackTraceRenderingCache getRenderingCache() {
+    return renderingCache;
+  }
+
+  @Override
+  public void stop() {
+    renderingCache.clear();
+    super.stop();
+  }
+
+  @Override
+  protected boolean isFlushRequired(ILoggingEvent event) {
+    return super.isFlushRequired(event)
+        || event.getLevel().toInt() >= Level.ERROR_INT;
+  }
+
+  public boolean isIncludeTimestamp() {
+    return includeTimestamp;
+  }
+
+  public void setIncludeTimestamp(boolean includeTimestamp) {
+    this.includeTimestamp = includeTimestamp;
+  }
+
+  public boolean isIncludeLevel() {
+    return includeLevel;
+  }
+
+  public void setIncludeLevel(boolean includeLevel) {
+    this.includeLevel = includeLevel;
+  }
+
+  public boolean isIncludeThread() {
+    return includeThread;
+  }
+
+  public void setIncludeThread(boolean includeThread) {
+    this.includeThread = includeThread;
+  }
+
+  public boolean isIncludeLogger() {
+    return includeLogger;
+  }
+
+  public void setIncludeLogger(boolean includeLogger) {
+    this.includeLogger = includeLogger;
+  }
+
+  public boolean isIncludeMessage() {
+    return includeMessage;
+  }
+
+  public void setIncludeMessage(boolean includeMessage) {
+    this.includeMessage = includeMessage;
+  }
+
+  public boolean isIncludeArguments() {
+    return includeArguments;
+  }
+
+  public void setIncludeArguments(boolean includeArguments) {
+    this.includeArguments = includeArguments;
+  }
+
+  public boolean isIncludeMDC() {
+    return includeMDC;
+  }
+
+  public void setIncludeMDC(boolean includeMDC) {
+    this.includeMDC = includeMDC;
+  }
+
+  public boolean isIncludeMarkers() {
+    return includeMarkers;
+  }
+
+  public void setIncludeMarkers(boolean includeMarkers) {
+    this.includeMarkers = includeMarkers;
+  }
+
+  public boolean isIncludeThrowable() {
+    return includeThrowable;
+  }
+
+  public void setIncludeThrowable(boolean includeThrowable) {
+    this.includeThrowable = includeThrowable;
+  }
+}
@@ -13,6 +13,7 @@
  */
 package ch.qos.logback.classic.encoder;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.pattern.PatternLayoutEncoderBase;
@@ -28,5 +29,15 @@ public class PatternLayoutEncoder extends PatternLayoutEncoderBase<ILoggingEvent
     this.layout = patternLayout;
     super.start();
   }
-   
+
+  /**
+   * Events of level ERROR are always flushed, even if <b>ImmediateFlush</b> is
+   * false, so that they survive a subsequent crash.
+   */
+  @Override
+  protected boolean isFlushRequired(ILoggingEvent event) {
+    return super.isFlushRequired(event)
+        || event.getLevel().toInt() >= Level.ERROR_INT;
+  }
+
 }
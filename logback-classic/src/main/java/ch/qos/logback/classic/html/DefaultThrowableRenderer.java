@@ -47,7 +47,7 @@ public class DefaultThrowableRenderer implements
     for (int i = 0; i < stepArray.length - commonFrames; i++) {
       StackTraceElementProxy step = stepArray[i];
       sbuf.append(TRACE_PREFIX);
-      sbuf.append(Transform.escapeTags(step.toString()));
+      Transform.appendEscapingTags(sbuf, step.toString());
       sbuf.append(CoreConstants.LINE_SEPARATOR);
     }
     
@@ -63,8 +63,9 @@ public class DefaultThrowableRenderer implements
     if (commonFrames > 0) {
       sb.append("<br />").append(CoreConstants.CAUSED_BY);
     }
-    sb.append(tp.getClassName()).append(": ").append(
-        Transform.escapeTags(tp.getMessage()));
+    sb.append(tp.getClassName()).append(": ");
+    // a null message is output as "null"
+    Transform.appendEscapingTags(sb, String.valueOf(tp.getMessage()));
     sb.append(CoreConstants.LINE_SEPARATOR);
   }
 
@@ -15,6 +15,7 @@ package ch.qos.logback.classic.html;
 
 import java.util.Map;
 
+import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.pattern.MDCConverter;
 import ch.qos.logback.classic.spi.ILoggingEvent;
@@ -73,7 +74,15 @@ public class HTMLLayout extends HTMLLayoutBase<ILoggingEvent> {
   }
 
   public String doLayout(ILoggingEvent event) {
-    StringBuilder buf = new StringBuilder();
+    StringBuilder buf = new StringBuilder(256);
+    doLayout(event, buf);
+    return buf.toString();
+  }
+
+  // sub-classes overriding doLayout(ILoggingEvent) alone are laid out through it by
+  // encoders, see isDoLayoutIntoBufferEquivalent()
+  @Override
+  public void doLayout(ILoggingEvent event, StringBuilder buf) {
     startNewTableIfLimitReached(buf);
 
     boolean odd = true;
@@ -81,11 +90,9 @@ public class HTMLLayout extends HTMLLayoutBase<ILoggingEvent> {
       odd = false;
     }
 
-    String level = event.getLevel().toString().toLowerCase();
-
     buf.append(LINE_SEPARATOR);
     buf.append("<tr class=\"");
-    buf.append(level);
+    buf.append(cssClassOf(event.getLevel()));
     if (odd) {
       buf.append(" odd\">");
     } else {
@@ -93,28 +100,30 @@ public class HTMLLayout extends HTMLLayoutBase<ILoggingEvent> {
     }
     buf.append(LINE_SEPARATOR);
 
-    Converter<ILoggingEvent> c = head;
-    while (c != null) {
-      appendEventToBuffer(buf, c, event);
-      c = c.getNext();
-    }
+    appendCells(buf, event);
     buf.append("</tr>");
     buf.append(LINE_SEPARATOR);
 
     if (event.getThrowableProxy() != null) {
       throwableRenderer.render(buf, event);
     }
-    return buf.toString();
   }
 
-  private void appendEventToBuffer(StringBuilder buf,
-      Converter<ILoggingEvent> c, ILoggingEvent event) {
-    buf.append("<td class=\"");
-    buf.append(computeConverterName(c));
-    buf.append("\">");
-    c.write(buf, event);
-    buf.append("</td>");
-    buf.append(LINE_SEPARATOR);
+  static String cssClassOf(Level level) {
+    switch (level.toInt()) {
+    case Level.TRACE_INT:
+      return "trace";
+    case Level.DEBUG_INT:
+      return "debug";
+    case Level.INFO_INT:
+      return "info";
+    case Level.WARN_INT:
+      return "warn";
+    case Level.ERROR_INT:
+      return "error";
+    default:
+      return level.toString().toLowerCase();
+    }
   }
 
   public IThrowableRenderer getThrowableRenderer() {
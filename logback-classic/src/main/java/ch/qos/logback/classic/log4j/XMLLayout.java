@@ -20,6 +20,7 @@ import java.util.Map.Entry;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.IThrowableProxy;
 import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.classic.util.MDCPropertyMap;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.LayoutBase;
 import ch.qos.logback.core.helpers.Transform;
@@ -37,6 +38,25 @@ import ch.qos.logback.core.helpers.Transform;
  */
 public class XMLLayout extends LayoutBase<ILoggingEvent> {
 
+  static final MDCPropertyMap.Renderer PROPERTIES_RENDERER = new MDCPropertyMap.Renderer() {
+    public String render(Map<String, String> propertyMap) {
+      StringBuilder sb = new StringBuilder();
+      Set<Entry<String, String>> entrySet = propertyMap.entrySet();
+      sb.append("  <log4j:properties>");
+      for (Entry<String, String> entry : entrySet) {
+        sb.append("\r\n    <log4j:data");
+        sb.append(" name='");
+        Transform.appendEscapingTags(sb, entry.getKey());
+        sb.append("' value='");
+        // a null value is output as "null"
+        Transform.appendEscapingTags(sb, String.valueOf(entry.getValue()));
+        sb.append("' />");
+      }
+      sb.append("\r\n  </log4j:properties>");
+      return sb.toString();
+    }
+  };
+
   private final int DEFAULT_SIZE = 256;
   private final int UPPER_LIMIT = 2048;
 
@@ -103,7 +123,18 @@ public class XMLLayout extends LayoutBase<ILoggingEvent> {
     } else {
       buf.setLength(0);
     }
+    doLayout(event, buf);
+    return buf.toString();
+  }
 
+  /**
+   * Append the event, formatted in conformity with the log4j.dtd, to the
+   * buffer. Fields are escaped as they are appended. Sub-classes overriding
+   * {@link #doLayout(ILoggingEvent)} alone are laid out through that method by
+   * encoders, see {@link #isDoLayoutIntoBufferEquivalent()}.
+   */
+  @Override
+  public void doLayout(ILoggingEvent event, StringBuilder buf) {
     // We yield to the \r\n heresy.
 
     buf.append("<log4j:event logger=\"");
@@ -133,7 +164,7 @@ public class XMLLayout extends LayoutBase<ILoggingEvent> {
       buf.append("  <log4j:throwable><![CDATA[");
       for (StackTraceElementProxy step : stepArray) {
         buf.append(CoreConstants.TAB);
-        buf.append(step.toString());
+        Transform.appendEscapingCDATA(buf, step.toString());
         buf.append("\r\n");
       }
       buf.append("]]></log4j:throwable>\r\n");
@@ -147,7 +178,7 @@ public class XMLLayout extends LayoutBase<ILoggingEvent> {
         buf.append(immediateCallerData.getClassName());
         buf.append("\"\r\n");
         buf.append("                      method=\"");
-        buf.append(Transform.escapeTags(immediateCallerData.getMethodName()));
+        Transform.appendEscapingTags(buf, immediateCallerData.getMethodName());
         buf.append("\" file=\"");
         buf.append(immediateCallerData.getFileName());
         buf.append("\" line=\"");
@@ -164,21 +195,12 @@ public class XMLLayout extends LayoutBase<ILoggingEvent> {
       Map<String, String> propertyMap = event.getMDCPropertyMap();
 
       if ((propertyMap != null) && (propertyMap.size() != 0)) {
-        Set<Entry<String, String>> entrySet = propertyMap.entrySet();
-        buf.append("  <log4j:properties>");
-        for (Entry<String, String> entry : entrySet) {
-          buf.append("\r\n    <log4j:data");
-          buf.append(" name='" + Transform.escapeTags(entry.getKey()) + "'");
-          buf.append(" value='" + Transform.escapeTags(entry.getValue()) + "'");
-          buf.append(" />");
-        }
-        buf.append("\r\n  </log4j:properties>");
+        // rendered once per MDC map
+        buf.append(MDCPropertyMap.render(propertyMap, PROPERTIES_RENDERER));
       }
     }
 
     buf.append("\r\n</log4j:event>\r\n\r\n");
-
-    return buf.toString();
   }
 
   @Override
@@ -25,7 +25,7 @@ import javax.jms.Session;
 import javax.naming.Context;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.net.JMSAppenderBase;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
@@ -138,53 +138,60 @@ public class JMSQueueAppender extends JMSAppenderBase<ILoggingEvent> {
    * Close this JMSAppender. Closing releases all resources used by the
    * appender. A closed appender cannot be re-opened.
    */
-  public synchronized void stop() {
-    // The synchronized modifier avoids concurrent append and close operations
-    if (!this.started) {
-      return;
-    }
-
-    this.started = false;
-
-    try {
-      if (queueSession != null) {
-        queueSession.close();
+  public void stop() {
+    // the lock avoids concurrent append and close operations
+    synchronized (lock) {
+      if (!this.started) {
+        return;
       }
-      if (queueConnection != null) {
-        queueConnection.close();
+
+      this.started = false;
+
+      try {
+        if (queueSession != null) {
+          queueSession.close();
+        }
+        if (queueConnection != null) {
+          queueConnection.close();
+        }
+      } catch (Exception e) {
+        addError("Error while closing JMSAppender [" + name + "].", e);
       }
-    } catch (Exception e) {
-      addError("Error while closing JMSAppender [" + name + "].", e);
-    }
 
-    // Help garbage collection
-    queueSender = null;
-    queueSession = null;
-    queueConnection = null;
+      // Help garbage collection
+      queueSender = null;
+      queueSession = null;
+      queueConnection = null;
+    }
   }
 
   /**
-   * This method called by {@link AppenderBase#doAppend} method to do most
-   * of the real appending work.
+   * This method called by {@link UnsynchronizedAppenderBase#doAppend} method
+   * to do most of the real appending work.
    */
   public void append(ILoggingEvent event) {
     if (!isStarted()) {
       return;
     }
 
-    try {
-      ObjectMessage msg = queueSession.createObjectMessage();
-      Serializable so = pst.transform(event);
-      msg.setObject(so);
-      queueSender.send(msg);
-      successiveFailureCount = 0;
-    } catch (Exception e) {
-      successiveFailureCount++;
-      if (successiveFailureCount > SUCCESSIVE_FAILURE_LIMIT) {
-        stop();
+    // the transformation does not require the lock
+    Serializable so = pst.transform(event);
+    synchronized (lock) {
+      if (!isStarted()) {
+        return;
+      }
+      try {
+        ObjectMessage msg = queueSession.createObjectMessage();
+        msg.setObject(so);
+        queueSender.send(msg);
+        successiveFailureCount = 0;
+      } catch (Exception e) {
+        successiveFailureCount++;
+        if (successiveFailureCount > SUCCESSIVE_FAILURE_LIMIT) {
+          stop();
+        }
+        addError("Could not send message in JMSQueueAppender [" + name + "].", e);
       }
-      addError("Could not send message in JMSQueueAppender [" + name + "].", e);
-
     }
   }
 
@@ -25,7 +25,7 @@ import javax.jms.TopicSession;
 import javax.naming.Context;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.net.JMSAppenderBase;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
@@ -138,53 +138,61 @@ public class JMSTopicAppender extends JMSAppenderBase<ILoggingEvent> {
    * Close this JMSAppender. Closing releases all resources used by the
    * appender. A closed appender cannot be re-opened.
    */
-  public synchronized void stop() {
-    // The synchronized modifier avoids concurrent append and close operations
-    if (!this.started) {
-      return;
-    }
-
-    this.started = false;
-
-    try {
-      if (topicSession != null) {
-        topicSession.close();
+  public void stop() {
+    // the lock avoids concurrent append and close operations
+    synchronized (lock) {
+      if (!this.started) {
+        return;
       }
-      if (topicConnection != null) {
-        topicConnection.close();
+
+      this.started = false;
+
+      try {
+        if (topicSession != null) {
+          topicSession.close();
+        }
+        if (topicConnection != null) {
+          topicConnection.close();
+        }
+      } catch (Exception e) {
+        addError("Error while closing JMSAppender [" + name + "].", e);
       }
-    } catch (Exception e) {
-      addError("Error while closing JMSAppender [" + name + "].", e);
-    }
 
-    // Help garbage collection
-    topicPublisher = null;
-    topicSession = null;
-    topicConnection = null;
+      // Help garbage collection
+      topicPublisher = null;
+      topicSession = null;
+      topicConnection = null;
+    }
   }
 
 
   /**
-   * This method called by {@link AppenderBase#doAppend} method to do most
-   * of the real appending work.
+   * This method called by {@link UnsynchronizedAppenderBase#doAppend} method
+   * to do most of the real appending work.
    */
   public void append(ILoggingEvent event) {
     if (!isStarted()) {
       return;
     }
 
-    try {
-      ObjectMessage msg = topicSession.createObjectMessage();
-      Serializable so = pst.transform(event);
-      msg.setObject(so);
-      topicPublisher.publish(msg);
-      successiveFailureCount = 0;
-    } catch (Exception e) {
-      successiveFailureCount++;
-      if (successiveFailureCount > SUCCESSIVE_FAILURE_LIMIT) {
-        stop();
+    // the transformation does not require the lock
+    Serializable so = pst.transform(event);
+    synchronized (lock) {
+      if (!isStarted()) {
+        return;
+      }
+      try {
+        ObjectMessage msg = topicSession.createObjectMessage();
+        msg.setObject(so);
+        topicPublisher.publish(msg);
+        successiveFailureCount = 0;
+      } catch (Exception e) {
+        successiveFailureCount++;
+        if (successiveFailureCount > SUCCESSIVE_FAILURE_LIMIT) {
+          stop();
+        }
+        addError("Could not publish message in JMSTopicAppender [" + name + "].", e);
       }
-      addError("Could not publish message in JMSTopicAppender [" + name + "].", e);
     }
   }
 
@@ -0,0 +1,99 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.pattern;
+
+import ch.qos.logback.core.util.BoundedCache;
+
+/**
+ * An {@link Abbreviator} remembering the abbreviations computed by another
+ * abbreviator. Logger and class names form a small set compared to the
+ * number of logging events, so that most abbreviations are found in the
+ * cache.
+ * 
+ * <p>
+ * The cache is safe for use by multiple threads and looking up an
+ * abbreviation does not lock. It holds at most <code>maxSize</code> entries,
+ * when full it is cleared and filled anew. Cache hits and misses are counted
+ * only if statistics are enabled, as counting adds contention between the
+ * logging threads.
+ */
+public class CachingAbbreviator implements Abbreviator {
+
+  public static final int DEFAULT_MAX_SIZE = 2048;
+
+  final Abbreviator delegate;
+  final BoundedCache<String, String> cache;
+
+  public CachingAbbreviator(Abbreviator delegate) {
+    this(delegate, DEFAULT_MAX_SIZE, false);
+  }
+
+  public CachingAbbreviator(Abbreviator delegate, int maxSize) {
+    this(delegate, maxSize, false);
+  }
+
+  public CachingAbbreviator(Abbreviator delegate, int maxSize,
+      boolean statisticsEnabled) {
+    this.delegate = delegate;
+    this.cache = new BoundedCache<String, String>(maxSize, statisticsEnabled);
+  }
+
+  public String abbreviate(String in) {
+    if (in == null) {
+      // null cannot be a cache key
+      return delegate.abbreviate(in);
+    }
+    String abbreviation = cache.get(in);
+    if (abbreviation == null) {
+      abbreviation = delegate.abbreviate(in);
+      cache.put(in, abbreviation);
+    }
+    return abbreviation;
+  }
+
+  public Abbreviator getDelegate() {
+    return delegate;
+  }
+
+  public int getMaxSize() {
+    return cache.getMaxSize();
+  }
+
+  /**
+   * The number of entries currently held by the cache.
+   */
+  public int getSize() {
+    return cache.getSize();
+  }
+
+  public boolean isStatisticsEnabled() {
+    return cache.isStatisticsEnabled();
+  }
+
+  public long getHitCount() {
+    return cache.getHitCount();
+  }
+
+  public long getMissCount() {
+    return cache.getMissCount();
+  }
+
+  /**
+   * Returns the ratio of cache hits to lookups, or 0 if there were no
+   * lookups or statistics are disabled.
+   */
+  public double getHitRate() {
+    return cache.getHitRate();
+  }
+}
@@ -78,9 +78,7 @@ public class CallerDataConverter extends ClassicConverter {
     evaluatorList.add(ee);
   }
 
-  public String convert(ILoggingEvent le) {
-    StringBuilder buf = new StringBuilder();
-
+  public void appendTo(StringBuilder buf, ILoggingEvent le) {
     if (evaluatorList != null) {
       boolean printCallerData = false;
       for (int i = 0; i < evaluatorList.size(); i++) {
@@ -109,7 +107,7 @@ public class CallerDataConverter extends ClassicConverter {
       }
 
       if (!printCallerData) {
-        return CoreConstants.EMPTY_STRING;
+        return;
       }
     }
 
@@ -124,9 +122,8 @@ public class CallerDataConverter extends ClassicConverter {
         buf.append(cda[i]);
         buf.append(CoreConstants.LINE_SEPARATOR);
       }
-      return buf.toString();
     } else {
-      return CallerData.CALLER_DATA_NA;
+      buf.append(CallerData.CALLER_DATA_NA);
     }
   }
 }
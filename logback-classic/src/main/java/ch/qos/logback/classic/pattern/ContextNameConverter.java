@@ -25,8 +25,8 @@ public class ContextNameConverter extends ClassicConverter {
   /**
    * Return the name of the logger context's name.
    */
-  public String convert(ILoggingEvent event) {
-    return event.getLoggerContextVO().getName();
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
+    appendValue(buf, event.getLoggerContextVO().getName());
   }
 
 }
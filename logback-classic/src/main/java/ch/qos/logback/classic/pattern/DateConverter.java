@@ -13,19 +13,16 @@
  */
 package ch.qos.logback.classic.pattern;
 
-import java.text.SimpleDateFormat;
-import java.util.Date;
 import java.util.List;
 import java.util.TimeZone;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.util.CachingDateFormatter;
 
 public class DateConverter extends ClassicConverter {
 
-  long lastTimestamp = -1;
-  String timestampStrCache = null;
-  SimpleDateFormat simpleFormat = null;
+  CachingDateFormatter cachingDateFormatter = null;
 
   public void start() {
 
@@ -38,41 +35,26 @@ public class DateConverter extends ClassicConverter {
       datePattern = CoreConstants.ISO8601_PATTERN;
     }
 
+    TimeZone tz = null;
+    List optionList = getOptionList();
+
+    // if the option list contains a TZ option, then set it.
+    if (optionList != null && optionList.size() > 1) {
+      tz = TimeZone.getTimeZone((String) optionList.get(1));
+    }
+
     try {
-      simpleFormat = new SimpleDateFormat(datePattern);
-      // maximumCacheValidity =
-      // CachedDateFormat.getMaximumCacheValidity(pattern);
+      cachingDateFormatter = new CachingDateFormatter(datePattern, tz);
     } catch (IllegalArgumentException e) {
       addWarn("Could not instantiate SimpleDateFormat with pattern "
           + datePattern, e);
       // default to the ISO8601 format
-      simpleFormat = new SimpleDateFormat(CoreConstants.ISO8601_PATTERN);
-    }
-
-    List optionList = getOptionList();
-
-    // if the option list contains a TZ option, then set it.
-    if (optionList != null && optionList.size() > 1) {
-      TimeZone tz = TimeZone.getTimeZone((String) optionList.get(1));
-      simpleFormat.setTimeZone(tz);
+      cachingDateFormatter = new CachingDateFormatter(
+          CoreConstants.ISO8601_PATTERN, tz);
     }
   }
 
-  public String convert(ILoggingEvent le) {
-    long timestamp = le.getTimeStamp();
-
-    synchronized (this) {
-      // if called multiple times within the same millisecond
-      // return cache value
-      if (timestamp == lastTimestamp) {
-        return timestampStrCache;
-      } else {
-        lastTimestamp = timestamp;
-        // SimpleDateFormat is not thread safe. 
-        // See also http://jira.qos.ch/browse/LBCLASSIC-36
-        timestampStrCache = simpleFormat.format(new Date(timestamp));
-        return timestampStrCache;
-      }
-    }
+  public void appendTo(StringBuilder buf, ILoggingEvent le) {
+    cachingDateFormatter.appendTo(buf, le.getTimeStamp());
   }
 }
@@ -18,12 +18,12 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 
 public class FileOfCallerConverter extends ClassicConverter {
 
-  public String convert(ILoggingEvent le) {
+  public void appendTo(StringBuilder buf, ILoggingEvent le) {
     StackTraceElement[] cda = le.getCallerData();
     if (cda != null && cda.length > 0) {
-      return cda[0].getFileName();
+      appendValue(buf, cda[0].getFileName());
     } else {
-      return CallerData.NA;
+      buf.append(CallerData.NA);
     }
   }
 
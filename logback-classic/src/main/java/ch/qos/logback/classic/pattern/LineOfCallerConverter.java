@@ -18,12 +18,12 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 
 public class LineOfCallerConverter extends ClassicConverter {
 
-  public String convert(ILoggingEvent le) {
+  public void appendTo(StringBuilder buf, ILoggingEvent le) {
     StackTraceElement[] cda = le.getCallerData();
     if (cda != null && cda.length > 0) {
-      return Integer.toString(cda[0].getLineNumber());
+      buf.append(cda[0].getLineNumber());
     } else {
-      return CallerData.NA;
+      buf.append(CallerData.NA);
     }
   }
 
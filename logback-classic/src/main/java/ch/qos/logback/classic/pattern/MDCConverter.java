@@ -13,16 +13,14 @@
  */
 package ch.qos.logback.classic.pattern;
 
-import java.util.Iterator;
 import java.util.Map;
-import java.util.Set;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.MDCPropertyMap;
 
 public class MDCConverter extends ClassicConverter {
 
   String key;
-  private static final String EMPTY_STRING = "";
 
   public MDCConverter() {
   }
@@ -40,38 +38,25 @@ public class MDCConverter extends ClassicConverter {
   }
 
   @Override
-  public String convert(ILoggingEvent event) {
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
     Map<String, String> mdcPropertyMap = event.getMDCPropertyMap();
 
     if (mdcPropertyMap == null) {
-      return EMPTY_STRING;
+      return;
     }
 
     if (key == null) {
-      // if no key is specified, return all the
-      // values present in the MDC, separated with a single space.
-      StringBuilder buf = new StringBuilder();
-      Set<String> keys = mdcPropertyMap.keySet();
-      Iterator it = keys.iterator();
-      String tmpKey;
-      String tmpValue;
-      while (it.hasNext()) {
-        tmpKey = (String)it.next();
-        tmpValue = (String)mdcPropertyMap.get(tmpKey);
-        //format: {testeKey=testValue, testKey2=testValue2}
-        buf.append(tmpKey).append('=').append(tmpValue);
-        if (it.hasNext()) {
-          buf.append(", ");
-        }
-      }
-      return buf.toString();
+      // if no key is specified, output all the entries present in the MDC
+      // in the form testKey=testValue, testKey2=testValue2. The rendering is
+      // computed once per MDC map
+      buf.append(MDCPropertyMap.render(mdcPropertyMap,
+          MDCPropertyMap.DEFAULT_RENDERER));
+      return;
     }
 
-    String value = event.getMDCPropertyMap().get(key);
+    String value = mdcPropertyMap.get(key);
     if (value != null) {
-      return value;
-    } else {
-      return EMPTY_STRING;
+      buf.append(value);
     }
   }
 }
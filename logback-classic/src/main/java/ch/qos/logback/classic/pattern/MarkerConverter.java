@@ -24,14 +24,10 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
  */
 public class MarkerConverter extends ClassicConverter {
 
-  private static String EMPTY = "";
-
-  public String convert(ILoggingEvent le) {
+  public void appendTo(StringBuilder buf, ILoggingEvent le) {
     Marker marker = le.getMarker();
-    if (marker == null) {
-      return EMPTY;
-    } else {
-      return marker.toString();
+    if (marker != null) {
+      buf.append(marker.toString());
     }
   }
 
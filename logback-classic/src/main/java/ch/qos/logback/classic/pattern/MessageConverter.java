@@ -14,6 +14,7 @@
 package ch.qos.logback.classic.pattern;
 
 import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.ReusableLoggingEvent;
 
 /**
  * Return the event's message.
@@ -22,8 +23,12 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
  */
 public class MessageConverter extends ClassicConverter {
 
-  public String convert(ILoggingEvent event) {
-    return event.getFormattedMessage();
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
+    if (event instanceof ReusableLoggingEvent
+        && ((ReusableLoggingEvent) event).appendFormattedMessage(buf)) {
+      return;
+    }
+    appendValue(buf, event.getFormattedMessage());
   }
 
 }
@@ -18,12 +18,12 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 
 public class MethodOfCallerConverter extends ClassicConverter {
 
-  public String convert(ILoggingEvent le) {
+  public void appendTo(StringBuilder buf, ILoggingEvent le) {
     StackTraceElement[] cda = le.getCallerData();
     if (cda != null && cda.length > 0) {
-      return cda[0].getMethodName();
+      appendValue(buf, cda[0].getMethodName());
     } else {
-      return CallerData.NA;
+      buf.append(CallerData.NA);
     }
   }
 
@@ -13,10 +13,20 @@
  */
 package ch.qos.logback.classic.pattern;
 
+import java.util.List;
+
 import ch.qos.logback.classic.spi.ILoggingEvent;
 
+/**
+ * Base class of converters outputting a possibly abbreviated name, e.g.
+ * <code>%logger{36}</code>. Abbreviations are cached. With a second option
+ * equal to <code>stats</code>, e.g. <code>%logger{36, stats}</code>, cache
+ * hits and misses are counted, see {@link #getCacheHitRate()}.
+ */
 public abstract class NamedConverter extends ClassicConverter {
 
+  static final String STATISTICS_OPTION = "stats";
+
   Abbreviator abbreviator = null;
 
   /**
@@ -33,10 +43,16 @@ public abstract class NamedConverter extends ClassicConverter {
     if (optStr != null) {
       try {
         int targetLen = Integer.parseInt(optStr);
+        List optionList = getOptionList();
+        boolean statisticsEnabled = optionList.size() > 1
+            && STATISTICS_OPTION.equals(optionList.get(1));
         if (targetLen == 0) {
-          abbreviator = new ClassNameOnlyAbbreviator();
+          abbreviator = new CachingAbbreviator(new ClassNameOnlyAbbreviator(),
+              CachingAbbreviator.DEFAULT_MAX_SIZE, statisticsEnabled);
         } else if (targetLen > 0) {
-          abbreviator = new TargetLengthBasedClassNameAbbreviator(targetLen);
+          abbreviator = new CachingAbbreviator(
+              new TargetLengthBasedClassNameAbbreviator(targetLen),
+              CachingAbbreviator.DEFAULT_MAX_SIZE, statisticsEnabled);
         }
       } catch (NumberFormatException nfe) {
         // FIXME: better error reporting
@@ -44,13 +60,24 @@ public abstract class NamedConverter extends ClassicConverter {
     }
   }
 
-  public String convert(ILoggingEvent event) {
+  /**
+   * Returns the ratio of abbreviations found in the cache, or 0 if names are
+   * not abbreviated or cache statistics are not enabled.
+   */
+  public double getCacheHitRate() {
+    if (abbreviator instanceof CachingAbbreviator) {
+      return ((CachingAbbreviator) abbreviator).getHitRate();
+    }
+    return 0;
+  }
+
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
     String fqn = getFullyQualifiedName(event);
 
-    if (abbreviator == null) {
-      return fqn;
+    if (abbreviator == null || fqn == null) {
+      appendValue(buf, fqn);
     } else {
-      return abbreviator.abbreviate(fqn);
+      buf.append(abbreviator.abbreviate(fqn));
     }
   }
 }
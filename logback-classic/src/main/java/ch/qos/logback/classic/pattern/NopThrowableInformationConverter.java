@@ -15,7 +15,6 @@ package ch.qos.logback.classic.pattern;
 
 import ch.qos.logback.classic.PatternLayout;
 import ch.qos.logback.classic.spi.ILoggingEvent;
-import ch.qos.logback.core.CoreConstants;
 
 
 
@@ -36,8 +35,8 @@ import ch.qos.logback.core.CoreConstants;
  */
 public class NopThrowableInformationConverter extends ThrowableHandlingConverter {
 
-  public String convert(ILoggingEvent event) {
-    return CoreConstants.EMPTY_STRING;
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
+    // nothing to append
   }
  
 }
@@ -17,19 +17,9 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 
 public class RelativeTimeConverter extends ClassicConverter {
 
-  long lastTimestamp = -1;
-  String timesmapCache = null;
-
-  public String convert(ILoggingEvent event) {
-    long now = event.getTimeStamp();
-
-    synchronized (this) {
-      // update timesmapStrCache only if now !=  lastTimestamp
-      if (now != lastTimestamp) {
-        lastTimestamp = now;
-        timesmapCache = Long.toString(now - event.getLoggerContextVO().getBirthTime());      
-      }
-      return timesmapCache;
-    }
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
+    // appending a long does not allocate, there is nothing worth caching
+    buf.append(event.getTimeStamp()
+        - event.getLoggerContextVO().getBirthTime());
   }
 }
@@ -0,0 +1,135 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.pattern;
+
+import java.util.Arrays;
+
+import ch.qos.logback.classic.spi.IThrowableProxy;
+import ch.qos.logback.classic.spi.StackTraceElementProxy;
+import ch.qos.logback.core.util.BoundedCache;
+
+/**
+ * Remembers the rendering of the stack frames of throwables, so that the
+ * frames of an exception thrown repeatedly from the same place are rendered
+ * once.
+ * 
+ * <p>
+ * Entries are keyed by the class name of the throwable, its stack frames,
+ * including their packaging data, and its number of frames in common with
+ * the enclosing throwable. The message is not part of the key, as the first
+ * line of each throwable is not cached.
+ * 
+ * <p>
+ * Note that a lookup is not free: {@link #keyOf} hashes every frame of the
+ * throwable, and a hit compares every frame with those of the cached entry.
+ * As the proxy of a throwable is built anew for each logging event, the
+ * fingerprint cannot be computed once and for all. What the cache saves is
+ * the formatting of the frames, including their packaging data, and the
+ * allocation of the resulting strings.
+ */
+public class StackTraceRenderingCache {
+
+  public static final int DEFAULT_MAX_SIZE = 128;
+
+  final BoundedCache<Object, String> cache;
+
+  public StackTraceRenderingCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public StackTraceRenderingCache(int maxSize) {
+    cache = new BoundedCache<Object, String>(maxSize, true);
+  }
+
+  /**
+   * Returns a key for the frames of the throwable proxy passed as parameter.
+   * Computing the key is linear in the number of frames.
+   */
+  public Object keyOf(IThrowableProxy tp) {
+    return new Key(tp.getClassName(), tp.getStackTraceElementProxyArray(), tp
+        .getCommonFrames());
+  }
+
+  /**
+   * Returns the rendering associated with a key obtained from
+   * {@link #keyOf(IThrowableProxy)}, or null if there is none.
+   */
+  public String get(Object key) {
+    return cache.get(key);
+  }
+
+  public void put(Object key, String frames) {
+    cache.put(key, frames);
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int getMaxSize() {
+    return cache.getMaxSize();
+  }
+
+  public int getSize() {
+    return cache.getSize();
+  }
+
+  public long getHitCount() {
+    return cache.getHitCount();
+  }
+
+  public long getMissCount() {
+    return cache.getMissCount();
+  }
+
+  public double getHitRate() {
+    return cache.getHitRate();
+  }
+
+  static final class Key {
+    final String className;
+    final StackTraceElementProxy[] stepArray;
+    final int commonFrames;
+    final int hashCode;
+
+    Key(String className, StackTraceElementProxy[] stepArray, int commonFrames) {
+      this.className = className;
+      this.stepArray = stepArray;
+      this.commonFrames = commonFrames;
+      int h = className.hashCode();
+      h = 31 * h + Arrays.hashCode(stepArray);
+      this.hashCode = 31 * h + commonFrames;
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      // StackTraceElementProxy.equals also compares packaging data
+      return hashCode == other.hashCode && commonFrames == other.commonFrames
+          && className.equals(other.className)
+          && Arrays.equals(stepArray, other.stepArray);
+    }
+  }
+}
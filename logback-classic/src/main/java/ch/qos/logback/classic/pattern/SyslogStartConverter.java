@@ -57,9 +57,7 @@ public class SyslogStartConverter extends ClassicConverter {
     }
   }
 
-  public String convert(ILoggingEvent event) {
-    StringBuilder sb = new StringBuilder();
-
+  public void appendTo(StringBuilder sb, ILoggingEvent event) {
     int pri = facility + LevelToSyslogSeverity.convert(event);
   
     sb.append("<");
@@ -69,8 +67,6 @@ public class SyslogStartConverter extends ClassicConverter {
     sb.append(' ');
     sb.append(localHostName);
     sb.append(' ');
-
-    return sb.toString();
   }
 
   /**
@@ -25,7 +25,6 @@ public class TargetLengthBasedClassNameAbbreviator implements Abbreviator {
   }
 
   public String abbreviate(String fqClassName) {
-    StringBuilder buf = new StringBuilder(targetLength);
     if (fqClassName == null) {
       throw new IllegalArgumentException("Class name may not be null");
     }
@@ -35,6 +34,8 @@ public class TargetLengthBasedClassNameAbbreviator implements Abbreviator {
       return fqClassName;
     }
 
+    StringBuilder buf = new StringBuilder(targetLength);
+
     int[] dotIndexesArray = new int[ClassicConstants.MAX_DOTS];
     // a.b.c contains 2 dots but 2+1 parts.
     // see also http://jira.qos.ch/browse/LBCLASSIC-110
@@ -22,8 +22,8 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
  */
 public class ThreadConverter extends ClassicConverter {
 
-  public String convert(ILoggingEvent event) {
-    return event.getThreadName();
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
+    appendValue(buf, event.getThreadName());
   }
 
 }
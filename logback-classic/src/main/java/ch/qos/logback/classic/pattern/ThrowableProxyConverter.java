@@ -39,6 +39,8 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
 
   int errorCount = 0;
 
+  final StackTraceRenderingCache renderingCache = new StackTraceRenderingCache();
+
   @SuppressWarnings("unchecked")
   public void start() {
 
@@ -88,6 +90,7 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
 
   public void stop() {
     evaluatorList = null;
+    renderingCache.clear();
     super.stop();
   }
 
@@ -95,12 +98,10 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
     // nop
   }
 
-  public String convert(ILoggingEvent event) {
-    StringBuilder buf = new StringBuilder(32);
-
+  public void appendTo(StringBuilder buf, ILoggingEvent event) {
     IThrowableProxy tp = event.getThrowableProxy();
     if (tp == null) {
-      return CoreConstants.EMPTY_STRING;
+      return;
     }
 
     // an evaluator match will cause stack printing to be skipped
@@ -131,7 +132,7 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
       }
 
       if (!printStack) {
-        return CoreConstants.EMPTY_STRING;
+        return;
       }
     }
 
@@ -139,12 +140,32 @@ public class ThrowableProxyConverter extends ThrowableHandlingConverter {
       printThrowableProxy(buf, tp);
       tp = tp.getCause();
     }
-    return buf.toString();
+  }
+
+  /**
+   * Returns the cache of rendered stack frames used by this converter.
+   */
+  public StackTraceRenderingCache getRenderingCache() {
+    return renderingCache;
   }
 
   void printThrowableProxy(StringBuilder buf, IThrowableProxy tp) {
     ThrowableProxyUtil.printFirstLine(buf, tp);
     buf.append(CoreConstants.LINE_SEPARATOR);
+
+    // only the frames are cached, the first line contains the message
+    Object key = renderingCache.keyOf(tp);
+    String frames = renderingCache.get(key);
+    if (frames != null) {
+      buf.append(frames);
+      return;
+    }
+    int start = buf.length();
+    printStackTraceElements(buf, tp);
+    renderingCache.put(key, buf.substring(start));
+  }
+
+  void printStackTraceElements(StringBuilder buf, IThrowableProxy tp) {
     StackTraceElementProxy[] stepArray = tp.getStackTraceElementProxyArray();
     int commonFrames = tp.getCommonFrames();
 
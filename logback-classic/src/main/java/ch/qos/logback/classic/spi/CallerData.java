@@ -47,6 +47,16 @@ public class CallerData {
   public static StackTraceElement[] EMPTY_CALLER_DATA_ARRAY = new StackTraceElement[0];
 
 
+  /**
+   * Create the {@link CallerDataProvider} used by default, which extracts
+   * caller data from a Throwable. {@link StackWalkerCallerDataProvider}, when
+   * available, is faster only for deep stacks and must be installed
+   * explicitly.
+   */
+  public static CallerDataProvider newDefaultProvider() {
+    return new ThrowableCallerDataProvider();
+  }
+
   /**
    * Extract caller data information as an array based on a Throwable passed as
    * parameter
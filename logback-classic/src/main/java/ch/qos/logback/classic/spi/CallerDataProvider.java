@@ -0,0 +1,34 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+/**
+ * Computes the caller data of a logging event, i.e. the stack frames located
+ * below the frames of the logging framework, from the thread issuing the
+ * logging request.
+ * 
+ * <p>
+ * Implementations must be thread-safe as a single instance is shared by all
+ * the events of a {@link ch.qos.logback.classic.LoggerContext}.
+ */
+public interface CallerDataProvider {
+
+  /**
+   * Return at most <code>maxDepth</code> stack frames of the current thread,
+   * starting with the frame calling the last frame of
+   * <code>fqnOfInvokingClass</code>. If the caller cannot be determined, an
+   * empty array is returned.
+   */
+  StackTraceElement[] getCallerData(String fqnOfInvokingClass, int maxDepth);
+}
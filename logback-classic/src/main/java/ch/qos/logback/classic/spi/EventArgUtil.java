@@ -0,0 +1,169 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+/**
+ * Helper methods for handling the argument array of a logging event without
+ * formatting the message.
+ *
+ * <p>
+ * The rules applied here mirror those of
+ * {@link org.slf4j.helpers.MessageFormatter#arrayFormat(String, Object[])}: a
+ * trailing {@link Throwable} argument is treated as the event's throwable
+ * only if the message pattern has fewer anchors than there are arguments.
+ */
+public class EventArgUtil {
+
+  static final char DELIM_START = '{';
+  static final char DELIM_STOP = '}';
+  static final char ESCAPE_CHAR = '\\';
+  static final String DELIM_STR = "{}";
+
+  /**
+   * Returns the trailing throwable of the argument array if it would not be
+   * consumed by an anchor of the message pattern, and null otherwise.
+   */
+  public static Throwable extractThrowable(String messagePattern,
+      Object[] argArray) {
+    if (argArray == null || argArray.length == 0) {
+      return null;
+    }
+    Object lastEntry = argArray[argArray.length - 1];
+    if (!(lastEntry instanceof Throwable)) {
+      return null;
+    }
+    if (countAnchors(messagePattern, argArray.length) < argArray.length) {
+      return (Throwable) lastEntry;
+    }
+    return null;
+  }
+
+  /**
+   * Count the "{}" anchors in the message pattern, taking escaping into
+   * account. Counting stops as soon as <code>limit</code> anchors are found.
+   */
+  static int countAnchors(String messagePattern, int limit) {
+    if (messagePattern == null) {
+      return 0;
+    }
+    int count = 0;
+    int len = messagePattern.length();
+    int i = 0;
+    while (count < limit) {
+      int j = messagePattern.indexOf(DELIM_START, i);
+      if (j == -1 || j + 1 >= len) {
+        break;
+      }
+      if (messagePattern.charAt(j + 1) != DELIM_STOP) {
+        i = j + 1;
+        continue;
+      }
+      if (isEscapedDelimeter(messagePattern, j)
+          && !isDoubleEscaped(messagePattern, j)) {
+        // an escaped anchor is output as is, skip its '{'
+        i = j + 1;
+      } else {
+        count++;
+        i = j + 2;
+      }
+    }
+    return count;
+  }
+
+  static boolean isEscapedDelimeter(String messagePattern, int delimeterStartIndex) {
+    return delimeterStartIndex != 0
+        && messagePattern.charAt(delimeterStartIndex - 1) == ESCAPE_CHAR;
+  }
+
+  static boolean isDoubleEscaped(String messagePattern, int delimeterStartIndex) {
+    return delimeterStartIndex >= 2
+        && messagePattern.charAt(delimeterStartIndex - 2) == ESCAPE_CHAR;
+  }
+
+  /**
+   * Append the message pattern with its anchors replaced by the arguments,
+   * as {@link org.slf4j.helpers.MessageFormatter#arrayFormat(String, Object[])}
+   * would format it, but without intermediary strings. Nothing is appended
+   * and false is returned if the pattern is null or if one of the arguments
+   * is an array, these cases being left to MessageFormatter.
+   */
+  public static boolean appendFormatted(StringBuilder buf,
+      String messagePattern, Object[] argArray) {
+    if (messagePattern == null) {
+      return false;
+    }
+    for (int k = 0; k < argArray.length; k++) {
+      if (argArray[k] != null && argArray[k].getClass().isArray()) {
+        return false;
+      }
+    }
+    int i = 0;
+    for (int l = 0; l < argArray.length; l++) {
+      int j = messagePattern.indexOf(DELIM_STR, i);
+      if (j == -1) {
+        break;
+      }
+      if (isEscapedDelimeter(messagePattern, j)) {
+        if (!isDoubleEscaped(messagePattern, j)) {
+          // the anchor is output as is and does not consume an argument
+          l--;
+          buf.append(messagePattern, i, j - 1);
+          buf.append(DELIM_START);
+          i = j + 1;
+          continue;
+        }
+        buf.append(messagePattern, i, j - 1);
+      } else {
+        buf.append(messagePattern, i, j);
+      }
+      appendArgument(buf, argArray[l]);
+      i = j + 2;
+    }
+    buf.append(messagePattern, i, messagePattern.length());
+    return true;
+  }
+
+  private static void appendArgument(StringBuilder buf, Object o) {
+    if (o instanceof String || o == null) {
+      buf.append((String) o);
+    } else if (o instanceof Integer) {
+      buf.append(((Integer) o).intValue());
+    } else if (o instanceof Long) {
+      buf.append(((Long) o).longValue());
+    } else {
+      try {
+        buf.append(o.toString());
+      } catch (Throwable t) {
+        System.err
+            .println("SLF4J: Failed toString() invocation on an object of type ["
+                + o.getClass().getName() + "]");
+        t.printStackTrace();
+        buf.append("[FAILED toString()]");
+      }
+    }
+  }
+
+  /**
+   * Returns a copy of the argument array without its last element.
+   */
+  public static Object[] trimmedCopy(Object[] argArray) {
+    if (argArray == null || argArray.length == 0) {
+      throw new IllegalStateException("non-sensical empty or null argument array");
+    }
+    final int trimmedLen = argArray.length - 1;
+    Object[] trimmed = new Object[trimmedLen];
+    System.arraycopy(argArray, 0, trimmed, 0, trimmedLen);
+    return trimmed;
+  }
+}
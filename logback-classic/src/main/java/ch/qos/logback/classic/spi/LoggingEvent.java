@@ -18,13 +18,13 @@ import java.util.Map;
 
 import org.slf4j.MDC;
 import org.slf4j.Marker;
-import org.slf4j.helpers.FormattingTuple;
 import org.slf4j.helpers.MessageFormatter;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.classic.util.MDCPropertyMap;
 
 /**
  * The internal representation of logging events. When an affirmative decision
@@ -101,6 +101,14 @@ public class LoggingEvent implements ILoggingEvent {
 
   public LoggingEvent(String fqcn, Logger logger, Level level, String message,
       Throwable throwable, Object[] argArray) {
+    init(fqcn, logger, level, message, throwable, argArray);
+  }
+
+  /**
+   * Set the fields of a blank event.
+   */
+  void init(String fqcn, Logger logger, Level level, String message,
+      Throwable throwable, Object[] argArray) {
     this.fqnOfLoggerClass = fqcn;
     this.loggerName = logger.getName();
     this.loggerContext = logger.getLoggerContext();
@@ -108,22 +116,22 @@ public class LoggingEvent implements ILoggingEvent {
     this.level = level;
 
     this.message = message;
+    this.argumentArray = argArray;
 
-    FormattingTuple ft = MessageFormatter.arrayFormat(message, argArray);
-    formattedMessage = ft.getMessage();
-
+    // the message is formatted lazily in getFormattedMessage(), only
+    // look for a trailing throwable here
     if (throwable == null) {
-      argumentArray = ft.getArgArray();
-      throwable = ft.getThrowable();
-    } else {
-      this.argumentArray = argArray;
+      throwable = EventArgUtil.extractThrowable(message, argArray);
+      if (throwable != null) {
+        this.argumentArray = EventArgUtil.trimmedCopy(argArray);
+      }
     }
 
     if (throwable != null) {
       this.throwableProxy = new ThrowableProxy(throwable);
       LoggerContext lc = logger.getLoggerContext();
       if (lc.isPackagingDataEnabled()) {
-        this.throwableProxy.calculatePackagingData();
+        this.throwableProxy.calculatePackagingData(lc.getPackagingDataCache());
       }
     }
 
@@ -135,6 +143,27 @@ public class LoggingEvent implements ILoggingEvent {
     mdcPropertyMap = logbackMDCAdapter.getPropertyMap();
   }
 
+  /**
+   * Return this event to its blank state so that it can be initialized anew.
+   * Used by {@link ReusableLoggingEvent}.
+   */
+  void clear() {
+    fqnOfLoggerClass = null;
+    threadName = null;
+    loggerName = null;
+    loggerContext = null;
+    loggerContextVO = null;
+    level = null;
+    message = null;
+    formattedMessage = null;
+    argumentArray = null;
+    throwableProxy = null;
+    callerDataArray = null;
+    marker = null;
+    mdcPropertyMap = null;
+    timeStamp = 0;
+  }
+
   public void setArgumentArray(Object[] argArray) {
     if (this.argumentArray != null) {
       throw new IllegalStateException("argArray has been already set");
@@ -207,13 +236,25 @@ public class LoggingEvent implements ILoggingEvent {
    */
   public void prepareForDeferredProcessing() {
     this.getFormattedMessage();
+    prepareThreadDependentData();
+  }
+
+  /**
+   * Compute the data which can only be obtained on the logging thread.
+   */
+  void prepareThreadDependentData() {
     this.getThreadName();
     // fixes http://jira.qos.ch/browse/LBCLASSIC-104
-    if (mdcPropertyMap != null) {
+    // frozen MDCPropertyMap instances cannot be modified and need no copy
+    if (mdcPropertyMap != null && !isFrozen(mdcPropertyMap)) {
       mdcPropertyMap = new HashMap<String, String>(mdcPropertyMap);
     }
   }
 
+  private static boolean isFrozen(Map<String, String> map) {
+    return (map instanceof MDCPropertyMap) && ((MDCPropertyMap) map).isFrozen();
+  }
+
   public LoggerContextVO getLoggerContextVO() {
     return loggerContextVO;
   }
@@ -262,8 +303,8 @@ public class LoggingEvent implements ILoggingEvent {
    */
   public StackTraceElement[] getCallerData() {
     if (callerDataArray == null) {
-      callerDataArray = CallerData.extract(new Throwable(), fqnOfLoggerClass,
-          loggerContext.getMaxCallerDataDepth());
+      callerDataArray = loggerContext.getCallerDataProvider().getCallerData(
+          fqnOfLoggerClass, loggerContext.getMaxCallerDataDepth());
     }
     return callerDataArray;
   }
@@ -79,6 +79,19 @@ public class LoggingEventVO implements ILoggingEvent, Serializable {
     return ledo;
   }
 
+  /**
+   * Like {@link #build(ILoggingEvent)} but the returned copy does not share
+   * the argument array of the original event, which may be recycled.
+   */
+  static LoggingEventVO buildDetached(ILoggingEvent le) {
+    LoggingEventVO ledo = build(le);
+    ledo.formattedMessage = le.getFormattedMessage();
+    if (ledo.argumentArray != null) {
+      ledo.argumentArray = ledo.argumentArray.clone();
+    }
+    return ledo;
+  }
+
   public String getThreadName() {
     return threadName;
   }
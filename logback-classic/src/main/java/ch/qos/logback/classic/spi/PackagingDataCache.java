@@ -0,0 +1,128 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.lang.ref.WeakReference;
+
+import ch.qos.logback.core.util.BoundedCache;
+
+/**
+ * A cache of {@link ClassPackagingData} shared by the
+ * {@link PackagingDataCalculator} instances of a LoggerContext, so that the
+ * code location and version of a class are computed once instead of once per
+ * logged exception.
+ * 
+ * <p>
+ * Entries are keyed by class name and class loader, the class loader being
+ * that of the class when its type is known exactly, and the class loader used
+ * to look the class up otherwise. Class loaders are referenced weakly so that
+ * the cache does not prevent them from being garbage collected.
+ * 
+ * <p>
+ * The cache is bounded and lock-free, see {@link BoundedCache}. Cache hits and
+ * misses are counted, the cache being consulted only for logged exceptions.
+ */
+public class PackagingDataCache {
+
+  public static final int DEFAULT_MAX_SIZE = 2048;
+
+  final BoundedCache<Key, ClassPackagingData> cache;
+
+  public PackagingDataCache() {
+    this(DEFAULT_MAX_SIZE);
+  }
+
+  public PackagingDataCache(int maxSize) {
+    cache = new BoundedCache<Key, ClassPackagingData>(maxSize, true);
+  }
+
+  public ClassPackagingData get(String className, ClassLoader classLoader,
+      boolean exact) {
+    return cache.get(new Key(className, classLoader, exact));
+  }
+
+  public void put(String className, ClassLoader classLoader, boolean exact,
+      ClassPackagingData cpd) {
+    cache.put(new Key(className, classLoader, exact), cpd);
+  }
+
+  public void clear() {
+    cache.clear();
+  }
+
+  public int getMaxSize() {
+    return cache.getMaxSize();
+  }
+
+  /**
+   * The number of entries currently held by the cache.
+   */
+  public int getSize() {
+    return cache.getSize();
+  }
+
+  public long getHitCount() {
+    return cache.getHitCount();
+  }
+
+  public long getMissCount() {
+    return cache.getMissCount();
+  }
+
+  static final class Key {
+    final String className;
+    final WeakReference<ClassLoader> classLoaderRef;
+    final boolean exact;
+    final int hashCode;
+
+    Key(String className, ClassLoader classLoader, boolean exact) {
+      this.className = className;
+      this.classLoaderRef = (classLoader == null) ? null
+          : new WeakReference<ClassLoader>(classLoader);
+      this.exact = exact;
+      int h = 31 * className.hashCode() + System.identityHashCode(classLoader);
+      this.hashCode = exact ? h : ~h;
+    }
+
+    ClassLoader getClassLoader() {
+      return (classLoaderRef == null) ? null : classLoaderRef.get();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key) obj;
+      if (hashCode != other.hashCode || exact != other.exact
+          || !className.equals(other.className)) {
+        return false;
+      }
+      if (classLoaderRef == null || other.classLoaderRef == null) {
+        return classLoaderRef == other.classLoaderRef;
+      }
+      // a collected class loader matches no other key
+      ClassLoader classLoader = getClassLoader();
+      return classLoader != null && classLoader == other.getClassLoader();
+    }
+  }
+}
@@ -0,0 +1,138 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import org.slf4j.Marker;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+
+/**
+ * A {@link LoggingEvent} which is recycled from one logging call to the next
+ * on the same thread. Used when the garbage-free mode of the
+ * {@link ch.qos.logback.classic.LoggerContext LoggerContext} is enabled.
+ *
+ * <p>
+ * An instance is only valid for the duration of the
+ * {@link Logger#callAppenders(ILoggingEvent)} invocation it was passed to.
+ * Components wishing to retain the event beyond that point must copy it, for
+ * example with {@link LoggingEventVO#build(ILoggingEvent)}. Loggers only
+ * recycle events for appenders known to be done with them on return, see
+ * {@link ch.qos.logback.classic.LoggerContext#setGarbageFree(boolean)}.
+ */
+public class ReusableLoggingEvent extends LoggingEvent {
+
+  static private final ThreadLocal<ReusableLoggingEvent> THREAD_LOCAL_EVENT = new ThreadLocal<ReusableLoggingEvent>() {
+    protected ReusableLoggingEvent initialValue() {
+      return new ReusableLoggingEvent();
+    }
+  };
+
+  private final Object[] oneArgArray = new Object[1];
+  private final Object[] twoArgArray = new Object[2];
+  private boolean inUse = false;
+
+  ReusableLoggingEvent() {
+  }
+
+  /**
+   * Returns the event of the current thread, or null if that event is
+   * currently in use, e.g. when an appender logs while handling an event.
+   */
+  public static ReusableLoggingEvent acquire() {
+    ReusableLoggingEvent event = THREAD_LOCAL_EVENT.get();
+    if (event.inUse) {
+      return null;
+    }
+    event.inUse = true;
+    return event;
+  }
+
+  public ReusableLoggingEvent init(String fqcn, Logger logger, Level level,
+      Marker marker, String message, Throwable throwable) {
+    init(fqcn, logger, level, message, throwable, null);
+    setMarker(marker);
+    return this;
+  }
+
+  public ReusableLoggingEvent init(String fqcn, Logger logger, Level level,
+      Marker marker, String message, Object param, Throwable throwable) {
+    oneArgArray[0] = param;
+    init(fqcn, logger, level, message, throwable, oneArgArray);
+    setMarker(marker);
+    return this;
+  }
+
+  public ReusableLoggingEvent init(String fqcn, Logger logger, Level level,
+      Marker marker, String message, Object param1, Object param2,
+      Throwable throwable) {
+    twoArgArray[0] = param1;
+    twoArgArray[1] = param2;
+    init(fqcn, logger, level, message, throwable, twoArgArray);
+    setMarker(marker);
+    return this;
+  }
+
+  public ReusableLoggingEvent init(String fqcn, Logger logger, Level level,
+      Marker marker, String message, Object[] params, Throwable throwable) {
+    init(fqcn, logger, level, message, throwable, params);
+    setMarker(marker);
+    return this;
+  }
+
+  /**
+   * Unlike that of a regular event, the formatted message is not computed
+   * here. A recycled event is never retained as such, and its copy formats
+   * the message anyway, see {@link #copy()}.
+   */
+  @Override
+  public void prepareForDeferredProcessing() {
+    prepareThreadDependentData();
+  }
+
+  /**
+   * Append the formatted message of this event to the buffer without
+   * creating the formatted message string, which would not outlive this use
+   * of the event. Returns false, having appended nothing, if the message
+   * should rather be obtained from {@link #getFormattedMessage()}.
+   */
+  public boolean appendFormattedMessage(StringBuilder buf) {
+    Object[] argArray = getArgumentArray();
+    if (argArray == null) {
+      return false;
+    }
+    return EventArgUtil.appendFormatted(buf, getMessage(), argArray);
+  }
+
+  /**
+   * Returns a copy of this event which remains valid after this event is
+   * released. Thread-dependent data should have been computed beforehand, see
+   * {@link #prepareForDeferredProcessing()}.
+   */
+  public ILoggingEvent copy() {
+    return LoggingEventVO.buildDetached(this);
+  }
+
+  /**
+   * Make this event available to the next logging call on this thread. The
+   * references held by the event are cleared so that arguments do not leak.
+   */
+  public void release() {
+    oneArgArray[0] = null;
+    twoArgArray[0] = null;
+    twoArgArray[1] = null;
+    clear();
+    inUse = false;
+  }
+}
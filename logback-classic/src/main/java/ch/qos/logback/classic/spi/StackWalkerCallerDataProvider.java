@@ -0,0 +1,191 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@link CallerDataProvider} based on <code>java.lang.StackWalker</code>,
+ * available as of Java 9. Stack frames are walked lazily: the walk stops as
+ * soon as <code>maxDepth</code> frames past the logging framework have been
+ * collected, and only these frames are converted into StackTraceElement
+ * instances.
+ * 
+ * <p>
+ * Reflection frames are included, so that the caller data is the same as the
+ * one extracted from a Throwable by {@link ThrowableCallerDataProvider}.
+ * 
+ * <p>
+ * As logback is compiled for older JVMs, StackWalker is accessed through
+ * reflection, and each frame visited costs a reflective method invocation. As
+ * a consequence, this provider is faster than
+ * {@link ThrowableCallerDataProvider} only for deep stacks, and is not used by
+ * default. It can be installed with
+ * {@link ch.qos.logback.classic.LoggerContext#setCallerDataProvider(CallerDataProvider)}.
+ * Use {@link #isAvailable()} before creating an instance.
+ */
+public class StackWalkerCallerDataProvider implements CallerDataProvider {
+
+  private static final Object WALKER;
+  private static final Method WALK_METHOD;
+  private static final Method ITERATOR_METHOD;
+  private static final Method GET_CLASS_NAME_METHOD;
+  private static final Method TO_STACK_TRACE_ELEMENT_METHOD;
+  // constructor of a proxy class implementing java.util.function.Function
+  private static final Constructor<?> FUNCTION_CONSTRUCTOR;
+
+  static {
+    Object walker = null;
+    Method walk = null;
+    Method iterator = null;
+    Method getClassName = null;
+    Method toStackTraceElement = null;
+    Constructor<?> functionConstructor = null;
+    try {
+      Class<?> walkerClass = Class.forName("java.lang.StackWalker");
+      Class<?> optionClass = Class.forName("java.lang.StackWalker$Option");
+      Class<?> frameClass = Class.forName("java.lang.StackWalker$StackFrame");
+      Class<?> functionClass = Class.forName("java.util.function.Function");
+      Class<?> streamClass = Class.forName("java.util.stream.BaseStream");
+
+      Object showReflectFrames = optionClass.getField("SHOW_REFLECT_FRAMES")
+          .get(null);
+      walker = walkerClass.getMethod("getInstance", optionClass).invoke(null,
+          showReflectFrames);
+      walk = walkerClass.getMethod("walk", functionClass);
+      iterator = streamClass.getMethod("iterator");
+      getClassName = frameClass.getMethod("getClassName");
+      toStackTraceElement = frameClass.getMethod("toStackTraceElement");
+      functionConstructor = Proxy.getProxyClass(
+          StackWalkerCallerDataProvider.class.getClassLoader(),
+          new Class[] { functionClass }).getConstructor(
+          new Class[] { InvocationHandler.class });
+    } catch (Throwable t) {
+      // StackWalker is not available on this JVM
+      walker = null;
+    }
+    WALKER = walker;
+    WALK_METHOD = walk;
+    ITERATOR_METHOD = iterator;
+    GET_CLASS_NAME_METHOD = getClassName;
+    TO_STACK_TRACE_ELEMENT_METHOD = toStackTraceElement;
+    FUNCTION_CONSTRUCTOR = functionConstructor;
+  }
+
+  /**
+   * Is StackWalker available on the running JVM?
+   */
+  public static boolean isAvailable() {
+    return WALKER != null;
+  }
+
+  // the invoking class and the maximum depth rarely change, so that the
+  // function passed to StackWalker.walk is created once and reused
+  private volatile Walk lastWalk;
+
+  public StackWalkerCallerDataProvider() {
+    if (!isAvailable()) {
+      throw new IllegalStateException(
+          "java.lang.StackWalker is not available on this JVM");
+    }
+  }
+
+  public StackTraceElement[] getCallerData(String fqnOfInvokingClass,
+      int maxDepth) {
+    try {
+      Walk walk = lastWalk;
+      if (walk == null || walk.maxDepth != maxDepth
+          || !walk.fqnOfInvokingClass.equals(fqnOfInvokingClass)) {
+        walk = new Walk(fqnOfInvokingClass, maxDepth);
+        lastWalk = walk;
+      }
+      return (StackTraceElement[]) WALK_METHOD.invoke(WALKER,
+          new Object[] { walk.function });
+    } catch (InvocationTargetException e) {
+      throw new IllegalStateException("Failed to walk the stack", e
+          .getTargetException());
+    } catch (Exception e) {
+      throw new IllegalStateException("Failed to walk the stack", e);
+    }
+  }
+
+  /**
+   * The function passed to StackWalker.walk, applied to the stream of stack
+   * frames. Instances are immutable and can be shared by threads.
+   */
+  private static class Walk implements InvocationHandler {
+    final String fqnOfInvokingClass;
+    final int maxDepth;
+    // the java.util.function.Function proxy delegating to this handler
+    final Object function;
+
+    Walk(String fqnOfInvokingClass, int maxDepth) throws Exception {
+      this.fqnOfInvokingClass = fqnOfInvokingClass;
+      this.maxDepth = maxDepth;
+      this.function = FUNCTION_CONSTRUCTOR.newInstance(new Object[] { this });
+    }
+
+    public Object invoke(Object proxy, Method method, Object[] args)
+        throws Throwable {
+      String name = method.getName();
+      if ("apply".equals(name)) {
+        return extract((Iterator<?>) ITERATOR_METHOD.invoke(args[0]));
+      } else if ("equals".equals(name)) {
+        return Boolean.valueOf(proxy == args[0]);
+      } else if ("hashCode".equals(name)) {
+        return Integer.valueOf(System.identityHashCode(proxy));
+      } else if ("toString".equals(name)) {
+        return "Walk[" + fqnOfInvokingClass + "]";
+      }
+      throw new UnsupportedOperationException(name);
+    }
+
+    StackTraceElement[] extract(Iterator<?> frames) throws Exception {
+      boolean found = false;
+      List<StackTraceElement> callerDataList = null;
+      while (frames.hasNext()) {
+        Object frame = frames.next();
+        if (callerDataList == null) {
+          String className = (String) GET_CLASS_NAME_METHOD.invoke(frame);
+          if (CallerData.isDirectlyInvokingClass(className, fqnOfInvokingClass)) {
+            found = true;
+            continue;
+          }
+          if (!found) {
+            continue;
+          }
+          // the caller is the first frame after those of the invoking class
+          callerDataList = new ArrayList<StackTraceElement>();
+        }
+        if (callerDataList.size() >= maxDepth) {
+          break;
+        }
+        callerDataList.add((StackTraceElement) TO_STACK_TRACE_ELEMENT_METHOD
+            .invoke(frame));
+      }
+      if (callerDataList == null) {
+        return CallerData.EMPTY_CALLER_DATA_ARRAY;
+      }
+      return callerDataList.toArray(new StackTraceElement[callerDataList
+          .size()]);
+    }
+  }
+}
@@ -0,0 +1,27 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+/**
+ * A {@link CallerDataProvider} extracting the caller data from the stack trace
+ * of a newly created {@link Throwable}. It works on all JVMs but materializes
+ * every frame of the stack, however deep.
+ */
+public class ThrowableCallerDataProvider implements CallerDataProvider {
+
+  public StackTraceElement[] getCallerData(String fqnOfInvokingClass,
+      int maxDepth) {
+    return CallerData.extract(new Throwable(), fqnOfInvokingClass, maxDepth);
+  }
+}
@@ -91,9 +91,24 @@ public class ThrowableProxy implements IThrowableProxy {
   }
 
   public void calculatePackagingData() {
+    calculatePackagingData(null);
+  }
+
+  /**
+   * Calculate packaging data using a cache shared with other throwable
+   * proxies, typically that of the LoggerContext.
+   * 
+   * @param packagingDataCache
+   *                may be null, in which case a private cache is used
+   */
+  public void calculatePackagingData(PackagingDataCache packagingDataCache) {
     if (calculatedPackageData) {
       return;
     }
+    if (throwable != null && packagingDataCalculator == null
+        && packagingDataCache != null) {
+      packagingDataCalculator = new PackagingDataCalculator(packagingDataCache);
+    }
     PackagingDataCalculator pdc = this.getPackagingDataCalculator();
     if (pdc != null) {
       calculatedPackageData = true;
@@ -13,6 +13,9 @@
  */
 package ch.qos.logback.classic.spi;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.slf4j.Marker;
@@ -31,6 +34,124 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
 
   private static final long serialVersionUID = 1L;
 
+  // whether any filter of the list can accept, see updateCanAccept()
+  private volatile boolean canAccept = false;
+
+  /**
+   * Whether any of the filters in the list may return
+   * {@link FilterReply#ACCEPT}, see {@link TurboFilter#canAccept()}.
+   */
+  public final boolean canAnyFilterAccept() {
+    return canAccept;
+  }
+
+  /**
+   * Recompute the value returned by {@link #canAnyFilterAccept()}. Invoked
+   * whenever the list is modified, and by filters when they are started, as
+   * whether a filter can accept may depend on its configuration.
+   */
+  public synchronized void updateCanAccept() {
+    boolean result = false;
+    for (TurboFilter tf : this) {
+      if (tf.canAccept()) {
+        result = true;
+        break;
+      }
+    }
+    canAccept = result;
+  }
+
+  @Override
+  public boolean add(TurboFilter tf) {
+    boolean result = super.add(tf);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public void add(int index, TurboFilter tf) {
+    super.add(index, tf);
+    updateCanAccept();
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends TurboFilter> c) {
+    boolean result = super.addAll(c);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public boolean addAll(int index, Collection<? extends TurboFilter> c) {
+    boolean result = super.addAll(index, c);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public int addAllAbsent(Collection<? extends TurboFilter> c) {
+    int result = super.addAllAbsent(c);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public boolean addIfAbsent(TurboFilter tf) {
+    boolean result = super.addIfAbsent(tf);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public TurboFilter set(int index, TurboFilter tf) {
+    TurboFilter result = super.set(index, tf);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public TurboFilter remove(int index) {
+    TurboFilter result = super.remove(index);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public boolean remove(Object o) {
+    boolean result = super.remove(o);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public boolean removeAll(Collection<?> c) {
+    boolean result = super.removeAll(c);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public boolean retainAll(Collection<?> c) {
+    boolean result = super.retainAll(c);
+    updateCanAccept();
+    return result;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    updateCanAccept();
+  }
+
+  /**
+   * Returns a read-only view, modifications through the view would go
+   * unnoticed by {@link #updateCanAccept()}.
+   */
+  @Override
+  public List<TurboFilter> subList(int fromIndex, int toIndex) {
+    return Collections.unmodifiableList(super.subList(fromIndex, toIndex));
+  }
+
   /**
    * Loop through the filters in the chain. As soon as a filter decides on
    * ACCEPT or DENY, then that value is returned. If all of the filters return
@@ -54,11 +175,7 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
       }
     }
     
-    Object[] tfa = toArray();
-    final int len = tfa.length;
-    for (int i = 0; i < len; i++) {
-    //for (TurboFilter tf : this) {
-      final TurboFilter tf = (TurboFilter) tfa[i];
+    for (TurboFilter tf : this) {
       final FilterReply r = tf.decide(marker, logger, level, format, params, t);
       if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
         return r;
@@ -67,6 +184,90 @@ final public class TurboFilterList extends CopyOnWriteArrayList<TurboFilter> {
     return FilterReply.NEUTRAL;
   }
 
+  /**
+   * Same as
+   * {@link #getTurboFilterChainDecision(Marker, Logger, Level, String, Object[], Throwable)}
+   * for a single parameter. The parameter is wrapped in an array only if a
+   * filter {@link TurboFilter#usesParameters() uses parameters}, once for all
+   * such filters.
+   */
+  public final FilterReply getTurboFilterChainDecision_1(final Marker marker,
+      final Logger logger, final Level level, final String format,
+      final Object param, final Throwable t) {
+
+    final int size = size();
+    if (size == 1) {
+      try {
+        TurboFilter tf = get(0);
+        if (tf.usesParameters()) {
+          return tf.decide(marker, logger, level, format,
+              new Object[] { param }, t);
+        }
+        return tf.decide_1(marker, logger, level, format, param, t);
+      } catch (IndexOutOfBoundsException iobe) {
+        return FilterReply.NEUTRAL;
+      }
+    }
+
+    Object[] params = null;
+    for (TurboFilter tf : this) {
+      final FilterReply r;
+      if (tf.usesParameters()) {
+        if (params == null) {
+          params = new Object[] { param };
+        }
+        r = tf.decide(marker, logger, level, format, params, t);
+      } else {
+        r = tf.decide_1(marker, logger, level, format, param, t);
+      }
+      if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
+        return r;
+      }
+    }
+    return FilterReply.NEUTRAL;
+  }
+
+  /**
+   * Same as
+   * {@link #getTurboFilterChainDecision_1(Marker, Logger, Level, String, Object, Throwable)}
+   * for two parameters.
+   */
+  public final FilterReply getTurboFilterChainDecision_2(final Marker marker,
+      final Logger logger, final Level level, final String format,
+      final Object param1, final Object param2, final Throwable t) {
+
+    final int size = size();
+    if (size == 1) {
+      try {
+        TurboFilter tf = get(0);
+        if (tf.usesParameters()) {
+          return tf.decide(marker, logger, level, format, new Object[] {
+              param1, param2 }, t);
+        }
+        return tf.decide_2(marker, logger, level, format, param1, param2, t);
+      } catch (IndexOutOfBoundsException iobe) {
+        return FilterReply.NEUTRAL;
+      }
+    }
+
+    Object[] params = null;
+    for (TurboFilter tf : this) {
+      final FilterReply r;
+      if (tf.usesParameters()) {
+        if (params == null) {
+          params = new Object[] { param1, param2 };
+        }
+        r = tf.decide(marker, logger, level, format, params, t);
+      } else {
+        r = tf.decide_2(marker, logger, level, format, param1, param2, t);
+      }
+      if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
+        return r;
+      }
+    }
+    return FilterReply.NEUTRAL;
+  }
+
   // public boolean remove(TurboFilter turboFilter) {
   // return tfList.remove(turboFilter);
   // }
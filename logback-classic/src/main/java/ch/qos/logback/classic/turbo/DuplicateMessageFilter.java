@@ -67,6 +67,16 @@ public class DuplicateMessageFilter extends TurboFilter {
     }
   }
 
+  @Override
+  public boolean usesParameters() {
+    return false;
+  }
+
+  @Override
+  public boolean canAccept() {
+    return false;
+  }
+
   public int getAllowedRepetitions() {
     return allowedRepetitions;
   }
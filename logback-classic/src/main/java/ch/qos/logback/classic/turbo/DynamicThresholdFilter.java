@@ -173,6 +173,7 @@ public class DynamicThresholdFilter extends TurboFilter {
 
   public void setOnHigherOrEqual(FilterReply onHigherOrEqual) {
     this.onHigherOrEqual = onHigherOrEqual;
+    canAcceptChanged();
   }
 
   /**
@@ -187,6 +188,7 @@ public class DynamicThresholdFilter extends TurboFilter {
 
   public void setOnLower(FilterReply onLower) {
     this.onLower = onLower;
+    canAcceptChanged();
   }
 
   /**
@@ -254,4 +256,15 @@ public class DynamicThresholdFilter extends TurboFilter {
       return onLower;
     }
   }
+
+  @Override
+  public boolean usesParameters() {
+    return false;
+  }
+
+  @Override
+  public boolean canAccept() {
+    return onHigherOrEqual == FilterReply.ACCEPT
+        || onLower == FilterReply.ACCEPT;
+  }
 }
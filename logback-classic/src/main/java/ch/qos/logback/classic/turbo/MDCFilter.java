@@ -60,6 +60,11 @@ public class MDCFilter extends MatchingFilter {
     }
     return onMismatch;
   }
+
+  @Override
+  public boolean usesParameters() {
+    return false;
+  }
   
   public void setValue(String value) {
     this.value = value;
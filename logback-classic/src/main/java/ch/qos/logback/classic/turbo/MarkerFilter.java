@@ -54,6 +54,11 @@ public class MarkerFilter extends MatchingFilter {
     }
   }
 
+  @Override
+  public boolean usesParameters() {
+    return false;
+  }
+
   /**
    * The marker to match in the event.
    * 
@@ -34,6 +34,7 @@ public abstract class MatchingFilter extends TurboFilter {
     } else if ("DENY".equals(action)) {
       onMatch = FilterReply.DENY;
     }
+    canAcceptChanged();
   }
 
   final public void setOnMismatch(String action) {
@@ -44,5 +45,11 @@ public abstract class MatchingFilter extends TurboFilter {
     } else if ("DENY".equals(action)) {
       onMismatch = FilterReply.DENY;
     }
+    canAcceptChanged();
+  }
+
+  @Override
+  public boolean canAccept() {
+    return onMatch == FilterReply.ACCEPT || onMismatch == FilterReply.ACCEPT;
   }
 }
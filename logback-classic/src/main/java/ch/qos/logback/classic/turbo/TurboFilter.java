@@ -17,6 +17,7 @@ import org.slf4j.Marker;
 
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.core.spi.ContextAwareBase;
 import ch.qos.logback.core.spi.FilterReply;
 import ch.qos.logback.core.spi.LifeCycle;
@@ -53,8 +54,73 @@ public abstract class TurboFilter extends ContextAwareBase implements LifeCycle
   public abstract FilterReply decide(Marker marker, Logger logger,
       Level level, String format, Object[] params, Throwable t);
 
+  /**
+   * Variant of {@link #decide(Marker, Logger, Level, String, Object[], Throwable)}
+   * for logging requests with a single parameter, invoked without wrapping the
+   * parameter in an array. The default implementation builds the array, unless
+   * {@link #usesParameters()} returns false, and delegates to the general
+   * method. Filters may override it to avoid the array altogether, in which
+   * case usesParameters() should return false.
+   */
+  public FilterReply decide_1(Marker marker, Logger logger, Level level,
+      String format, Object param, Throwable t) {
+    Object[] params = usesParameters() ? new Object[] { param } : null;
+    return decide(marker, logger, level, format, params, t);
+  }
+
+  /**
+   * Same as {@link #decide_1(Marker, Logger, Level, String, Object, Throwable)}
+   * for logging requests with two parameters.
+   */
+  public FilterReply decide_2(Marker marker, Logger logger, Level level,
+      String format, Object param1, Object param2, Throwable t) {
+    Object[] params = usesParameters() ? new Object[] { param1, param2 }
+        : null;
+    return decide(marker, logger, level, format, params, t);
+  }
+
+  /**
+   * Whether this filter reads the parameters of single and two parameter
+   * logging requests from the array passed to
+   * {@link #decide(Marker, Logger, Level, String, Object[], Throwable)}. For
+   * such filters, {@link ch.qos.logback.classic.spi.TurboFilterList} builds
+   * the array once per request and shares it among them. Filters which never
+   * read the parameters, or read them by overriding the single and two
+   * parameter variants of decide, should return false, in which case these
+   * variants are invoked instead. True by default.
+   */
+  public boolean usesParameters() {
+    return true;
+  }
+
+  /**
+   * Whether this filter may ever return {@link FilterReply#ACCEPT}. Filters
+   * which cannot accept are unable to enable a logging request below the
+   * effective level of its logger, so that, if none of the filters in the
+   * chain can accept, such requests are discarded without consulting the
+   * chain. Filters which must see every request, such as
+   * {@link ReconfigureOnChangeFilter}, should keep the default, true. The value
+   * is read when the filter is added to the
+   * {@link ch.qos.logback.classic.LoggerContext LoggerContext}, when it is
+   * started and whenever {@link #canAcceptChanged()} is invoked.
+   */
+  public boolean canAccept() {
+    return true;
+  }
+
+  /**
+   * Subclasses must call this method when a change to their configuration may
+   * change the value returned by {@link #canAccept()}.
+   */
+  protected void canAcceptChanged() {
+    if (context instanceof LoggerContext) {
+      ((LoggerContext) context).getTurboFilterList().updateCanAccept();
+    }
+  }
+
   public void start() {
     this.start = true;
+    canAcceptChanged();
   }
   
   public boolean isStarted() {
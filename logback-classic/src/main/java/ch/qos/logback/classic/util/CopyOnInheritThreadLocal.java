@@ -13,28 +13,43 @@
  */
 package ch.qos.logback.classic.util;
 
-import java.util.HashMap;
-
 /**
  * This class extends InheritableThreadLocal so that children threads get a copy
- * of the parent's hashmap.
+ * of the parent's map.
+ * 
+ * <p>
+ * If the copy is lazy, parent and child share the map, which is frozen. The
+ * first one of the two to modify its MDC then works on a copy, see
+ * {@link LogbackMDCAdapter}.
  * 
  * @author Ceki G&uuml;lc&uuml;
  */
 public class CopyOnInheritThreadLocal extends
-    InheritableThreadLocal<HashMap<String, String>> {
+    InheritableThreadLocal<MDCPropertyMap> {
+
+  final boolean lazy;
+
+  public CopyOnInheritThreadLocal() {
+    this(false);
+  }
+
+  public CopyOnInheritThreadLocal(boolean lazy) {
+    this.lazy = lazy;
+  }
 
   /**
-   * Child threads should get a copy of the parent's hashmap.
+   * Child threads should get a copy of the parent's map.
    */
   @Override
-  protected HashMap<String, String> childValue(
-      HashMap<String, String> parentValue) {
+  protected MDCPropertyMap childValue(MDCPropertyMap parentValue) {
     if (parentValue == null) {
       return null;
+    } else if (lazy) {
+      // invoked by the parent thread, which owns the map
+      parentValue.freeze();
+      return parentValue;
     } else {
-      HashMap<String, String> hm = new HashMap<String, String>(parentValue);
-      return hm;
+      return new MDCPropertyMap(parentValue);
     }
   }
 
@@ -16,18 +16,30 @@ package ch.qos.logback.classic.util;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 
 import org.slf4j.spi.MDCAdapter;
 
+import ch.qos.logback.classic.ClassicConstants;
+import ch.qos.logback.core.util.OptionHelper;
+
 /**
  * A <em>Mapped Diagnostic Context</em>, or MDC in short, is an instrument for
  * distinguishing interleaved log output from different sources. Log output is
  * typically interleaved when a server handles multiple clients
  * near-simultaneously.
  * <p>
- * <b><em>The MDC is managed on a per thread basis</em></b>. A child thread
- * automatically inherits a <em>copy</em> of the mapped diagnostic context of
- * its parent.
+ * <b><em>The MDC is managed on a per thread basis</em></b>. By default, a
+ * child thread automatically inherits a <em>copy</em> of the mapped
+ * diagnostic context of its parent. See {@link MDCPropagationMode} for the
+ * alternatives.
+ * <p>
+ * 
+ * The map of a thread is frozen, and later replaced instead of modified,
+ * once it is visible to logging events, see {@link MDCPropertyMap}. Writes
+ * following each other without such a read in between modify the map in
+ * place, so that a series of puts, e.g. by a servlet filter, copies the map
+ * at most once.
  * <p>
  * 
  * For more information about MDC, please refer to the online manual at
@@ -37,12 +49,34 @@ import org.slf4j.spi.MDCAdapter;
  */
 public class LogbackMDCAdapter implements MDCAdapter {
 
-  // final CopyOnInheritThreadLocal copyOnInheritThreadLocal = new
-  // CopyOnInheritThreadLocal();
-
-  final CopyOnInheritThreadLocal copyOnInheritThreadLocal = new CopyOnInheritThreadLocal();
+  final MDCPropagationMode propagationMode;
+  final ThreadLocal<MDCPropertyMap> mdcThreadLocal;
 
+  /**
+   * Create an adapter propagating the MDC as specified by the
+   * <code>logback.mdc.propagation</code> system property.
+   */
   public LogbackMDCAdapter() {
+    this(MDCPropagationMode.toMode(OptionHelper
+        .getSystemProperty(ClassicConstants.LOGBACK_MDC_PROPAGATION)));
+  }
+
+  public LogbackMDCAdapter(MDCPropagationMode propagationMode) {
+    this.propagationMode = propagationMode;
+    switch (propagationMode) {
+    case NONE:
+      mdcThreadLocal = new ThreadLocal<MDCPropertyMap>();
+      break;
+    case LAZY:
+      mdcThreadLocal = new CopyOnInheritThreadLocal(true);
+      break;
+    default:
+      mdcThreadLocal = new CopyOnInheritThreadLocal();
+    }
+  }
+
+  public MDCPropagationMode getPropagationMode() {
+    return propagationMode;
   }
 
   /**
@@ -55,8 +89,9 @@ public class LogbackMDCAdapter implements MDCAdapter {
    * effect of this call.
    * 
    * <p>
-   * Each time a value is added, a new instance of the map is created. This is
-   * to be certain that the serialization process will operate on the updated
+   * If the map has been handed out, typically to a logging event, since the
+   * previous modification, a new instance of the map is created. This is to
+   * be certain that the serialization process will operate on the updated
    * map and not send a reference to the old map, thus not allowing the remote
    * logback component to see the latest changes.
    * 
@@ -67,16 +102,7 @@ public class LogbackMDCAdapter implements MDCAdapter {
     if (key == null) {
       throw new IllegalArgumentException("key cannot be null");
     }
-
-    HashMap<String, String> oldMap = copyOnInheritThreadLocal.get();
-
-    HashMap<String, String> newMap = new HashMap<String, String>();
-    if (oldMap != null) {
-      newMap.putAll(oldMap);
-    }
-    // the newMap replaces the old one for serialisation's sake
-    copyOnInheritThreadLocal.set(newMap);
-    newMap.put(key, val);
+    getWritableMap(mdcThreadLocal.get()).put(key, val);
   }
 
   /**
@@ -86,10 +112,10 @@ public class LogbackMDCAdapter implements MDCAdapter {
    * This method has no side effects.
    */
   public String get(String key) {
-    HashMap<String, String> hashMap = copyOnInheritThreadLocal.get();
+    MDCPropertyMap map = mdcThreadLocal.get();
 
-    if ((hashMap != null) && (key != null)) {
-      return hashMap.get(key);
+    if ((map != null) && (key != null)) {
+      return map.get(key);
     } else {
       return null;
     }
@@ -99,44 +125,53 @@ public class LogbackMDCAdapter implements MDCAdapter {
    * Remove the the context identified by the <code>key</code> parameter.
    * 
    * <p>
-   * Each time a value is removed, a new instance of the map is created. This is
-   * to be certain that the serialization process will operate on the updated
-   * map and not send a reference to the old map, thus not allowing the remote
-   * logback component to see the latest changes.
+   * As with {@link #put(String, String)}, a new instance of the map is
+   * created if the map has been handed out since the previous modification.
+   * This is to be certain that the serialization process will operate on the
+   * updated map and not send a reference to the old map, thus not allowing
+   * the remote logback component to see the latest changes.
    */
   public void remove(String key) {
-    if(key == null) {
+    if (key == null) {
+      return;
+    }
+    MDCPropertyMap oldMap = mdcThreadLocal.get();
+    if (oldMap == null || !oldMap.containsKey(key)) {
       return;
     }
-    HashMap<String, String> oldMap = copyOnInheritThreadLocal.get();
+    getWritableMap(oldMap).remove(key);
+  }
 
-    HashMap<String, String> newMap = new HashMap<String, String>();
-    if (oldMap != null) {
-      newMap.putAll(oldMap);
+  /**
+   * Returns the map passed as parameter if it can be modified, or a copy of
+   * it which replaces it as the map of the current thread.
+   */
+  private MDCPropertyMap getWritableMap(MDCPropertyMap map) {
+    if (map != null && !map.isFrozen()) {
+      return map;
     }
+    MDCPropertyMap newMap = (map == null) ? new MDCPropertyMap()
+        : new MDCPropertyMap(map);
     // the newMap replaces the old one for serialisation's sake
-    copyOnInheritThreadLocal.set(newMap);
-    newMap.remove(key);
+    mdcThreadLocal.set(newMap);
+    return newMap;
   }
 
   /**
    * Clear all entries in the MDC.
    */
   public void clear() {
-    HashMap<String, String> hashMap = copyOnInheritThreadLocal.get();
-
-    if (hashMap != null) {
-      hashMap.clear();
-      copyOnInheritThreadLocal.remove();
-    }
+    // the map may be referenced by logging events and is left untouched
+    mdcThreadLocal.remove();
   }
 
   /**
    * Get the current thread's MDC as a map. This method is intended to be used
-   * internally.
+   * internally. The returned map is frozen and thus not modified by subsequent
+   * changes to the MDC.
    */
   public Map<String, String> getPropertyMap() {
-    return copyOnInheritThreadLocal.get();
+    return snapshot();
   }
 
   /**
@@ -144,11 +179,11 @@ public class LogbackMDCAdapter implements MDCAdapter {
    * null.
    */
   public Map getCopyOfContextMap() {
-    HashMap<String, String> hashMap = copyOnInheritThreadLocal.get();
-    if (hashMap == null) {
+    MDCPropertyMap map = mdcThreadLocal.get();
+    if (map == null) {
       return null;
     } else {
-      return new HashMap<String, String>(hashMap);
+      return new HashMap<String, String>(map);
     }
   }
 
@@ -157,29 +192,80 @@ public class LogbackMDCAdapter implements MDCAdapter {
    * null.
    */
   public Set<String> getKeys() {
-    HashMap<String, String> hashMap = copyOnInheritThreadLocal.get();
+    Map<String, String> map = getPropertyMap();
 
-    if (hashMap != null) {
-      return hashMap.keySet();
+    if (map != null) {
+      return map.keySet();
     } else {
       return null;
     }
   }
 
-  @SuppressWarnings("unchecked")
-  public void setContextMap(Map contextMap) {
-    HashMap<String, String> oldMap = copyOnInheritThreadLocal.get();
+  /**
+   * Returns a task running <code>runnable</code> with the MDC of the current
+   * thread, that is the thread calling this method, typically when submitting
+   * the task to an executor. The MDC of the thread running the task is
+   * restored once the task completes. Capturing the MDC does not copy it.
+   */
+  public Runnable wrap(final Runnable runnable) {
+    final MDCPropertyMap captured = snapshot();
+    return new Runnable() {
+      public void run() {
+        MDCPropertyMap previous = install(captured);
+        try {
+          runnable.run();
+        } finally {
+          install(previous);
+        }
+      }
+    };
+  }
 
-    HashMap<String, String> newMap = new HashMap<String, String>();
-    newMap.putAll(contextMap);
+  /**
+   * Same as {@link #wrap(Runnable)} for a {@link Callable}.
+   */
+  public <V> Callable<V> wrap(final Callable<V> callable) {
+    final MDCPropertyMap captured = snapshot();
+    return new Callable<V>() {
+      public V call() throws Exception {
+        MDCPropertyMap previous = install(captured);
+        try {
+          return callable.call();
+        } finally {
+          install(previous);
+        }
+      }
+    };
+  }
 
-    // the newMap replaces the old one for serialisation's sake
-    copyOnInheritThreadLocal.set(newMap);
+  private MDCPropertyMap snapshot() {
+    MDCPropertyMap map = mdcThreadLocal.get();
+    if (map != null) {
+      map.freeze();
+    }
+    return map;
+  }
 
-    // hints for the garbage collector
-    if (oldMap != null) {
-      oldMap.clear();
-      oldMap = null;
+  /**
+   * Make <code>map</code> the map of the current thread and return the map it
+   * replaces. A frozen map is copied by the first write, as usual.
+   */
+  private MDCPropertyMap install(MDCPropertyMap map) {
+    MDCPropertyMap previous = mdcThreadLocal.get();
+    if (map == null) {
+      mdcThreadLocal.remove();
+    } else {
+      mdcThreadLocal.set(map);
     }
+    return previous;
+  }
+
+  @SuppressWarnings("unchecked")
+  public void setContextMap(Map contextMap) {
+    MDCPropertyMap newMap = new MDCPropertyMap(contextMap);
+
+    // the newMap replaces the old one for serialisation's sake. The old map
+    // may be referenced by logging events and is left untouched
+    mdcThreadLocal.set(newMap);
   }
 }
@@ -0,0 +1,49 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+/**
+ * Determines how {@link LogbackMDCAdapter} propagates the MDC of a thread to
+ * the threads it creates. The mode is set with the
+ * <code>logback.mdc.propagation</code> system property, COPY being the
+ * default.
+ * 
+ * <p>
+ * COPY gives each child thread a copy of the MDC of its parent at creation
+ * time. LAZY lets the child share the map of its parent, the first one of the
+ * two to modify its MDC making a copy. NONE does not propagate the MDC at all,
+ * which suits executors creating many short-lived threads: thread creation
+ * does not touch the MDC, and pooled threads do not hold on to the stale
+ * context of whichever thread created them. Tasks can then be given the MDC
+ * of their submitter explicitly with {@link LogbackMDCAdapter#wrap(Runnable)}
+ * or {@link LogbackMDCAdapter#wrap(java.util.concurrent.Callable)}.
+ */
+public enum MDCPropagationMode {
+  COPY, LAZY, NONE;
+
+  /**
+   * Returns the mode of the given name, ignoring case, or COPY if the name is
+   * null or does not designate any mode.
+   */
+  public static MDCPropagationMode toMode(String name) {
+    if (name != null) {
+      for (MDCPropagationMode mode : values()) {
+        if (mode.name().equalsIgnoreCase(name.trim())) {
+          return mode;
+        }
+      }
+    }
+    return COPY;
+  }
+}
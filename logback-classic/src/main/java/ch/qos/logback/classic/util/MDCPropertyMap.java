@@ -0,0 +1,478 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * The map holding the MDC of a thread at a given time. Once a map has been
+ * handed to logging events by {@link LogbackMDCAdapter}, it is frozen: any
+ * attempt to modify it throws an {@link UnsupportedOperationException} and
+ * changes to the MDC replace the map of the thread by a new one. Logging
+ * events can thus reference the map instead of copying it, including for
+ * deferred processing.
+ * 
+ * <p>
+ * Entries are kept in two arrays sorted by key, which suits the few entries
+ * an MDC typically holds: lookups are binary searches and copying the map
+ * amounts to copying two small arrays, the keys and values themselves being
+ * shared. Entries are iterated in the order of their keys. Keys may not be
+ * null, values may.
+ * 
+ * <p>
+ * Since the contents of a frozen map never change, renderings of the map,
+ * e.g. the <code>k1=v1, k2=v2</code> form output by <code>%X</code>, are
+ * computed once per map instead of once per event. Renderings are kept in the
+ * map itself and are discarded by the put, putAll, remove and clear methods.
+ * The views of the map are read-only.
+ * 
+ * <p>
+ * Instances are serialized as a {@link HashMap}, as the MDC of logging events
+ * used to be, so that receivers of serialized events need not know this
+ * class.
+ */
+public class MDCPropertyMap extends AbstractMap<String, String> implements
+    Serializable {
+
+  private static final long serialVersionUID = -4209356441364582767L;
+
+  static final int INITIAL_CAPACITY = 4;
+
+  private String[] keys;
+  private String[] values;
+  private int size;
+  private boolean frozen;
+
+  /**
+   * Renders an MDC map as a string. Renderings are cached per renderer
+   * instance, which should therefore be a long-lived object, typically a
+   * constant.
+   */
+  public interface Renderer {
+    String render(Map<String, String> mdcPropertyMap);
+  }
+
+  /**
+   * Renders the map in the <code>k1=v1, k2=v2</code> form.
+   */
+  public static final Renderer DEFAULT_RENDERER = new Renderer() {
+    public String render(Map<String, String> mdcPropertyMap) {
+      StringBuilder buf = new StringBuilder();
+      Iterator<Map.Entry<String, String>> it = mdcPropertyMap.entrySet()
+          .iterator();
+      while (it.hasNext()) {
+        Map.Entry<String, String> entry = it.next();
+        buf.append(entry.getKey()).append('=').append(entry.getValue());
+        if (it.hasNext()) {
+          buf.append(", ");
+        }
+      }
+      return buf.toString();
+    }
+  };
+
+  // renderings are few, a linked list is good enough. Concurrent renderings
+  // of the same map may lose an entry, which is then computed again
+  private transient volatile Rendering renderings;
+  private transient volatile Merge lastMerge;
+
+  private Object writeReplace() {
+    return new HashMap<String, String>(this);
+  }
+
+  public MDCPropertyMap() {
+    keys = new String[INITIAL_CAPACITY];
+    values = new String[INITIAL_CAPACITY];
+  }
+
+  /**
+   * Create a modifiable map with the entries of the map passed as parameter.
+   * Copying another MDCPropertyMap, frozen or not, is particularly cheap.
+   */
+  public MDCPropertyMap(Map<String, String> map) {
+    if (map instanceof MDCPropertyMap) {
+      MDCPropertyMap other = (MDCPropertyMap) map;
+      int capacity = Math.max(other.size + 1, INITIAL_CAPACITY);
+      keys = new String[capacity];
+      values = new String[capacity];
+      System.arraycopy(other.keys, 0, keys, 0, other.size);
+      System.arraycopy(other.values, 0, values, 0, other.size);
+      size = other.size;
+    } else {
+      keys = new String[INITIAL_CAPACITY];
+      values = new String[INITIAL_CAPACITY];
+      putAll(map);
+    }
+  }
+
+  /**
+   * Render the map passed as parameter, reusing the rendering cached in the
+   * map if it is an MDCPropertyMap.
+   */
+  public static String render(Map<String, String> map, Renderer renderer) {
+    if (map instanceof MDCPropertyMap) {
+      return ((MDCPropertyMap) map).getRendering(renderer);
+    }
+    return renderer.render(map);
+  }
+
+  public String getRendering(Renderer renderer) {
+    Rendering head = renderings;
+    for (Rendering r = head; r != null; r = r.next) {
+      if (r.renderer == renderer) {
+        return r.value;
+      }
+    }
+    String value = renderer.render(this);
+    renderings = new Rendering(renderer, value, head);
+    return value;
+  }
+
+  /**
+   * Returns a map containing the entries of <code>base</code> and the
+   * entries of this map, the latter taking precedence. The result is cached
+   * as long as the same base map is passed and must not be modified.
+   */
+  public Map<String, String> mergedWith(Map<String, String> base) {
+    Merge merge = lastMerge;
+    if (merge != null && merge.base == base) {
+      return merge.result;
+    }
+    Map<String, String> result = new HashMap<String, String>();
+    if (base != null) {
+      result.putAll(base);
+    }
+    result.putAll(this);
+    result = Collections.unmodifiableMap(result);
+    lastMerge = new Merge(base, result);
+    return result;
+  }
+
+  /**
+   * Prevent any further modification of this map. Invoked before the map is
+   * handed out, e.g. to logging events.
+   */
+  public void freeze() {
+    frozen = true;
+  }
+
+  public boolean isFrozen() {
+    return frozen;
+  }
+
+  private void beforeModification() {
+    if (frozen) {
+      throw new UnsupportedOperationException(
+          "MDCPropertyMap instances cannot be modified once frozen");
+    }
+    renderings = null;
+    lastMerge = null;
+  }
+
+  // binary search on the keys, see Arrays.binarySearch
+  private int indexOf(Object key) {
+    int low = 0;
+    int high = size - 1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      int cmp = keys[mid].compareTo((String) key);
+      if (cmp < 0) {
+        low = mid + 1;
+      } else if (cmp > 0) {
+        high = mid - 1;
+      } else {
+        return mid;
+      }
+    }
+    return -(low + 1);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    return (key instanceof String) && indexOf(key) >= 0;
+  }
+
+  @Override
+  public String get(Object key) {
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = indexOf(key);
+    return (index >= 0) ? values[index] : null;
+  }
+
+  @Override
+  public String put(String key, String value) {
+    if (key == null) {
+      throw new IllegalArgumentException("key cannot be null");
+    }
+    beforeModification();
+    int index = indexOf(key);
+    if (index >= 0) {
+      String old = values[index];
+      values[index] = value;
+      return old;
+    }
+    index = -(index + 1);
+    if (size == keys.length) {
+      int capacity = size * 2;
+      String[] newKeys = new String[capacity];
+      String[] newValues = new String[capacity];
+      System.arraycopy(keys, 0, newKeys, 0, size);
+      System.arraycopy(values, 0, newValues, 0, size);
+      keys = newKeys;
+      values = newValues;
+    }
+    System.arraycopy(keys, index, keys, index + 1, size - index);
+    System.arraycopy(values, index, values, index + 1, size - index);
+    keys[index] = key;
+    values[index] = value;
+    size++;
+    return null;
+  }
+
+  /**
+   * The entries of the map passed as parameter are sorted once and merged
+   * with the entries of this map, instead of being inserted one by one, which
+   * would take quadratic time for large maps.
+   */
+  @Override
+  public void putAll(Map<? extends String, ? extends String> m) {
+    String[] addedKeys;
+    String[] addedValues;
+    int addedSize;
+    if (m instanceof MDCPropertyMap) {
+      MDCPropertyMap other = (MDCPropertyMap) m;
+      addedSize = other.size;
+      addedKeys = new String[addedSize];
+      addedValues = new String[addedSize];
+      System.arraycopy(other.keys, 0, addedKeys, 0, addedSize);
+      System.arraycopy(other.values, 0, addedValues, 0, addedSize);
+    } else {
+      List<Map.Entry<? extends String, ? extends String>> entries = new ArrayList<Map.Entry<? extends String, ? extends String>>(
+          m.entrySet());
+      addedSize = entries.size();
+      for (int i = 0; i < addedSize; i++) {
+        if (entries.get(i).getKey() == null) {
+          throw new IllegalArgumentException("key cannot be null");
+        }
+      }
+      Collections.sort(entries, KEY_ORDER);
+      addedKeys = new String[addedSize];
+      addedValues = new String[addedSize];
+      for (int i = 0; i < addedSize; i++) {
+        Map.Entry<? extends String, ? extends String> entry = entries.get(i);
+        addedKeys[i] = entry.getKey();
+        addedValues[i] = entry.getValue();
+      }
+    }
+    if (addedSize == 0) {
+      return;
+    }
+    beforeModification();
+    merge(addedKeys, addedValues, addedSize);
+  }
+
+  // merges sorted entries into this map, the added values taking precedence
+  private void merge(String[] addedKeys, String[] addedValues, int addedSize) {
+    int capacity = Math.max(size + addedSize, INITIAL_CAPACITY);
+    String[] newKeys = new String[capacity];
+    String[] newValues = new String[capacity];
+    int i = 0;
+    int j = 0;
+    int k = 0;
+    while (i < size && j < addedSize) {
+      int cmp = keys[i].compareTo(addedKeys[j]);
+      if (cmp < 0) {
+        newKeys[k] = keys[i];
+        newValues[k++] = values[i++];
+      } else {
+        if (cmp == 0) {
+          i++;
+        }
+        newKeys[k] = addedKeys[j];
+        newValues[k++] = addedValues[j++];
+      }
+    }
+    System.arraycopy(keys, i, newKeys, k, size - i);
+    System.arraycopy(values, i, newValues, k, size - i);
+    k += size - i;
+    System.arraycopy(addedKeys, j, newKeys, k, addedSize - j);
+    System.arraycopy(addedValues, j, newValues, k, addedSize - j);
+    k += addedSize - j;
+    keys = newKeys;
+    values = newValues;
+    size = k;
+  }
+
+  private static final Comparator<Map.Entry<? extends String, ? extends String>> KEY_ORDER = new Comparator<Map.Entry<? extends String, ? extends String>>() {
+    public int compare(Map.Entry<? extends String, ? extends String> e1,
+        Map.Entry<? extends String, ? extends String> e2) {
+      return e1.getKey().compareTo(e2.getKey());
+    }
+  };
+
+  @Override
+  public String remove(Object key) {
+    beforeModification();
+    if (!(key instanceof String)) {
+      return null;
+    }
+    int index = indexOf(key);
+    if (index < 0) {
+      return null;
+    }
+    String old = values[index];
+    int tail = size - index - 1;
+    System.arraycopy(keys, index + 1, keys, index, tail);
+    System.arraycopy(values, index + 1, values, index, tail);
+    size--;
+    keys[size] = null;
+    values[size] = null;
+    return old;
+  }
+
+  @Override
+  public void clear() {
+    beforeModification();
+    for (int i = 0; i < size; i++) {
+      keys[i] = null;
+      values[i] = null;
+    }
+    size = 0;
+  }
+
+  @Override
+  public Set<Map.Entry<String, String>> entrySet() {
+    return new AbstractSet<Map.Entry<String, String>>() {
+      @Override
+      public Iterator<Map.Entry<String, String>> iterator() {
+        return new EntryIterator();
+      }
+
+      @Override
+      public int size() {
+        return size;
+      }
+    };
+  }
+
+  private final class EntryIterator implements
+      Iterator<Map.Entry<String, String>> {
+    int index;
+
+    public boolean hasNext() {
+      return index < size;
+    }
+
+    public Map.Entry<String, String> next() {
+      if (index >= size) {
+        throw new NoSuchElementException();
+      }
+      Map.Entry<String, String> entry = new Entry(keys[index], values[index]);
+      index++;
+      return entry;
+    }
+
+    public void remove() {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static final class Entry implements Map.Entry<String, String> {
+    final String key;
+    final String value;
+
+    Entry(String key, String value) {
+      this.key = key;
+      this.value = value;
+    }
+
+    public String getKey() {
+      return key;
+    }
+
+    public String getValue() {
+      return value;
+    }
+
+    public String setValue(String value) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (!(obj instanceof Map.Entry)) {
+        return false;
+      }
+      Map.Entry<?, ?> e = (Map.Entry<?, ?>) obj;
+      return key.equals(e.getKey())
+          && (value == null ? e.getValue() == null : value.equals(e
+              .getValue()));
+    }
+
+    @Override
+    public int hashCode() {
+      return key.hashCode() ^ (value == null ? 0 : value.hashCode());
+    }
+
+    @Override
+    public String toString() {
+      return key + "=" + value;
+    }
+  }
+
+  private static final class Rendering {
+    final Renderer renderer;
+    final String value;
+    final Rendering next;
+
+    Rendering(Renderer renderer, String value, Rendering next) {
+      this.renderer = renderer;
+      this.value = value;
+      this.next = next;
+    }
+  }
+
+  private static final class Merge {
+    final Map<String, String> base;
+    final Map<String, String> result;
+
+    Merge(Map<String, String> base, Map<String, String> result) {
+      this.base = base;
+      this.result = result;
+    }
+  }
+}
@@ -0,0 +1,101 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+public class AsyncAppenderTest {
+
+  LoggerContext lc = new LoggerContext();
+  Logger logger = lc.getLogger(AsyncAppenderTest.class);
+  AsyncAppender asyncAppender = new AsyncAppender();
+  ListAppender<ILoggingEvent> listAppender = new ListAppender<ILoggingEvent>();
+
+  @Before
+  public void setUp() {
+    listAppender.setContext(lc);
+    listAppender.setName("list");
+    listAppender.start();
+    asyncAppender.setContext(lc);
+    asyncAppender.addAppender(listAppender);
+  }
+
+  @Test(timeout = 2000)
+  public void eventsArePreparedOnTheCallingThread() {
+    asyncAppender.setIncludeCallerData(true);
+    asyncAppender.start();
+    logger.addAppender(asyncAppender);
+    logger.info("hello {}", "world");
+    asyncAppender.stop();
+
+    assertFalse(listAppender.isStarted());
+    assertEquals(1, listAppender.list.size());
+    ILoggingEvent e = listAppender.list.get(0);
+    assertEquals("hello world", e.getFormattedMessage());
+    assertEquals(Thread.currentThread().getName(), e.getThreadName());
+    assertTrue(e.hasCallerData());
+    assertEquals(AsyncAppenderTest.class.getName(), e.getCallerData()[0]
+        .getClassName());
+  }
+
+  @Test(timeout = 2000)
+  public void onlyLevelsUpToInfoAreDiscardable() {
+    // a threshold above the queue size makes discardable events always dropped
+    asyncAppender.setQueueSize(4);
+    asyncAppender.setDiscardingThreshold(5);
+    asyncAppender.start();
+    logger.addAppender(asyncAppender);
+    logger.setLevel(Level.TRACE);
+    logger.trace("t");
+    logger.debug("d");
+    logger.info("i");
+    logger.warn("w");
+    logger.error("e");
+    asyncAppender.stop();
+
+    assertEquals(2, listAppender.list.size());
+    assertEquals(Level.WARN, listAppender.list.get(0).getLevel());
+    assertEquals(Level.ERROR, listAppender.list.get(1).getLevel());
+  }
+
+  @Test(timeout = 2000)
+  public void recycledEventsAreCopied() {
+    lc.setGarbageFree(true);
+    asyncAppender.setIncludeCallerData(true);
+    asyncAppender.start();
+    logger.addAppender(asyncAppender);
+    logger.info("hello {}", "world");
+    logger.warn("hello {} {}", "big", "world");
+    asyncAppender.stop();
+
+    assertEquals(2, listAppender.list.size());
+    ILoggingEvent e0 = listAppender.list.get(0);
+    ILoggingEvent e1 = listAppender.list.get(1);
+    assertEquals(Level.INFO, e0.getLevel());
+    assertEquals("hello world", e0.getFormattedMessage());
+    assertEquals("world", e0.getArgumentArray()[0]);
+    assertEquals(Level.WARN, e1.getLevel());
+    assertEquals("hello big world", e1.getFormattedMessage());
+    assertEquals(logger.getName(), e1.getLoggerName());
+    assertTrue(e1.hasCallerData());
+  }
+}
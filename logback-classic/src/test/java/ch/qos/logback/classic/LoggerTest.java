@@ -224,4 +224,60 @@ public class LoggerTest {
     assertEquals(root.getEffectiveLevel(), child.getEffectiveLevel());
   }
 
+  @Test
+  public void appenderAttachedAtSeveralLevelsIsCalledOnce() {
+    listAppender.start();
+    root.addAppender(listAppender);
+    loggerTest.addAppender(listAppender);
+    loggerTest.debug("hello");
+    assertEquals(1, listAppender.list.size());
+  }
+
+  @Test
+  public void appenderChainFollowsChangesInAncestry() {
+    listAppender.start();
+    Logger child = lc.getLogger(loggerTest.getName() + ".child");
+    child.debug("x");
+    assertEquals(0, listAppender.list.size());
+
+    root.addAppender(listAppender);
+    child.debug("x");
+    assertEquals(1, listAppender.list.size());
+
+    loggerTest.setAdditive(false);
+    child.debug("x");
+    assertEquals(1, listAppender.list.size());
+
+    loggerTest.addAppender(listAppender);
+    child.debug("x");
+    assertEquals(2, listAppender.list.size());
+
+    loggerTest.detachAppender(listAppender);
+    child.debug("x");
+    assertEquals(2, listAppender.list.size());
+
+    loggerTest.setAdditive(true);
+    child.debug("x");
+    assertEquals(3, listAppender.list.size());
+
+    lc.reset();
+    child.debug("x");
+    assertEquals(3, listAppender.list.size());
+  }
+
+  @Test
+  public void eventsAreNotRecycledForAppendersRetainingThem() {
+    lc.setGarbageFree(true);
+    listAppender.setContext(lc);
+    listAppender.start();
+    root.addAppender(listAppender);
+    loggerTest.info("a");
+    loggerTest.info("{}", "b");
+    loggerTest.info("{} {}", "c", "d");
+    assertEquals(3, listAppender.list.size());
+    assertEquals("a", listAppender.list.get(0).getFormattedMessage());
+    assertEquals("b", listAppender.list.get(1).getFormattedMessage());
+    assertEquals("c d", listAppender.list.get(2).getFormattedMessage());
+  }
+
 }
@@ -19,6 +19,7 @@ import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
 @SuiteClasses( { LoggerContextTest.class, LoggerPerfTest.class,
+    AsyncAppenderTest.class,
     ScenarioBasedLoggerContextTest.class, PatternLayoutTest.class,
     LoggerTest.class, LoggerSerializationTest.class,
     MessageFormattingTest.class, MDCTest.class,
@@ -16,14 +16,20 @@ package ch.qos.logback.classic;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.util.Arrays;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.slf4j.Marker;
 import org.slf4j.MarkerFactory;
 
+import ch.qos.logback.classic.turbo.DynamicThresholdFilter;
 import ch.qos.logback.classic.turbo.MarkerFilter;
+import ch.qos.logback.classic.turbo.ReconfigureOnChangeFilter;
 import ch.qos.logback.classic.turbo.TurboFilter;
 import ch.qos.logback.core.spi.FilterReply;
 
@@ -164,6 +170,245 @@ public class TurboFilteringInLoggerTest  {
     assertEquals(0, context.getTurboFilterList().size());
   }
 
+  @Test
+  public void parametersAreWrappedForFiltersUsingThem() {
+    ParamRecordingFilter filter = new ParamRecordingFilter(true);
+    context.addTurboFilter(filter);
+    logger.debug("{}", "a");
+    assertTrue(Arrays.equals(new Object[] { "a" }, filter.lastParams));
+    logger.debug("{} {}", "a", "b");
+    assertTrue(Arrays.equals(new Object[] { "a", "b" }, filter.lastParams));
+    logger.debug("{} {} {}", new Object[] { "a", "b", "c" });
+    assertEquals(3, filter.lastParams.length);
+    assertEquals(3, filter.count);
+  }
+
+  @Test
+  public void parametersAreNotWrappedForOtherFilters() {
+    ParamRecordingFilter filter = new ParamRecordingFilter(false);
+    // two filters so as to exercise the loop over the chain
+    context.addTurboFilter(new ParamRecordingFilter(false));
+    context.addTurboFilter(filter);
+    logger.debug("{}", "a");
+    assertNull(filter.lastParams);
+    logger.debug("{} {}", "a", "b");
+    assertNull(filter.lastParams);
+    assertEquals(2, filter.count);
+  }
+
+  @Test
+  public void parametersAreWrappedOncePerRequest() {
+    ParamRecordingFilter filter0 = new ParamRecordingFilter(true);
+    ParamRecordingFilter filter1 = new ParamRecordingFilter(true);
+    context.addTurboFilter(new ParamRecordingFilter(false));
+    context.addTurboFilter(filter0);
+    context.addTurboFilter(filter1);
+    logger.debug("{}", "a");
+    assertEquals(1, filter1.lastParams.length);
+    assertSame(filter0.lastParams, filter1.lastParams);
+    logger.debug("{} {}", "a", "b");
+    assertEquals(2, filter1.lastParams.length);
+    assertSame(filter0.lastParams, filter1.lastParams);
+  }
+
+  @Test
+  public void arityVariantsCanBeOverridden() {
+    context.addTurboFilter(new TurboFilter() {
+      @Override
+      public FilterReply decide(Marker marker, Logger logger, Level level,
+          String format, Object[] params, Throwable t) {
+        return FilterReply.NEUTRAL;
+      }
+
+      @Override
+      public FilterReply decide_1(Marker marker, Logger logger, Level level,
+          String format, Object param, Throwable t) {
+        return "yes".equals(param) ? FilterReply.ACCEPT : FilterReply.DENY;
+      }
+
+      @Override
+      public boolean usesParameters() {
+        return false;
+      }
+    });
+    logger.setLevel(Level.ERROR);
+    assertTrue(context.getTurboFilterChainDecision_1(null, logger,
+        Level.DEBUG, "{}", "yes", null) == FilterReply.ACCEPT);
+    assertTrue(context.getTurboFilterChainDecision_1(null, logger,
+        Level.DEBUG, "{}", "no", null) == FilterReply.DENY);
+    assertTrue(context.getTurboFilterChainDecision_2(null, logger,
+        Level.DEBUG, "{}", "yes", "no", null) == FilterReply.NEUTRAL);
+  }
+
+  @Test
+  public void disabledRequestsSkipChainIfNoFilterCanAccept() {
+    addDenyBLUEFilter();
+    CountingFilter filter = new CountingFilter(false);
+    context.addTurboFilter(filter);
+    logger.setLevel(Level.INFO);
+    logger.debug("x");
+    logger.debug("{}", "a");
+    logger.debug("{} {}", "a", "b");
+    logger.debug("{} {} {}", new Object[] { "a", "b", "c" });
+    assertFalse(logger.isDebugEnabled());
+    assertFalse(logger.isEnabledFor(Level.TRACE));
+    assertEquals(0, filter.count);
+
+    logger.info("x");
+    assertTrue(logger.isInfoEnabled());
+    assertEquals(2, filter.count);
+  }
+
+  @Test
+  public void disabledRequestsGoThroughChainIfAFilterCanAccept() {
+    addDenyBLUEFilter();
+    CountingFilter filter = new CountingFilter(true);
+    context.addTurboFilter(filter);
+    logger.setLevel(Level.INFO);
+    logger.debug("x");
+    logger.debug("{}", "a");
+    logger.debug("{} {}", "a", "b");
+    assertFalse(logger.isDebugEnabled());
+    assertEquals(4, filter.count);
+  }
+
+  @Test
+  public void resetForgetsFiltersWhichCanAccept() {
+    addYesFilter();
+    context.reset();
+    CountingFilter filter = new CountingFilter(false);
+    context.addTurboFilter(filter);
+    logger.setLevel(Level.INFO);
+    logger.debug("x");
+    assertEquals(0, filter.count);
+  }
+
+  @Test
+  public void matchingFilterCanAcceptOnlyIfConfiguredTo() {
+    MarkerFilter filter = new MarkerFilter();
+    assertFalse(filter.canAccept());
+    filter.setOnMismatch("DENY");
+    assertFalse(filter.canAccept());
+    filter.setOnMatch("ACCEPT");
+    assertTrue(filter.canAccept());
+    assertTrue(new YesFilter().canAccept());
+  }
+
+  @Test
+  public void reconfigureOnChangeFilterSeesDisabledRequests() {
+    assertTrue(new ReconfigureOnChangeFilter().canAccept());
+  }
+
+  @Test
+  public void filtersAddedThroughTheListAreTakenIntoAccount() {
+    YesFilter filter = new YesFilter();
+    filter.start();
+    context.getTurboFilterList().add(filter);
+    logger.setLevel(Level.INFO);
+    assertTrue(logger.isDebugEnabled());
+
+    context.getTurboFilterList().remove(filter);
+    CountingFilter countingFilter = new CountingFilter(false);
+    context.getTurboFilterList().add(countingFilter);
+    assertFalse(logger.isDebugEnabled());
+    assertEquals(0, countingFilter.count);
+  }
+
+  @Test
+  public void filtersConfiguredAfterBeingAddedAreTakenIntoAccount() {
+    MarkerFilter filter = new MarkerFilter();
+    filter.setContext(context);
+    context.addTurboFilter(filter);
+    filter.setMarker(BLUE);
+    filter.setOnMatch("ACCEPT");
+    filter.start();
+    logger.setLevel(Level.ERROR);
+    assertTrue(logger.isDebugEnabled(blueMarker));
+  }
+
+  @Test
+  public void runningMatchingFilterCanBeReconfigured() {
+    MarkerFilter filter = new MarkerFilter();
+    filter.setContext(context);
+    filter.setMarker(BLUE);
+    filter.start();
+    context.addTurboFilter(filter);
+    logger.setLevel(Level.ERROR);
+    assertFalse(logger.isDebugEnabled(blueMarker));
+
+    filter.setOnMatch("ACCEPT");
+    assertTrue(logger.isDebugEnabled(blueMarker));
+
+    filter.setOnMatch("NEUTRAL");
+    assertFalse(context.canTurboFilterChainAccept());
+    assertFalse(logger.isDebugEnabled(blueMarker));
+
+    filter.setOnMismatch("ACCEPT");
+    assertTrue(logger.isDebugEnabled());
+  }
+
+  @Test
+  public void runningDynamicThresholdFilterCanBeReconfigured() {
+    DynamicThresholdFilter filter = new DynamicThresholdFilter();
+    filter.setContext(context);
+    filter.setKey("userId");
+    filter.setDefaultThreshold(Level.DEBUG);
+    filter.start();
+    context.addTurboFilter(filter);
+    logger.setLevel(Level.ERROR);
+    assertFalse(logger.isDebugEnabled());
+
+    filter.setOnHigherOrEqual(FilterReply.ACCEPT);
+    assertTrue(logger.isDebugEnabled());
+
+    filter.setOnHigherOrEqual(FilterReply.NEUTRAL);
+    assertFalse(logger.isDebugEnabled());
+  }
+
+}
+
+class ParamRecordingFilter extends TurboFilter {
+  final boolean usesParameters;
+  Object[] lastParams;
+  int count;
+
+  ParamRecordingFilter(boolean usesParameters) {
+    this.usesParameters = usesParameters;
+  }
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level,
+      String format, Object[] params, Throwable t) {
+    lastParams = params;
+    count++;
+    return FilterReply.NEUTRAL;
+  }
+
+  @Override
+  public boolean usesParameters() {
+    return usesParameters;
+  }
+}
+
+class CountingFilter extends TurboFilter {
+  final boolean canAccept;
+  int count;
+
+  CountingFilter(boolean canAccept) {
+    this.canAccept = canAccept;
+  }
+
+  @Override
+  public FilterReply decide(Marker marker, Logger logger, Level level,
+      String format, Object[] params, Throwable t) {
+    count++;
+    return FilterReply.NEUTRAL;
+  }
+
+  @Override
+  public boolean canAccept() {
+    return canAccept;
+  }
 }
 
 class YesFilter extends TurboFilter {
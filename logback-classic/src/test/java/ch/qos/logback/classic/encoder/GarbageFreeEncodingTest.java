@@ -0,0 +1,134 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.encoder;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Method;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import ch.qos.logback.core.util.CoreTestConstants;
+import ch.qos.logback.core.util.StatusPrinter;
+
+/**
+ * Checks that, once warmed up, logging calls with zero, one or two arguments
+ * allocate no memory when a FileAppender with a PatternLayoutEncoder is used
+ * in garbage-free mode.
+ */
+public class GarbageFreeEncodingTest {
+
+  static final int WARM_UP = 50 * 1000;
+  static final int LOOP_LEN = 10 * 1000;
+  // each iteration of the loop logs this many events
+  static final int EVENTS_PER_ITERATION = 3;
+
+  LoggerContext lc = new LoggerContext();
+  Logger logger = lc.getLogger(GarbageFreeEncodingTest.class);
+  FileAppender<ILoggingEvent> fa = new FileAppender<ILoggingEvent>();
+  PatternLayoutEncoder ple = new PatternLayoutEncoder();
+  String fileName = CoreTestConstants.OUTPUT_DIR_PREFIX + "garbageFree-"
+      + System.nanoTime() + ".log";
+
+  @Before
+  public void setUp() {
+    lc.setGarbageFree(true);
+    ple.setContext(lc);
+    ple.setPattern("%level %logger - %msg%n");
+    ple.start();
+    fa.setContext(lc);
+    fa.setEncoder(ple);
+    fa.setAppend(false);
+    fa.setFile(fileName);
+    fa.start();
+    logger.setAdditive(false);
+    logger.addAppender(fa);
+  }
+
+  @After
+  public void tearDown() {
+    fa.stop();
+  }
+
+  @Test
+  public void eventsAreWritten() throws IOException {
+    logger.info("hello {}", "world");
+    logger.warn("hello {} {}", "big", "world");
+    logger.info("{} \\{} {}", 1, new int[] { 2 });
+    fa.stop();
+    BufferedReader in = new BufferedReader(new FileReader(fileName));
+    try {
+      String prefix = logger.getName() + " - ";
+      assertEquals("INFO " + prefix + "hello world", in.readLine());
+      assertEquals("WARN " + prefix + "hello big world", in.readLine());
+      assertEquals("INFO " + prefix + "1 {} [2]", in.readLine());
+    } finally {
+      in.close();
+    }
+  }
+
+  @Test
+  public void allocationPerEvent() throws Exception {
+    Method getThreadAllocatedBytes = getThreadAllocatedBytesMethod();
+    if (getThreadAllocatedBytes == null) {
+      // not supported by this JVM
+      return;
+    }
+    ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+    long threadId = Thread.currentThread().getId();
+
+    loop(WARM_UP);
+    long before = (Long) getThreadAllocatedBytes.invoke(threadMXBean, threadId);
+    loop(LOOP_LEN);
+    long after = (Long) getThreadAllocatedBytes.invoke(threadMXBean, threadId);
+
+    long bytesPerEvent = (after - before) / (LOOP_LEN * EVENTS_PER_ITERATION);
+    StatusPrinter.printInCaseOfErrorsOrWarnings(lc);
+    assertEquals("allocated " + (after - before) + " bytes for "
+        + (LOOP_LEN * EVENTS_PER_ITERATION) + " events", 0, bytesPerEvent);
+  }
+
+  // String and Integer arguments are appended to the layout buffer without
+  // being converted to strings first
+  void loop(int len) {
+    for (int i = 0; i < len; i++) {
+      logger.info("constant message");
+      logger.info("hello {}", "world");
+      logger.info("order {} processed in {} ms", "A-1234", 17);
+    }
+  }
+
+  Method getThreadAllocatedBytesMethod() {
+    try {
+      Class<?> clazz = Class.forName("com.sun.management.ThreadMXBean");
+      if (!clazz.isInstance(ManagementFactory.getThreadMXBean())) {
+        return null;
+      }
+      return clazz.getMethod("getThreadAllocatedBytes", long.class);
+    } catch (Exception e) {
+      return null;
+    }
+  }
+}
@@ -0,0 +1,132 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.encoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.MDCPropertyMap;
+
+public class JsonEncoderTest {
+
+  LoggerContext context = new LoggerContext();
+  Logger logger = context.getLogger("a.b.C");
+  JsonEncoder encoder = new JsonEncoder();
+  ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+  @Before
+  public void setUp() throws IOException {
+    MDC.clear();
+    encoder.setContext(context);
+    encoder.start();
+    encoder.init(baos);
+  }
+
+  LoggingEvent makeLoggingEvent(String message, Throwable t, Object... args) {
+    LoggingEvent event = new LoggingEvent("", logger, Level.INFO, message, t,
+        args);
+    event.setTimeStamp(1234);
+    event.setThreadName("main");
+    return event;
+  }
+
+  @After
+  public void tearDown() {
+    MDC.clear();
+  }
+
+  String encode(LoggingEvent event) throws IOException {
+    baos.reset();
+    encoder.doEncode(event);
+    return new String(baos.toByteArray(), "UTF-8");
+  }
+
+  @Test
+  public void smoke() throws IOException {
+    LoggingEvent event = makeLoggingEvent("hello {}", null, "world", 7, null);
+    assertEquals("{\"timestamp\":1234,\"level\":\"INFO\",\"thread\":\"main\","
+        + "\"logger\":\"a.b.C\",\"message\":\"hello world\","
+        + "\"arguments\":[\"world\",7,null]}\n", encode(event));
+  }
+
+  @Test
+  public void fieldSelection() throws IOException {
+    encoder.setIncludeTimestamp(false);
+    encoder.setIncludeThread(false);
+    encoder.setIncludeLogger(false);
+    encoder.setIncludeArguments(false);
+    LoggingEvent event = makeLoggingEvent("x\"y", null, "a");
+    assertEquals("{\"level\":\"INFO\",\"message\":\"x\\\"y\"}\n", encode(event));
+    encoder.setIncludeLevel(false);
+    encoder.setIncludeMessage(false);
+    assertEquals("{}\n", encode(event));
+  }
+
+  @Test
+  public void mdc() throws IOException {
+    encoder.setIncludeArguments(false);
+    MDC.put("k\n", "v\"");
+    LoggingEvent event = makeLoggingEvent("m", null);
+    String json = encode(event);
+    assertTrue(json, json.endsWith(",\"mdc\":{\"k\\n\":\"v\\\"\"}}\n"));
+    // the rendering is computed once for the events sharing the same MDC
+    Map<String, String> mdc = event.getMDCPropertyMap();
+    assertTrue(mdc instanceof MDCPropertyMap);
+    Map<String, String> sameMDC = makeLoggingEvent("n", null)
+        .getMDCPropertyMap();
+    assertTrue(MDCPropertyMap.render(mdc, JsonEncoder.JSON_RENDERER) ==
+        MDCPropertyMap.render(sameMDC, JsonEncoder.JSON_RENDERER));
+  }
+
+  @Test
+  public void markers() throws IOException {
+    Marker marker = MarkerFactory.getDetachedMarker("A");
+    marker.add(MarkerFactory.getDetachedMarker("B"));
+    LoggingEvent event = makeLoggingEvent("m", null);
+    event.setMarker(marker);
+    assertTrue(encode(event).endsWith(",\"markers\":[\"A\",\"B\"]}\n"));
+  }
+
+  @Test
+  public void throwable() throws IOException {
+    Exception cause = new IllegalStateException("cause");
+    Exception e = new Exception("oops\t", cause);
+    LoggingEvent event = makeLoggingEvent("m", e);
+    String json = encode(event);
+    String prefix = "\"throwable\":{\"className\":\"java.lang.Exception\","
+        + "\"message\":\"oops\\t\",\"stackTrace\":[\"at "
+        + getClass().getName() + ".throwable(";
+    assertTrue(json, json.contains(prefix));
+    assertTrue(json, json.contains("\"cause\":{\"className\":"
+        + "\"java.lang.IllegalStateException\",\"message\":\"cause\","));
+    assertTrue(json, json.contains(",\"commonFrames\":"));
+    assertTrue(json, json.endsWith("}}}\n"));
+    assertEquals(1, json.split("\n").length);
+  }
+}
@@ -18,6 +18,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses( { PatternLayoutEncoderTest.class, LayoutInsteadOfEncoderTest.class})
+@SuiteClasses( { PatternLayoutEncoderTest.class, LayoutInsteadOfEncoderTest.class,
+    GarbageFreeEncodingTest.class, JsonEncoderTest.class })
 public class PackageTest {
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import static org.junit.Assert.*;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.charset.Charset;
+import java.util.Arrays;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -12,8 +13,14 @@ import org.junit.Test;
 import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.html.HTMLLayout;
+import ch.qos.logback.classic.log4j.XMLLayout;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.LayoutBase;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 
 public class PatternLayoutEncoderTest {
 
@@ -30,7 +37,11 @@ public class PatternLayoutEncoderTest {
   }
 
   ILoggingEvent makeLoggingEvent(String message) {
-    return new LoggingEvent("", logger, Level.DEBUG, message, null, null);
+    return makeLoggingEvent(Level.DEBUG, message);
+  }
+
+  ILoggingEvent makeLoggingEvent(Level level, String message) {
+    return new LoggingEvent("", logger, level, message, null, null);
   }
 
   @Test
@@ -56,4 +67,146 @@ public class PatternLayoutEncoderTest {
     assertEquals(msg, new String(baos.toByteArray(), utf8Charset.name()));
   }
 
+  void verifyEncoding(String charsetName, String msg) throws IOException {
+    ple.setCharset(Charset.forName(charsetName));
+    ple.start();
+    ple.init(baos);
+    ple.doEncode(makeLoggingEvent(msg));
+    ple.close();
+    byte[] expected = msg.getBytes(charsetName);
+    assertTrue(Arrays.equals(expected, baos.toByteArray()));
+  }
+
+  @Test
+  public void asciiAsUTF8() throws IOException {
+    verifyEncoding("UTF-8", "hello world");
+  }
+
+  @Test
+  public void mixedTextAsUTF8() throws IOException {
+    verifyEncoding("UTF-8", "hello \u03b1 world \u00e9");
+  }
+
+  @Test
+  public void latin1() throws IOException {
+    verifyEncoding("ISO-8859-1", "caf\u00e9 cr\u00e8me");
+  }
+
+  @Test
+  public void unmappableCharacterAsASCII() throws IOException {
+    verifyEncoding("US-ASCII", "caf\u00e9");
+  }
+
+  @Test
+  public void unmappableCharacterAsLatin1() throws IOException {
+    verifyEncoding("ISO-8859-1", "\u03b1");
+  }
+
+  @Test
+  public void headerAndFooter() throws IOException {
+    HTMLLayout layout = new HTMLLayout();
+    layout.setContext(context);
+    layout.setTitle("\u03b1 title");
+    layout.start();
+    LayoutWrappingEncoder<ILoggingEvent> encoder = new LayoutWrappingEncoder<ILoggingEvent>();
+    encoder.setLayout(layout);
+    encoder.setCharset(utf8Charset);
+    encoder.start();
+    encoder.init(baos);
+    encoder.close();
+
+    String expected = layout.getFileHeader() + layout.getPresentationHeader()
+        + CoreConstants.LINE_SEPARATOR + layout.getPresentationFooter()
+        + layout.getFileFooter();
+    assertEquals(expected, new String(baos.toByteArray(), utf8Charset.name()));
+  }
+
+  @Test
+  public void lineLongerThanTheInitialBuffer() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < 1000; i++) {
+      sb.append(i % 10 == 0 ? '\u03b1' : 'a');
+    }
+    verifyEncoding("UTF-8", sb.toString());
+  }
+
+  @Test
+  public void errorsAreFlushedRegardlessOfImmediateFlush() throws IOException {
+    final int[] flushCount = new int[1];
+    ByteArrayOutputStream flushCountingStream = new ByteArrayOutputStream() {
+      public void flush() {
+        flushCount[0]++;
+      }
+    };
+    ple.setImmediateFlush(false);
+    ple.start();
+    ple.init(flushCountingStream);
+    ple.doEncode(makeLoggingEvent(Level.INFO, "a"));
+    ple.doEncode(makeLoggingEvent(Level.WARN, "b"));
+    assertEquals(0, flushCount[0]);
+    ple.doEncode(makeLoggingEvent(Level.ERROR, "c"));
+    assertEquals(1, flushCount[0]);
+    assertEquals("abc", flushCountingStream.toString());
+  }
+
+  String encodeWithLayout(LayoutBase<ILoggingEvent> layout, String msg)
+      throws IOException {
+    layout.setContext(context);
+    layout.start();
+    LayoutWrappingEncoder<ILoggingEvent> encoder = new LayoutWrappingEncoder<ILoggingEvent>();
+    encoder.setLayout(layout);
+    encoder.start();
+    encoder.init(baos);
+    encoder.doEncode(makeLoggingEvent(msg));
+    encoder.close();
+    return baos.toString();
+  }
+
+  @Test
+  public void patternLayoutAppendsToTheEncoderBuffer() {
+    assertTrue(new PatternLayout().isDoLayoutIntoBufferEquivalent());
+    assertTrue(new HTMLLayout().isDoLayoutIntoBufferEquivalent());
+    assertTrue(new XMLLayout().isDoLayoutIntoBufferEquivalent());
+  }
+
+  @Test
+  public void overriddenDoLayoutIsHonored() throws IOException {
+    PatternLayout layout = new PatternLayout() {
+      @Override
+      public String doLayout(ILoggingEvent event) {
+        return super.doLayout(event).replace("secret", "******");
+      }
+    };
+    layout.setPattern("%m");
+    assertFalse(layout.isDoLayoutIntoBufferEquivalent());
+    assertEquals("password=******", encodeWithLayout(layout, "password=secret"));
+  }
+
+  @Test
+  public void overriddenHTMLLayoutDoLayoutIsHonored() throws IOException {
+    HTMLLayout layout = new HTMLLayout() {
+      @Override
+      public String doLayout(ILoggingEvent event) {
+        return super.doLayout(event).replace("secret", "******");
+      }
+    };
+    assertFalse(layout.isDoLayoutIntoBufferEquivalent());
+    String result = encodeWithLayout(layout, "password=secret");
+    assertTrue(result.contains("password=******"));
+    assertFalse(result.contains("secret"));
+  }
+
+  @Test
+  public void overriddenXMLLayoutDoLayoutIsHonored() throws IOException {
+    XMLLayout layout = new XMLLayout() {
+      @Override
+      public String doLayout(ILoggingEvent event) {
+        return super.doLayout(event).replace("secret", "******");
+      }
+    };
+    assertFalse(layout.isDoLayoutIntoBufferEquivalent());
+    String result = encodeWithLayout(layout, "password=secret");
+    assertTrue(result.contains("password=******"));
+    assertFalse(result.contains("secret"));
+  }
 }
@@ -167,6 +167,30 @@ public class HTMLLayoutTest {
   }
 
   @SuppressWarnings("unchecked")
+  @Test
+  public void layoutIntoBuffer() throws Exception {
+    HTMLLayout other = new HTMLLayout();
+    other.setContext(lc);
+    other.setPattern("%level%thread%msg");
+    other.start();
+
+    ILoggingEvent le = createLoggingEvent();
+    StringBuilder buf = new StringBuilder("prefix");
+    other.doLayout(le, buf);
+    assertEquals("prefix" + layout.doLayout(le), buf.toString());
+  }
+
+  @Test
+  public void exceptionMessageIsEscaped() throws Exception {
+    StringBuilder buf = new StringBuilder();
+    DummyThrowableProxy tp = new DummyThrowableProxy();
+    tp.setClassName("test1");
+    tp.setMessage("<msg1>");
+    tp.setStackTraceElementProxyArray(new StackTraceElementProxy[0]);
+    new DefaultThrowableRenderer().render(buf, tp);
+    assertTrue(buf.toString().contains("test1: &lt;msg1&gt;"));
+  }
+
   @Test
   public void layoutWithException() throws Exception {
     layout.setPattern("%level %thread %msg %ex");
@@ -0,0 +1,94 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.junit.Test;
+
+public class CachingAbbreviatorTest {
+
+  static class CountingAbbreviator implements Abbreviator {
+    int count = 0;
+
+    public String abbreviate(String in) {
+      count++;
+      return in.substring(in.lastIndexOf('.') + 1);
+    }
+  }
+
+  CountingAbbreviator counting = new CountingAbbreviator();
+
+  @Test
+  public void abbreviationsAreComputedOnce() {
+    CachingAbbreviator ca = new CachingAbbreviator(counting,
+        CachingAbbreviator.DEFAULT_MAX_SIZE, true);
+    assertEquals(0.0, ca.getHitRate(), 0);
+    for (int i = 0; i < 4; i++) {
+      assertEquals("Foo", ca.abbreviate("a.b.Foo"));
+      assertEquals("Bar", ca.abbreviate("a.b.Bar"));
+    }
+    assertEquals(2, counting.count);
+    assertEquals(6, ca.getHitCount());
+    assertEquals(2, ca.getMissCount());
+    assertEquals(0.75, ca.getHitRate(), 0.0001);
+  }
+
+  @Test
+  public void sizeIsBounded() {
+    CachingAbbreviator ca = new CachingAbbreviator(counting, 3);
+    for (int i = 0; i < 10; i++) {
+      assertEquals("C" + i, ca.abbreviate("a.b.C" + i));
+      assertEquals(true, ca.getSize() <= 3);
+    }
+    assertEquals(10, counting.count);
+  }
+
+  @Test
+  public void sameResultAsDelegate() {
+    Abbreviator tlba = new TargetLengthBasedClassNameAbbreviator(10);
+    CachingAbbreviator ca = new CachingAbbreviator(
+        new TargetLengthBasedClassNameAbbreviator(10));
+    String name = "com.example.service.OrderService";
+    assertEquals(tlba.abbreviate(name), ca.abbreviate(name));
+    assertEquals(tlba.abbreviate(name), ca.abbreviate(name));
+  }
+
+  @Test
+  public void statisticsAreDisabledByDefault() {
+    CachingAbbreviator ca = new CachingAbbreviator(counting);
+    assertFalse(ca.isStatisticsEnabled());
+    ca.abbreviate("a.b.Foo");
+    ca.abbreviate("a.b.Foo");
+    assertEquals(1, counting.count);
+    assertEquals(0, ca.getHitCount());
+  }
+
+  @Test
+  public void nullIsNotCached() {
+    CachingAbbreviator ca = new CachingAbbreviator(new Abbreviator() {
+      public String abbreviate(String in) {
+        return String.valueOf(in);
+      }
+    });
+    assertEquals("null", ca.abbreviate(null));
+    assertEquals(0, ca.getSize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidSize() {
+    new CachingAbbreviator(counting, 0);
+  }
+}
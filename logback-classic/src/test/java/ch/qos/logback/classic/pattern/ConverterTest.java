@@ -149,11 +149,14 @@ public class ConverterTest {
     {
       ClassicConverter converter = new LoggerConverter();
       this.optionList.add("20");
+      this.optionList.add("stats");
       converter.setOptionList(this.optionList);
       converter.start();
       StringBuilder buf = new StringBuilder();
       converter.write(buf, le);
       assertEquals("c.q.l.c.p.ConverterTest", buf.toString());
+      converter.write(buf, le);
+      assertEquals(0.5, ((NamedConverter) converter).getCacheHitRate(), 0.0001);
     }
 
     {
@@ -383,4 +386,22 @@ public class ConverterTest {
     String result = converter.convert(event);
     assertEquals("v", result);
   }
+
+  @Test
+  public void convertOverriddenInSubclassOfBuiltInConverter() {
+    DynamicConverter<ILoggingEvent> converter = new MessageConverter() {
+      @Override
+      public String convert(ILoggingEvent event) {
+        return super.convert(event).replace("message", "*******");
+      }
+    };
+    StringBuilder buf = new StringBuilder();
+    converter.write(buf, le);
+    assertEquals("Some *******", buf.toString());
+
+    buf.setLength(0);
+    converter.setFormattingInfo(new FormatInfo(14, Integer.MAX_VALUE));
+    converter.write(buf, le);
+    assertEquals("  Some *******", buf.toString());
+  }
 }
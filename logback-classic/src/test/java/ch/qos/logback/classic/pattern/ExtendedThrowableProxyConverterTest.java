@@ -87,6 +87,22 @@ public class ExtendedThrowableProxyConverterTest {
     verify(t);
   }
 
+  @Test
+  public void repeatedExceptionsKeepPackagingData() {
+    String first = null;
+    for (int i = 0; i < 3; i++) {
+      String result = etpc.convert(createLoggingEvent(new Exception("x")));
+      if (first == null) {
+        first = result;
+      }
+      assertEquals(first, result);
+    }
+    // packaging data is present
+    assertTrue(!first.equals(first.replaceAll(" ~?\\[.*\\]", "")));
+    assertEquals(1, etpc.getRenderingCache().getMissCount());
+    assertEquals(2, etpc.getRenderingCache().getHitCount());
+  }
+
   void verify(Throwable t) {
     t.printStackTrace(pw);
 
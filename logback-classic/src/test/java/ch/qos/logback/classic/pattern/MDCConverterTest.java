@@ -14,6 +14,7 @@
 package ch.qos.logback.classic.pattern;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 
 import org.junit.After;
 import org.junit.Before;
@@ -25,6 +26,7 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.classic.util.MDCPropertyMap;
 import ch.qos.logback.core.util.SystemInfo;
 
 public class MDCConverterTest {
@@ -69,6 +71,23 @@ public class MDCConverterTest {
     }
   }
 
+  @Test
+  public void renderingIsSharedByEventsWithTheSameMDC() {
+    MDC.clear();
+    MDC.put("testKey", "testValue");
+    ILoggingEvent le0 = createLoggingEvent();
+    ILoggingEvent le1 = createLoggingEvent();
+    assertSame(le0.getMDCPropertyMap(), le1.getMDCPropertyMap());
+    assertEquals("testKey=testValue", converter.convert(le0));
+    assertSame(MDCPropertyMap.render(le0.getMDCPropertyMap(),
+        MDCPropertyMap.DEFAULT_RENDERER), MDCPropertyMap.render(le1
+        .getMDCPropertyMap(), MDCPropertyMap.DEFAULT_RENDERER));
+
+    MDC.put("testKey", "otherValue");
+    assertEquals("testKey=otherValue", converter.convert(createLoggingEvent()));
+    assertEquals("testKey=testValue", converter.convert(le0));
+  }
+
   private ILoggingEvent createLoggingEvent() {
     ILoggingEvent le = new LoggingEvent(this.getClass().getName(), lc
         .getLogger(Logger.ROOT_LOGGER_NAME), Level.DEBUG, "test message", null,
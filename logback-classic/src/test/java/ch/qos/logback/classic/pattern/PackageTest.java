@@ -21,7 +21,8 @@ import org.junit.runners.Suite.SuiteClasses;
 @SuiteClasses( { ConverterTest.class,
     TargetLengthBasedClassNameAbbreviatorTest.class, MDCConverterTest.class,
     MarkerConverterTest.class, ExtendedThrowableProxyConverterTest.class,
-    ThrowableProxyConverterTest.class })
+    ThrowableProxyConverterTest.class, CachingAbbreviatorTest.class,
+    StackTraceRenderingCacheTest.class })
 public class PackageTest {
 
 }
\ No newline at end of file
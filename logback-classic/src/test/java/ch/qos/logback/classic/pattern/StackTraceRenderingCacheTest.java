@@ -0,0 +1,67 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.pattern;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+import ch.qos.logback.classic.spi.ThrowableProxy;
+
+public class StackTraceRenderingCacheTest {
+
+  StackTraceRenderingCache cache = new StackTraceRenderingCache(2);
+
+  ThrowableProxy makeProxy(Throwable t, int lineNumber) {
+    t.setStackTrace(new StackTraceElement[] {
+        new StackTraceElement("a.B", "c", "B.java", lineNumber),
+        new StackTraceElement("a.D", "e", "D.java", 10) });
+    return new ThrowableProxy(t);
+  }
+
+  @Test
+  public void messageIsNotPartOfTheKey() {
+    cache.put(cache.keyOf(makeProxy(new Exception("a"), 1)), "frames");
+    assertEquals("frames", cache.get(cache.keyOf(makeProxy(
+        new Exception("b"), 1))));
+    assertEquals(1, cache.getHitCount());
+  }
+
+  @Test
+  public void framesArePartOfTheKey() {
+    cache.put(cache.keyOf(makeProxy(new Exception("a"), 1)), "frames");
+    assertNull(cache.get(cache.keyOf(makeProxy(new Exception("a"), 2))));
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void classIsPartOfTheKey() {
+    cache.put(cache.keyOf(makeProxy(new Exception("a"), 1)), "frames");
+    assertNull(cache.get(cache.keyOf(makeProxy(new RuntimeException("a"), 1))));
+  }
+
+  @Test
+  public void cacheIsBounded() {
+    for (int i = 0; i < 5; i++) {
+      cache.put(cache.keyOf(makeProxy(new Exception(), i)), "frames " + i);
+      assertEquals(i % 2 + 1, cache.getSize());
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void sizeMustBePositive() {
+    new StackTraceRenderingCache(0);
+  }
+}
@@ -65,6 +65,29 @@ public class ThrowableProxyConverterTest {
     verify(t);
   }
 
+  @Test
+  public void repeatedExceptionsAreRenderedFromTheCache() {
+    for (int i = 0; i < 3; i++) {
+      sw.getBuffer().setLength(0);
+      // thrown from the same place each time, with a different message
+      Throwable cause = new IllegalStateException("cause " + i);
+      verify(new Exception("message " + i, cause));
+    }
+    StackTraceRenderingCache cache = tpc.getRenderingCache();
+    // one entry for the exception, one for its cause
+    assertEquals(2, cache.getMissCount());
+    assertEquals(4, cache.getHitCount());
+    assertEquals(2, cache.getSize());
+  }
+
+  @Test
+  public void differentFramesAreNotConfused() {
+    verify(new Exception("a"));
+    sw.getBuffer().setLength(0);
+    verify(new Exception("b"));
+    assertEquals(0, tpc.getRenderingCache().getHitCount());
+  }
+
   void verify(Throwable t) {
     t.printStackTrace(pw);
 
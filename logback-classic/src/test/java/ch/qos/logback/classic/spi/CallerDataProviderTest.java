@@ -0,0 +1,110 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class CallerDataProviderTest {
+
+  static final String FQCN = Invoker.class.getName();
+
+  static class Invoker {
+    static StackTraceElement[] getCallerData(CallerDataProvider provider,
+        int maxDepth) {
+      return nested(provider, maxDepth);
+    }
+
+    static StackTraceElement[] nested(CallerDataProvider provider,
+        int maxDepth) {
+      return provider.getCallerData(FQCN, maxDepth);
+    }
+  }
+
+  void verifyCaller(CallerDataProvider provider) {
+    StackTraceElement[] cda = Invoker.getCallerData(provider, 5);
+    assertEquals(5, cda.length);
+    assertEquals(CallerDataProviderTest.class.getName(), cda[0].getClassName());
+    assertEquals("verifyCaller", cda[0].getMethodName());
+    assertEquals(CallerDataProviderTest.class.getName(), cda[1].getClassName());
+  }
+
+  void verifyBounded(CallerDataProvider provider) {
+    assertEquals(1, Invoker.getCallerData(provider, 1).length);
+    assertEquals(0, Invoker.getCallerData(provider, 0).length);
+  }
+
+  void verifyNotFound(CallerDataProvider provider) {
+    StackTraceElement[] cda = provider.getCallerData("com.inexistent.foo", 10);
+    assertEquals(0, cda.length);
+  }
+
+  @Test
+  public void throwableProvider() {
+    CallerDataProvider provider = new ThrowableCallerDataProvider();
+    verifyCaller(provider);
+    verifyBounded(provider);
+    verifyNotFound(provider);
+  }
+
+  @Test
+  public void stackWalkerProvider() {
+    if (!StackWalkerCallerDataProvider.isAvailable()) {
+      return;
+    }
+    CallerDataProvider provider = new StackWalkerCallerDataProvider();
+    verifyCaller(provider);
+    verifyBounded(provider);
+    verifyNotFound(provider);
+  }
+
+  @Test
+  public void throwableProviderIsTheDefault() {
+    assertTrue(CallerData.newDefaultProvider() instanceof ThrowableCallerDataProvider);
+  }
+
+  // frames below the test method, including reflection frames of the test
+  // runner, must be the same; the line of the test method itself differs
+  @Test
+  public void providersAgree() {
+    if (!StackWalkerCallerDataProvider.isAvailable()) {
+      return;
+    }
+    StackTraceElement[] expected = Invoker.getCallerData(
+        new ThrowableCallerDataProvider(), 100);
+    StackTraceElement[] actual = Invoker.getCallerData(
+        new StackWalkerCallerDataProvider(), 100);
+    assertEquals(expected.length, actual.length);
+    assertEquals(expected[0].getClassName(), actual[0].getClassName());
+    assertEquals(expected[0].getMethodName(), actual[0].getMethodName());
+    for (int i = 1; i < expected.length; i++) {
+      assertEquals(expected[i], actual[i]);
+    }
+  }
+
+  @Test
+  public void stackWalkerProviderCanChangeDepth() {
+    if (!StackWalkerCallerDataProvider.isAvailable()) {
+      return;
+    }
+    CallerDataProvider provider = new StackWalkerCallerDataProvider();
+    assertEquals(3, Invoker.getCallerData(provider, 3).length);
+    assertEquals(3, Invoker.getCallerData(provider, 3).length);
+    assertEquals(1, Invoker.getCallerData(provider, 1).length);
+    verifyNotFound(provider);
+    assertEquals(3, Invoker.getCallerData(provider, 3).length);
+  }
+}
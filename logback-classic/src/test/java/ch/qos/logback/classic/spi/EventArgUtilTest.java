@@ -0,0 +1,104 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.slf4j.helpers.MessageFormatter;
+
+public class EventArgUtilTest {
+
+  Exception e = new Exception("x");
+
+  @Test
+  public void noArguments() {
+    assertNull(EventArgUtil.extractThrowable("hello", null));
+    assertNull(EventArgUtil.extractThrowable("hello", new Object[0]));
+  }
+
+  @Test
+  public void trailingThrowableIsExtracted() {
+    assertSame(e, EventArgUtil.extractThrowable("hello", new Object[] { e }));
+    assertSame(e, EventArgUtil.extractThrowable("{}", new Object[] { 1, e }));
+    assertSame(e, EventArgUtil.extractThrowable(null, new Object[] { e }));
+  }
+
+  @Test
+  public void consumedThrowableIsNotExtracted() {
+    assertNull(EventArgUtil.extractThrowable("{}", new Object[] { e }));
+    assertNull(EventArgUtil.extractThrowable("{} {}", new Object[] { 1, e }));
+    assertNull(EventArgUtil.extractThrowable("{}", new Object[] { 1 }));
+  }
+
+  @Test
+  public void escapedAnchors() {
+    assertSame(e, EventArgUtil.extractThrowable("\\{}", new Object[] { e }));
+    assertNull(EventArgUtil.extractThrowable("\\\\{}", new Object[] { e }));
+    assertSame(e, EventArgUtil.extractThrowable("{\\{}", new Object[] { 1, e }));
+  }
+
+  @Test
+  public void unusualPatterns() {
+    assertSame(e, EventArgUtil.extractThrowable("{ }", new Object[] { e }));
+    assertSame(e, EventArgUtil.extractThrowable("{", new Object[] { e }));
+    assertSame(e, EventArgUtil.extractThrowable("}{", new Object[] { e }));
+    assertNull(EventArgUtil.extractThrowable("{{}", new Object[] { e }));
+    assertNull(EventArgUtil.extractThrowable("{}}", new Object[] { e }));
+    assertNull(EventArgUtil.extractThrowable("{}{}{}", new Object[] { 1, 2, e }));
+  }
+
+  @Test
+  public void trimmedCopy() {
+    Object[] trimmed = EventArgUtil.trimmedCopy(new Object[] { 1, 2, e });
+    assertEquals(2, trimmed.length);
+    assertEquals(2, trimmed[1]);
+  }
+
+  void verifyAppendFormatted(String pattern, Object... args) {
+    StringBuilder buf = new StringBuilder("prefix:");
+    assertTrue(EventArgUtil.appendFormatted(buf, pattern, args));
+    assertEquals("prefix:"
+        + MessageFormatter.arrayFormat(pattern, args).getMessage(), buf
+        .toString());
+  }
+
+  @Test
+  public void appendFormattedAsMessageFormatter() {
+    verifyAppendFormatted("hello", "a");
+    verifyAppendFormatted("hello {}", "a");
+    verifyAppendFormatted("{} {}", 1, 2L);
+    verifyAppendFormatted("{} and {} and {}", null, 3.5, 'c');
+    verifyAppendFormatted("{}", "a", "b");
+    verifyAppendFormatted("{} {} {}", "a");
+    verifyAppendFormatted("\\{}", "a");
+    verifyAppendFormatted("\\{} {}", "a");
+    verifyAppendFormatted("\\\\{} {}", "a", "b");
+    verifyAppendFormatted("{{}} {}}", "a", "b");
+    verifyAppendFormatted("{", "a");
+  }
+
+  @Test
+  public void appendFormattedLeavesArraysToMessageFormatter() {
+    StringBuilder buf = new StringBuilder();
+    assertFalse(EventArgUtil.appendFormatted(buf, "{}",
+        new Object[] { new int[] { 1 } }));
+    assertFalse(EventArgUtil.appendFormatted(buf, null, new Object[] { 1 }));
+    assertEquals(0, buf.length());
+  }
+}
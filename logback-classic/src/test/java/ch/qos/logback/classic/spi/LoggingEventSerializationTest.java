@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.HashMap;
 import java.util.Map;
 
 import org.junit.After;
@@ -98,6 +99,17 @@ public class LoggingEventSerializationTest {
     assertEquals("testValue", MDCPropertyMap.get("key"));
   }
 
+  @Test
+  public void MDCIsSerializedAsHashMap() throws Exception {
+    MDC.put("key", "testValue");
+    ILoggingEvent event = createLoggingEvent();
+    ILoggingEvent remoteEvent = writeAndRead(event);
+    // receivers predating MDCPropertyMap must be able to read the event
+    assertEquals(HashMap.class, remoteEvent.getMDCPropertyMap().getClass());
+    assertEquals(-1, new String(bos.toByteArray(), "ISO-8859-1")
+        .indexOf("MDCPropertyMap"));
+  }
+
   @Test
   public void updatedMDC() throws Exception {
     MDC.put("key", "testValue");
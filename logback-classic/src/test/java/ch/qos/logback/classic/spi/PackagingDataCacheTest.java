@@ -0,0 +1,63 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.spi;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+import org.junit.Test;
+
+public class PackagingDataCacheTest {
+
+  PackagingDataCache cache = new PackagingDataCache(2);
+  ClassLoader classLoader = getClass().getClassLoader();
+  ClassPackagingData cpd = new ClassPackagingData("a.jar", "1.0");
+
+  @Test
+  public void smoke() {
+    cache.put("a.B", classLoader, true, cpd);
+    assertSame(cpd, cache.get("a.B", classLoader, true));
+    assertSame(cpd, cache.get(new String("a.B"), classLoader, true));
+    assertEquals(2, cache.getHitCount());
+  }
+
+  @Test
+  public void classLoaderIsPartOfTheKey() {
+    ClassLoader other = new URLClassLoader(new URL[0], classLoader);
+    cache.put("a.B", classLoader, true, cpd);
+    assertNull(cache.get("a.B", other, true));
+    assertNull(cache.get("a.B", null, true));
+    cache.put("a.B", null, true, cpd);
+    assertSame(cpd, cache.get("a.B", null, true));
+  }
+
+  @Test
+  public void exactnessIsPartOfTheKey() {
+    cache.put("a.B", classLoader, true, cpd);
+    assertNull(cache.get("a.B", classLoader, false));
+    assertEquals(1, cache.getMissCount());
+  }
+
+  @Test
+  public void cacheIsBounded() {
+    for (int i = 0; i < 5; i++) {
+      cache.put("a.B" + i, classLoader, true, cpd);
+      assertEquals(i % 2 + 1, cache.getSize());
+    }
+  }
+}
@@ -13,7 +13,9 @@
  */
 package ch.qos.logback.classic.spi;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.net.MalformedURLException;
@@ -22,6 +24,8 @@ import java.net.URLClassLoader;
 
 import org.junit.Test;
 
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
 import ch.qos.logback.classic.util.TeztHelper;
 import ch.qos.logback.core.util.SystemInfo;
 
@@ -54,6 +58,38 @@ public class PackagingDataCalculatorTest {
     verify(tp);
   }
 
+  @Test
+  public void sharedCache() throws Exception {
+    PackagingDataCache cache = new PackagingDataCache();
+    ThrowableProxy tp0 = new ThrowableProxy(new Throwable("x"));
+    tp0.calculatePackagingData(cache);
+    verify(tp0);
+    long missCount = cache.getMissCount();
+    assertTrue(missCount > 0);
+
+    ThrowableProxy tp1 = new ThrowableProxy(new Throwable("y"));
+    tp1.calculatePackagingData(cache);
+    verify(tp1);
+    // all frames were found in the cache
+    assertEquals(missCount, cache.getMissCount());
+    StackTraceElementProxy[] stepArray0 = tp0.getStackTraceElementProxyArray();
+    StackTraceElementProxy[] stepArray1 = tp1.getStackTraceElementProxyArray();
+    for (int i = 1; i < stepArray0.length; i++) {
+      assertSame(stepArray0[i].getClassPackagingData(), stepArray1[i]
+          .getClassPackagingData());
+    }
+  }
+
+  @Test
+  public void loggerContextCacheIsClearedOnReset() {
+    LoggerContext lc = new LoggerContext();
+    Logger logger = lc.getLogger(PackagingDataCalculatorTest.class);
+    logger.error("x", new Exception("x"));
+    assertTrue(lc.getPackagingDataCache().getSize() > 0);
+    lc.reset();
+    assertEquals(0, lc.getPackagingDataCache().getSize());
+  }
+
   public void doCalculateClassPackagingData(
       boolean withClassPackagingCalculation) {
     try {
@@ -15,10 +15,19 @@ package ch.qos.logback.classic.util;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.junit.Test;
 import org.slf4j.MDC;
@@ -41,7 +50,7 @@ public class LogbackMDCAdapterTest {
   public void lbclassic77() throws InterruptedException {
     LogbackMDCAdapter lma = new LogbackMDCAdapter();
 
-    HashMap<String, String> parentHM = getHashMapFromMDCAdapter(lma);
+    Map<String, String> parentHM = getHashMapFromMDCAdapter(lma);
     assertNull(parentHM);
     
     ChildThreadForMDCAdapter childThread = new ChildThreadForMDCAdapter(lma);
@@ -63,11 +72,173 @@ public class LogbackMDCAdapterTest {
     lma.remove("abcdlw0");
   }
   
+  @Test
+  public void publishedMapsAreNotModified() {
+    LogbackMDCAdapter lma = new LogbackMDCAdapter();
+    lma.put("k", "v");
+    Map<String, String> map = lma.getPropertyMap();
+    lma.put("k2", "v2");
+    lma.remove("k");
+    lma.clear();
+    assertEquals(1, map.size());
+    assertEquals("v", map.get("k"));
+    assertTrue(map instanceof MDCPropertyMap);
+  }
+
+  @Test
+  public void writesWithoutReadsInBetweenDoNotCopy() {
+    LogbackMDCAdapter lma = new LogbackMDCAdapter();
+    lma.put("k1", "v1");
+    Map<String, String> map = getHashMapFromMDCAdapter(lma);
+    lma.put("k2", "v2");
+    lma.remove("k1");
+    lma.get("k2");
+    lma.put("k3", "v3");
+    assertSame(map, getHashMapFromMDCAdapter(lma));
+    assertEquals(2, map.size());
+
+    Map<String, String> published = lma.getPropertyMap();
+    lma.put("k4", "v4");
+    assertNotSame(published, getHashMapFromMDCAdapter(lma));
+    assertEquals(2, published.size());
+    // the copy is modified in place until the next read
+    Map<String, String> copy = getHashMapFromMDCAdapter(lma);
+    lma.remove("k2");
+    assertSame(copy, getHashMapFromMDCAdapter(lma));
+    assertEquals(2, copy.size());
+
+    Set<String> keys = lma.getKeys();
+    lma.put("k5", "v5");
+    assertEquals(2, keys.size());
+    lma.clear();
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void publishedMapsAreFrozen() {
+    LogbackMDCAdapter lma = new LogbackMDCAdapter();
+    lma.put("k", "v");
+    lma.getPropertyMap().put("k", "other");
+  }
+
+  @Test
+  public void copyOfContextMapIsModifiable() {
+    LogbackMDCAdapter lma = new LogbackMDCAdapter();
+    lma.put("k", "v");
+    lma.getPropertyMap();
+    Map<String, String> copy = lma.getCopyOfContextMap();
+    copy.put("k", "other");
+    assertEquals("v", lma.get("k"));
+    lma.setContextMap(copy);
+    assertEquals("other", lma.get("k"));
+    lma.clear();
+  }
+
+  /**
+   * Returns the map of a thread created by the current thread.
+   */
+  Map<String, String> mapOfChildThread(final LogbackMDCAdapter lma)
+      throws InterruptedException {
+    final List<Map<String, String>> result = new ArrayList<Map<String, String>>();
+    Thread child = new Thread() {
+      public void run() {
+        result.add(getHashMapFromMDCAdapter(lma));
+        lma.put("child", "c");
+      }
+    };
+    child.start();
+    child.join();
+    return result.get(0);
+  }
+
+  @Test
+  public void propagationModes() {
+    assertEquals(MDCPropagationMode.COPY, new LogbackMDCAdapter()
+        .getPropagationMode());
+    assertEquals(MDCPropagationMode.NONE, MDCPropagationMode.toMode(" none"));
+    assertEquals(MDCPropagationMode.LAZY, MDCPropagationMode.toMode("Lazy"));
+    assertEquals(MDCPropagationMode.COPY, MDCPropagationMode.toMode("bogus"));
+    assertEquals(MDCPropagationMode.COPY, MDCPropagationMode.toMode(null));
+  }
+
+  @Test
+  public void copyPropagation() throws InterruptedException {
+    LogbackMDCAdapter lma = new LogbackMDCAdapter(MDCPropagationMode.COPY);
+    lma.put("k", "v");
+    Map<String, String> childMap = mapOfChildThread(lma);
+    assertNotSame(getHashMapFromMDCAdapter(lma), childMap);
+    assertEquals("v", childMap.get("k"));
+    assertNull(lma.get("child"));
+    lma.clear();
+  }
+
+  @Test
+  public void lazyPropagation() throws InterruptedException {
+    LogbackMDCAdapter lma = new LogbackMDCAdapter(MDCPropagationMode.LAZY);
+    lma.put("k", "v");
+    Map<String, String> parentMap = getHashMapFromMDCAdapter(lma);
+    Map<String, String> childMap = mapOfChildThread(lma);
+    assertSame(parentMap, childMap);
+    // the write of the child went to a copy
+    assertEquals(1, parentMap.size());
+    assertNull(lma.get("child"));
+    lma.put("k2", "v2");
+    assertNotSame(parentMap, getHashMapFromMDCAdapter(lma));
+    assertEquals(1, childMap.size());
+    lma.clear();
+  }
+
+  @Test
+  public void noPropagation() throws InterruptedException {
+    LogbackMDCAdapter lma = new LogbackMDCAdapter(MDCPropagationMode.NONE);
+    lma.put("k", "v");
+    assertNull(mapOfChildThread(lma));
+    assertEquals("v", lma.get("k"));
+    lma.clear();
+  }
+
+  @Test
+  public void wrappedTasksRunWithTheMDCOfTheirSubmitter() throws Exception {
+    final LogbackMDCAdapter lma = new LogbackMDCAdapter(
+        MDCPropagationMode.NONE);
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      lma.put("k", "submitter");
+      final List<String> seen = new ArrayList<String>();
+      Runnable task = lma.wrap(new Runnable() {
+        public void run() {
+          seen.add(lma.get("k"));
+          lma.put("k", "task");
+        }
+      });
+      Callable<String> callable = lma.wrap(new Callable<String>() {
+        public String call() {
+          return lma.get("k");
+        }
+      });
+      lma.put("k", "changed after submission");
+
+      executor.submit(task).get();
+      assertEquals("submitter", seen.get(0));
+      assertEquals("submitter", executor.submit(callable).get());
+      // the MDC of the worker thread is restored
+      Future<String> plain = executor.submit(new Callable<String>() {
+        public String call() {
+          return lma.get("k");
+        }
+      });
+      assertNull(plain.get());
+      assertEquals("changed after submission", lma.get("k"));
+    } finally {
+      executor.shutdown();
+      lma.clear();
+    }
+  }
+
   class ChildThreadForMDCAdapter extends Thread {
 
     LogbackMDCAdapter logbackMDCAdapter;
     boolean successul;
-    HashMap<String, String> childHM;
+    Map<String, String> childHM;
 
     ChildThreadForMDCAdapter(LogbackMDCAdapter logbackMDCAdapter) {
       this.logbackMDCAdapter = logbackMDCAdapter;
@@ -94,7 +265,7 @@ public class LogbackMDCAdapterTest {
     String otherMDCKey = "o" + diff;
     MDC.put(mdcKey, mdcKey + A_SUFFIX);
 
-    HashMap<String, String> parentHM = getHashMapFromMDC();
+    Map<String, String> parentHM = getHashMapFromMDC();
 
     ChildThreadForMDC childThread = new ChildThreadForMDC(mdcKey, otherMDCKey);
     childThread.start();
@@ -111,7 +282,7 @@ public class LogbackMDCAdapterTest {
     String mdcKey;
     String otherMDCKey;
     boolean successul;
-    HashMap<String, String> childHM;
+    Map<String, String> childHM;
 
     ChildThreadForMDC(String mdcKey, String otherMDCKey) {
       this.mdcKey = mdcKey;
@@ -130,14 +301,14 @@ public class LogbackMDCAdapterTest {
     }
   }
 
-  HashMap<String, String> getHashMapFromMDCAdapter(LogbackMDCAdapter lma) {
-    CopyOnInheritThreadLocal copyOnInheritThreadLocal = lma.copyOnInheritThreadLocal;
-    return copyOnInheritThreadLocal.get();
+  MDCPropertyMap getHashMapFromMDCAdapter(LogbackMDCAdapter lma) {
+    ThreadLocal<MDCPropertyMap> mdcThreadLocal = lma.mdcThreadLocal;
+    return mdcThreadLocal.get();
   }
 
-  HashMap<String, String> getHashMapFromMDC() {
+  MDCPropertyMap getHashMapFromMDC() {
     LogbackMDCAdapter lma = (LogbackMDCAdapter) MDC.getMDCAdapter();
-    CopyOnInheritThreadLocal copyOnInheritThreadLocal = lma.copyOnInheritThreadLocal;
-    return copyOnInheritThreadLocal.get();
+    ThreadLocal<MDCPropertyMap> mdcThreadLocal = lma.mdcThreadLocal;
+    return mdcThreadLocal.get();
   }
 }
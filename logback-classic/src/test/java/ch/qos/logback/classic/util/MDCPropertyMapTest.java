@@ -0,0 +1,249 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.classic.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class MDCPropertyMapTest {
+
+  MDCPropertyMap map = new MDCPropertyMap();
+
+  static class CountingRenderer implements MDCPropertyMap.Renderer {
+    int count;
+
+    public String render(Map<String, String> mdcPropertyMap) {
+      count++;
+      return mdcPropertyMap.toString();
+    }
+  }
+
+  @Test
+  public void defaultRendering() {
+    map.put("k", "v");
+    assertEquals("k=v", map.getRendering(MDCPropertyMap.DEFAULT_RENDERER));
+    assertEquals("", new MDCPropertyMap()
+        .getRendering(MDCPropertyMap.DEFAULT_RENDERER));
+  }
+
+  @Test
+  public void renderingIsComputedOncePerRenderer() {
+    map.put("k", "v");
+    CountingRenderer r0 = new CountingRenderer();
+    CountingRenderer r1 = new CountingRenderer();
+    String s0 = map.getRendering(r0);
+    assertSame(s0, map.getRendering(r0));
+    map.getRendering(r1);
+    map.getRendering(r1);
+    assertSame(s0, map.getRendering(r0));
+    assertEquals(1, r0.count);
+    assertEquals(1, r1.count);
+  }
+
+  @Test
+  public void modificationsDiscardRenderings() {
+    CountingRenderer r = new CountingRenderer();
+    map.put("k", "v");
+    map.getRendering(r);
+    map.put("k2", "v2");
+    assertEquals(map.toString(), map.getRendering(r));
+    map.remove("k");
+    assertEquals(map.toString(), map.getRendering(r));
+    map.clear();
+    assertEquals("{}", map.getRendering(r));
+    assertEquals(4, r.count);
+  }
+
+  @Test
+  public void otherMapsAreRenderedEachTime() {
+    Map<String, String> hashMap = new HashMap<String, String>();
+    hashMap.put("k", "v");
+    CountingRenderer r = new CountingRenderer();
+    MDCPropertyMap.render(hashMap, r);
+    MDCPropertyMap.render(hashMap, r);
+    assertEquals(2, r.count);
+  }
+
+  @Test
+  public void mergedWith() {
+    Map<String, String> base = new HashMap<String, String>();
+    base.put("k", "base");
+    base.put("b", "base");
+    map.put("k", "mdc");
+
+    Map<String, String> merged = map.mergedWith(base);
+    assertEquals(2, merged.size());
+    assertEquals("mdc", merged.get("k"));
+    assertEquals("base", merged.get("b"));
+    assertSame(merged, map.mergedWith(base));
+
+    Map<String, String> otherBase = new HashMap<String, String>();
+    assertNotSame(merged, map.mergedWith(otherBase));
+    assertEquals(1, map.mergedWith(null).size());
+  }
+
+  @Test
+  public void entriesAreSortedByKey() {
+    map.put("c", "3");
+    map.put("a", "1");
+    map.put("b", null);
+    map.put("a", "one");
+    assertEquals("{a=one, b=null, c=3}", map.toString());
+    assertEquals(3, map.size());
+    assertNull(map.get("b"));
+    assertTrue(map.containsKey("b"));
+    assertFalse(map.containsKey("d"));
+    assertNull(map.get(null));
+    assertEquals("3", map.remove("c"));
+    assertNull(map.remove("c"));
+    assertEquals("{a=one, b=null}", map.toString());
+  }
+
+  @Test
+  public void growsBeyondInitialCapacity() {
+    Map<String, String> hashMap = new HashMap<String, String>();
+    for (int i = 0; i < 100; i++) {
+      String key = "k" + ((i * 37) % 100);
+      map.put(key, "v" + i);
+      hashMap.put(key, "v" + i);
+    }
+    assertEquals(hashMap, map);
+    assertEquals(map, hashMap);
+    assertEquals(hashMap.hashCode(), map.hashCode());
+    assertEquals(map, new MDCPropertyMap(hashMap));
+  }
+
+  @Test
+  public void putAllMergesEntries() {
+    map.put("a", "1");
+    map.put("c", "3");
+    Map<String, String> hashMap = new HashMap<String, String>();
+    hashMap.put("d", "4");
+    hashMap.put("c", "three");
+    hashMap.put("b", "2");
+    map.putAll(hashMap);
+    assertEquals("{a=1, b=2, c=three, d=4}", map.toString());
+
+    MDCPropertyMap other = new MDCPropertyMap();
+    other.put("0", "zero");
+    other.put("e", "5");
+    map.putAll(other);
+    assertEquals("{0=zero, a=1, b=2, c=three, d=4, e=5}", map.toString());
+    map.put("f", "6");
+    assertEquals(7, map.size());
+  }
+
+  @Test
+  public void putAllOfLargeMap() {
+    Map<String, String> hashMap = new HashMap<String, String>();
+    for (int i = 0; i < 100000; i++) {
+      hashMap.put("k" + i, "v" + i);
+    }
+    map.put("k5", "old");
+    map.put("x", "y");
+    map.putAll(hashMap);
+    assertEquals(hashMap.size() + 1, map.size());
+    assertEquals("v5", map.get("k5"));
+    assertEquals("y", map.get("x"));
+    assertEquals(new MDCPropertyMap(hashMap), hashMap);
+  }
+
+  @Test
+  public void putAllWithNullKeyLeavesMapUnchanged() {
+    map.put("k", "v");
+    Map<String, String> hashMap = new HashMap<String, String>();
+    hashMap.put("a", "1");
+    hashMap.put(null, "v");
+    try {
+      map.putAll(hashMap);
+      fail("null key was accepted");
+    } catch (IllegalArgumentException e) {
+    }
+    assertEquals("{k=v}", map.toString());
+  }
+
+  @Test
+  public void copyIsIndependent() {
+    map.put("k", "v");
+    map.freeze();
+    MDCPropertyMap copy = new MDCPropertyMap(map);
+    assertFalse(copy.isFrozen());
+    copy.put("k2", "v2");
+    assertEquals(1, map.size());
+    assertEquals(2, copy.size());
+  }
+
+  @Test
+  public void frozenMapsCannotBeModified() {
+    map.put("k", "v");
+    map.freeze();
+    try {
+      map.put("k", "v2");
+      fail("frozen map was modified");
+    } catch (UnsupportedOperationException e) {
+    }
+    try {
+      map.remove("k");
+      fail("frozen map was modified");
+    } catch (UnsupportedOperationException e) {
+    }
+    try {
+      map.clear();
+      fail("frozen map was modified");
+    } catch (UnsupportedOperationException e) {
+    }
+    try {
+      map.keySet().clear();
+      fail("frozen map was modified");
+    } catch (UnsupportedOperationException e) {
+    }
+    assertEquals("v", map.get("k"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void nullKey() {
+    map.put(null, "v");
+  }
+
+  @Test
+  public void serializedAsHashMap() throws Exception {
+    map.put("k", "v");
+    map.put("n", null);
+    map.freeze();
+    ByteArrayOutputStream baos = new ByteArrayOutputStream();
+    ObjectOutputStream oos = new ObjectOutputStream(baos);
+    oos.writeObject(map);
+    oos.close();
+    ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(
+        baos.toByteArray()));
+    Object copy = ois.readObject();
+    assertEquals(HashMap.class, copy.getClass());
+    assertEquals(map, copy);
+  }
+}
@@ -0,0 +1,304 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import ch.qos.logback.core.async.RingBufferBlockingQueue;
+import ch.qos.logback.core.async.WaitStrategy;
+import ch.qos.logback.core.spi.AppenderAttachable;
+import ch.qos.logback.core.spi.AppenderAttachableImpl;
+import ch.qos.logback.core.spi.DeferredProcessingAware;
+
+/**
+ * This appender and derived classes, log events asynchronously. In order to
+ * avoid loss of logging events, this appender should be closed. It is the
+ * user's responsibility to close appenders, typically at the end of the
+ * application lifecycle.
+ * <p/>
+ * This appender buffers events in a {@link BlockingQueue}. {@link Worker}
+ * thread created by this appender takes events from the head of the queue,
+ * and dispatches them to the single appender attached to this appender.
+ * <p/>
+ * By default the queue is an {@link ArrayBlockingQueue}. If the
+ * <b>WaitStrategy</b> property is set, a lock-free
+ * {@link RingBufferBlockingQueue} is used instead, which scales better when
+ * many threads log concurrently.
+ * <p/>
+ * <p>
+ * Please refer to the <a
+ * href="http://logback.qos.ch/manual/appenders.html#AsyncAppender">logback
+ * manual</a> for further information about this appender.
+ * </p>
+ *
+ * @param <E>
+ */
+public class AsyncAppenderBase<E> extends UnsynchronizedAppenderBase<E>
+    implements AppenderAttachable<E> {
+
+  AppenderAttachableImpl<E> aai = new AppenderAttachableImpl<E>();
+  BlockingQueue<E> blockingQueue;
+
+  /**
+   * The default buffer size.
+   */
+  public static final int DEFAULT_QUEUE_SIZE = 256;
+  int queueSize = DEFAULT_QUEUE_SIZE;
+
+  int appenderCount = 0;
+
+  static final int UNDEFINED = -1;
+  int discardingThreshold = UNDEFINED;
+
+  /**
+   * The maximum number of events the worker hands to the attached appender
+   * per wake-up.
+   */
+  static final int MAX_BATCH_SIZE = 64;
+
+  WaitStrategy waitStrategy;
+
+  Worker worker = new Worker();
+
+  /**
+   * Is the eventObject passed as parameter discardable? The base class's
+   * implementation of this method always returns 'false' but sub-classes may
+   * (and do) override this method.
+   * <p/>
+   * <p>
+   * Note that only if the buffer is nearly full are events discarded.
+   * Otherwise, when the buffer is "not full" all events are logged.
+   *
+   * @param eventObject
+   * @return - true if the event can be discarded, false otherwise
+   */
+  protected boolean isDiscardable(E eventObject) {
+    return false;
+  }
+
+  /**
+   * Pre-process the event prior to queueing. The base class calls
+   * {@link DeferredProcessingAware#prepareForDeferredProcessing()} on events
+   * supporting it so that thread-dependent data is captured on the calling
+   * thread. Sub-classes may extend this behavior.
+   *
+   * @param eventObject
+   * @return the event to queue, either eventObject or a copy of it
+   */
+  protected E preprocess(E eventObject) {
+    if (eventObject instanceof DeferredProcessingAware) {
+      ((DeferredProcessingAware) eventObject).prepareForDeferredProcessing();
+    }
+    return eventObject;
+  }
+
+  @Override
+  public void start() {
+    if (appenderCount == 0) {
+      addError("No attached appenders found.");
+      return;
+    }
+    if (queueSize < 1) {
+      addError("Invalid queue size [" + queueSize + "]");
+      return;
+    }
+    blockingQueue = buildBlockingQueue();
+
+    if (discardingThreshold == UNDEFINED)
+      discardingThreshold = queueSize / 5;
+    addInfo("Setting discardingThreshold to " + discardingThreshold);
+    worker.setDaemon(true);
+    worker.setName("AsyncAppender-Worker-" + worker.getName());
+    // make sure this instance is marked as "started" before staring the worker
+    // Thread
+    super.start();
+    worker.start();
+  }
+
+  BlockingQueue<E> buildBlockingQueue() {
+    if (waitStrategy == null) {
+      return new ArrayBlockingQueue<E>(queueSize);
+    }
+    RingBufferBlockingQueue<E> ringBuffer = new RingBufferBlockingQueue<E>(
+        queueSize, waitStrategy);
+    addInfo("Using a ring buffer of size " + ringBuffer.getCapacity()
+        + " with wait strategy " + waitStrategy);
+    return ringBuffer;
+  }
+
+  @Override
+  public void stop() {
+    if (!isStarted())
+      return;
+
+    // mark this appender as stopped so that the Worker exits its main loop
+    // even if the interruption below is consumed by a sub-appender
+    super.stop();
+
+    // interrupt the worker thread so that it can terminate. Note that the
+    // interruption can be consumed by sub-appenders
+    worker.interrupt();
+    try {
+      worker.join(1000);
+    } catch (InterruptedException e) {
+      addError("Failed to join worker thread", e);
+    }
+  }
+
+  @Override
+  protected void append(E eventObject) {
+    if (isQueueBelowDiscardingThreshold() && isDiscardable(eventObject)) {
+      return;
+    }
+    put(preprocess(eventObject));
+  }
+
+  private boolean isQueueBelowDiscardingThreshold() {
+    return (blockingQueue.remainingCapacity() < discardingThreshold);
+  }
+
+  private void put(E eventObject) {
+    try {
+      blockingQueue.put(eventObject);
+    } catch (InterruptedException e) {
+      // restore the interrupted status of the calling thread
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public int getQueueSize() {
+    return queueSize;
+  }
+
+  public void setQueueSize(int queueSize) {
+    this.queueSize = queueSize;
+  }
+
+  public WaitStrategy getWaitStrategy() {
+    return waitStrategy;
+  }
+
+  /**
+   * Setting a wait strategy (SPIN, YIELD or PARK) switches the appender to a
+   * lock-free ring buffer in place of the default blocking queue. The queue
+   * size is then rounded up to the next power of two.
+   */
+  public void setWaitStrategy(WaitStrategy waitStrategy) {
+    this.waitStrategy = waitStrategy;
+  }
+
+  public int getDiscardingThreshold() {
+    return discardingThreshold;
+  }
+
+  public void setDiscardingThreshold(int discardingThreshold) {
+    this.discardingThreshold = discardingThreshold;
+  }
+
+  /**
+   * Returns the number of elements currently in the blocking queue.
+   *
+   * @return number of elements currently in the queue.
+   */
+  public int getNumberOfElementsInQueue() {
+    return blockingQueue.size();
+  }
+
+  /**
+   * The remaining capacity available in the blocking queue.
+   *
+   * @return the remaining capacity
+   * @see {@link java.util.concurrent.BlockingQueue#remainingCapacity()}
+   */
+  public int getRemainingCapacity() {
+    return blockingQueue.remainingCapacity();
+  }
+
+  public void addAppender(Appender<E> newAppender) {
+    if (appenderCount == 0) {
+      appenderCount++;
+      addInfo("Attaching appender named [" + newAppender.getName()
+          + "] to AsyncAppender.");
+      aai.addAppender(newAppender);
+    } else {
+      addWarn("One and only one appender may be attached to AsyncAppender.");
+      addWarn("Ignoring additional appender named [" + newAppender.getName()
+          + "]");
+    }
+  }
+
+  public Iterator<Appender<E>> iteratorForAppenders() {
+    return aai.iteratorForAppenders();
+  }
+
+  public Appender<E> getAppender(String name) {
+    return aai.getAppender(name);
+  }
+
+  public boolean isAttached(Appender<E> eAppender) {
+    return aai.isAttached(eAppender);
+  }
+
+  public void detachAndStopAllAppenders() {
+    aai.detachAndStopAllAppenders();
+  }
+
+  public boolean detachAppender(Appender<E> eAppender) {
+    return aai.detachAppender(eAppender);
+  }
+
+  public boolean detachAppender(String name) {
+    return aai.detachAppender(name);
+  }
+
+  class Worker extends Thread {
+
+    public void run() {
+      AsyncAppenderBase<E> parent = AsyncAppenderBase.this;
+      AppenderAttachableImpl<E> aai = parent.aai;
+      List<E> batch = new ArrayList<E>(MAX_BATCH_SIZE);
+
+      // loop while the parent is started
+      while (parent.isStarted()) {
+        try {
+          batch.add(parent.blockingQueue.take());
+          parent.blockingQueue.drainTo(batch, MAX_BATCH_SIZE - 1);
+          dispatch(aai, batch);
+        } catch (InterruptedException ie) {
+          break;
+        }
+      }
+
+      addInfo("Worker thread will flush remaining events before exiting. ");
+      // flush-on-stop: drain whatever is still queued
+      dispatch(aai, batch);
+      while (parent.blockingQueue.drainTo(batch, MAX_BATCH_SIZE) > 0) {
+        dispatch(aai, batch);
+      }
+
+      aai.detachAndStopAllAppenders();
+    }
+
+    private void dispatch(AppenderAttachableImpl<E> aai, List<E> batch) {
+      for (E e : batch) {
+        aai.appendLoopOnAppenders(e);
+      }
+      batch.clear();
+    }
+  }
+}
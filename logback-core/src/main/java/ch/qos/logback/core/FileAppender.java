@@ -18,7 +18,11 @@ import java.io.IOException;
 import java.nio.channels.FileChannel;
 import java.nio.channels.FileLock;
 
+import ch.qos.logback.core.encoder.Encoder;
+import ch.qos.logback.core.encoder.JsonEncoderBase;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.recovery.ResilientFileOutputStream;
+import ch.qos.logback.core.util.FileSize;
 import ch.qos.logback.core.util.FileUtil;
 
 /**
@@ -45,6 +49,9 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
 
   private boolean prudent = false;
 
+  // 0 unless set explicitly, see getEffectiveBufferSize()
+  private int bufferSize = 0;
+
   /**
    * As in most cases, the default constructor does nothing.
    */
@@ -161,7 +168,7 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
       }
 
       ResilientFileOutputStream resilientFos = new ResilientFileOutputStream(
-          file, append);
+          file, append, getEffectiveBufferSize());
       resilientFos.setContext(context);
       setOutputStream(resilientFos);
     }
@@ -190,6 +197,48 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
     this.append = append;
   }
 
+  public FileSize getBufferSize() {
+    return FileSize.valueOf(Integer.toString(bufferSize));
+  }
+
+  /**
+   * The size of the buffer placed in front of the file. Unless the encoder
+   * flushes after every event, see its <b>ImmediateFlush</b> property, output
+   * reaches the file when the buffer is full, when the appender is stopped, or
+   * every <b>MaxFlushDelay</b> if set.
+   * 
+   * <p>
+   * If this property is not set, the file is only buffered, with a buffer of
+   * 8 kilobytes, for encoders of logback whose <b>ImmediateFlush</b> property
+   * is false. Output of other encoders reaches the file as soon as it is
+   * written, as they may not flush.
+   * 
+   * @param bufferSize
+   */
+  public void setBufferSize(FileSize bufferSize) {
+    long size = bufferSize.getSize();
+    if (size < 1 || size > Integer.MAX_VALUE) {
+      addWarn("Buffer size [" + size + "] is out of range. Using ["
+          + this.bufferSize + "] instead.");
+      return;
+    }
+    this.bufferSize = (int) size;
+  }
+
+  int getEffectiveBufferSize() {
+    if (bufferSize > 0) {
+      return bufferSize;
+    }
+    Encoder<E> encoder = getEncoder();
+    boolean deferredFlush = false;
+    if (encoder instanceof LayoutWrappingEncoder) {
+      deferredFlush = !((LayoutWrappingEncoder<E>) encoder).isImmediateFlush();
+    } else if (encoder instanceof JsonEncoderBase) {
+      deferredFlush = !((JsonEncoderBase<E>) encoder).isImmediateFlush();
+    }
+    return deferredFlush ? ResilientFileOutputStream.DEFAULT_BUFFER_SIZE : 0;
+  }
+
   final private void safeWrite(E event) throws IOException {
     ResilientFileOutputStream resilientFOS = (ResilientFileOutputStream) getOutputStream();
     FileChannel fileChannel = resilientFOS.getChannel();
@@ -205,6 +254,8 @@ public class FileAppender<E> extends OutputStreamAppender<E> {
         fileChannel.position(size);
       }
       super.writeOut(event);
+      // the bytes must reach the file while we still hold the lock
+      resilientFOS.flush();
     } finally {
       if (fileLock != null) {
         fileLock.release();
@@ -63,6 +63,37 @@ abstract public class LayoutBase<E> extends ContextAwareBase implements Layout<E
   public String getContentType() {
     return "text/plain";
   }
+
+  /**
+   * Append the layout of the event to the given buffer. This implementation
+   * appends the result of {@link #doLayout(Object)}. Sub-classes able to
+   * write to the buffer directly should override it.
+   * 
+   * @param event
+   * @param buf
+   */
+  public void doLayout(E event, StringBuilder buf) {
+    buf.append(doLayout(event));
+  }
+
+  /**
+   * Whether {@link #doLayout(Object, StringBuilder)} yields the same output as
+   * {@link #doLayout(Object)}. This is not the case when a sub-class overrides
+   * doLayout(Object), say to mask sensitive data, without overriding
+   * doLayout(Object, StringBuilder) as well, in which case callers must go
+   * through doLayout(Object).
+   */
+  public boolean isDoLayoutIntoBufferEquivalent() {
+    try {
+      Class<?> plain = getClass().getMethod("doLayout", Object.class)
+          .getDeclaringClass();
+      Class<?> buffered = getClass().getMethod("doLayout", Object.class,
+          StringBuilder.class).getDeclaringClass();
+      return buffered == LayoutBase.class || plain.isAssignableFrom(buffered);
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
   
   public void setFileHeader(String header) {
     this.fileHeader = header;
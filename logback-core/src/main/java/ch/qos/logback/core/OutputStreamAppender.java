@@ -17,11 +17,14 @@ import static ch.qos.logback.core.CoreConstants.CODES_URL;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Timer;
+import java.util.TimerTask;
 
 import ch.qos.logback.core.encoder.Encoder;
 import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.spi.DeferredProcessingAware;
 import ch.qos.logback.core.status.ErrorStatus;
+import ch.qos.logback.core.util.Duration;
 
 /**
  * OutputStreamAppender appends events to a {@link OutputStream}. This class
@@ -51,6 +54,13 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
    */
   private OutputStream outputStream;
 
+  /**
+   * If set, buffered output is flushed at least this often.
+   */
+  private Duration maxFlushDelay;
+
+  private Timer flushTimer;
+
   /**
    * The default constructor does nothing.
    */
@@ -86,9 +96,60 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
     // only error free appenders should be activated
     if (errors == 0) {
       super.start();
+      startFlushTimer();
+    }
+  }
+
+  private void startFlushTimer() {
+    if (maxFlushDelay == null) {
+      return;
+    }
+    long period = maxFlushDelay.getMilliseconds();
+    if (period <= 0) {
+      addWarn("MaxFlushDelay must be positive, ignoring [" + maxFlushDelay
+          + "]");
+      return;
+    }
+    addInfo("Will flush output at least every " + maxFlushDelay);
+    flushTimer = new Timer("OutputStreamAppender-Flusher-" + name, true);
+    flushTimer.schedule(new TimerTask() {
+      public void run() {
+        flush();
+      }
+    }, period, period);
+  }
+
+  /**
+   * Write out any output buffered by the underlying output stream.
+   */
+  public void flush() {
+    synchronized (lock) {
+      if (this.outputStream == null) {
+        return;
+      }
+      try {
+        this.outputStream.flush();
+      } catch (IOException e) {
+        addStatus(new ErrorStatus("Failed to flush output stream.", this, e));
+      }
     }
   }
 
+  public Duration getMaxFlushDelay() {
+    return maxFlushDelay;
+  }
+
+  /**
+   * When the encoder does not flush after each event, output may remain
+   * buffered for an unbounded amount of time. Setting this property makes a
+   * background timer flush the output at the specified interval.
+   * 
+   * @param maxFlushDelay
+   */
+  public void setMaxFlushDelay(Duration maxFlushDelay) {
+    this.maxFlushDelay = maxFlushDelay;
+  }
+
   public void setLayout(Layout<E> layout) {
     addWarn("This appender no longer admits a layout as a sub-component, set an encoder instead.");
     addWarn("To ensure compatibility, wrapping your layout in LayoutWrappingEncoder.");
@@ -116,6 +177,10 @@ public class OutputStreamAppender<E> extends UnsynchronizedAppenderBase<E> {
    * Stopped appenders cannot be reused.
    */
   public void stop() {
+    if (flushTimer != null) {
+      flushTimer.cancel();
+      flushTimer = null;
+    }
     synchronized (lock) {
       closeOutputStream();
       super.stop();
@@ -0,0 +1,273 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.async;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * A bounded multi-producer single-consumer queue backed by a preallocated
+ * ring buffer whose size is a power of two.
+ *
+ * <p>
+ * Producers claim slots by CAS on a shared cursor and publish them by
+ * advancing the slot's sequence number. No locks are ever taken, so producers
+ * never contend on a monitor. Waiting, either by producers on a full buffer or
+ * by the consumer on an empty one, is delegated to a {@link WaitStrategy}.
+ *
+ * <p>
+ * <b>Only a single thread may remove elements from this queue</b>, i.e. call
+ * {@link #poll()}, {@link #take()}, {@link #drainTo(Collection)} and friends.
+ * The inspection methods ({@link #size()}, {@link #iterator()}) are only
+ * approximate while producers are active.
+ *
+ * @param <E>
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements
+    BlockingQueue<E> {
+
+  final int capacity;
+  final int mask;
+
+  final AtomicReferenceArray<E> buffer;
+  // sequences[i] == position : slot i is free for the producer claiming position
+  // sequences[i] == position+1 : slot i holds the element published at position
+  final AtomicLongArray sequences;
+
+  // next position to be claimed by a producer
+  final AtomicLong tail = new AtomicLong(0);
+  // next position to be consumed, only written by the consumer thread
+  volatile long head = 0;
+
+  final WaitStrategy waitStrategy;
+
+  /**
+   * @param requestedCapacity
+   *          rounded up to the next power of two, and to at least 2 as a
+   *          single slot cannot tell a published element from a free slot
+   *          of the next lap
+   * @param waitStrategy
+   */
+  public RingBufferBlockingQueue(int requestedCapacity,
+      WaitStrategy waitStrategy) {
+    if (requestedCapacity < 1) {
+      throw new IllegalArgumentException("Capacity must be positive");
+    }
+    if (waitStrategy == null) {
+      throw new IllegalArgumentException("Null WaitStrategy disallowed");
+    }
+    this.capacity = nextPowerOfTwo(Math.max(2, requestedCapacity));
+    this.mask = capacity - 1;
+    this.buffer = new AtomicReferenceArray<E>(capacity);
+    this.sequences = new AtomicLongArray(capacity);
+    for (int i = 0; i < capacity; i++) {
+      sequences.set(i, i);
+    }
+    this.waitStrategy = waitStrategy;
+  }
+
+  static int nextPowerOfTwo(int n) {
+    int result = 1;
+    while (result < n) {
+      result <<= 1;
+    }
+    return result;
+  }
+
+  public int getCapacity() {
+    return capacity;
+  }
+
+  public WaitStrategy getWaitStrategy() {
+    return waitStrategy;
+  }
+
+  public boolean offer(E e) {
+    if (e == null) {
+      throw new NullPointerException();
+    }
+    for (;;) {
+      long position = tail.get();
+      int index = (int) position & mask;
+      long diff = sequences.get(index) - position;
+      if (diff == 0) {
+        if (tail.compareAndSet(position, position + 1)) {
+          buffer.set(index, e);
+          // publish
+          sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (diff < 0) {
+        // the slot has not been consumed yet, i.e. the buffer is full
+        return false;
+      }
+      // else another producer claimed this position, retry
+    }
+  }
+
+  public E poll() {
+    long position = head;
+    int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      // nothing published at this position yet
+      return null;
+    }
+    E e = buffer.get(index);
+    buffer.set(index, null);
+    // hand the slot back to producers for the next lap
+    sequences.set(index, position + capacity);
+    head = position + 1;
+    return e;
+  }
+
+  public E peek() {
+    long position = head;
+    int index = (int) position & mask;
+    if (sequences.get(index) != position + 1) {
+      return null;
+    }
+    return buffer.get(index);
+  }
+
+  public void put(E e) throws InterruptedException {
+    int counter = 0;
+    while (!offer(e)) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      waitStrategy.idle(counter++);
+    }
+  }
+
+  public boolean offer(E e, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    int counter = 0;
+    while (!offer(e)) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      if (System.nanoTime() - deadline >= 0) {
+        return false;
+      }
+      waitStrategy.idle(counter++);
+    }
+    return true;
+  }
+
+  public E take() throws InterruptedException {
+    int counter = 0;
+    E e;
+    while ((e = poll()) == null) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      waitStrategy.idle(counter++);
+    }
+    return e;
+  }
+
+  public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    int counter = 0;
+    E e;
+    while ((e = poll()) == null) {
+      if (Thread.interrupted()) {
+        throw new InterruptedException();
+      }
+      if (System.nanoTime() - deadline >= 0) {
+        return null;
+      }
+      waitStrategy.idle(counter++);
+    }
+    return e;
+  }
+
+  public int drainTo(Collection<? super E> c) {
+    return drainTo(c, Integer.MAX_VALUE);
+  }
+
+  public int drainTo(Collection<? super E> c, int maxElements) {
+    if (c == null) {
+      throw new NullPointerException();
+    }
+    if (c == this) {
+      throw new IllegalArgumentException();
+    }
+    int n = 0;
+    E e;
+    while (n < maxElements && (e = poll()) != null) {
+      c.add(e);
+      n++;
+    }
+    return n;
+  }
+
+  public int remainingCapacity() {
+    return capacity - size();
+  }
+
+  public int size() {
+    long size = tail.get() - head;
+    if (size < 0) {
+      return 0;
+    }
+    if (size > capacity) {
+      return capacity;
+    }
+    return (int) size;
+  }
+
+  /**
+   * Returns an iterator over a snapshot of the elements published at the time
+   * of the call. The iterator does not support removal.
+   */
+  public Iterator<E> iterator() {
+    List<E> snapshot = new ArrayList<E>();
+    long end = tail.get();
+    for (long position = head; position < end; position++) {
+      int index = (int) position & mask;
+      if (sequences.get(index) != position + 1) {
+        break;
+      }
+      E e = buffer.get(index);
+      if (e == null) {
+        break;
+      }
+      snapshot.add(e);
+    }
+    final Iterator<E> it = snapshot.iterator();
+    return new Iterator<E>() {
+      public boolean hasNext() {
+        return it.hasNext();
+      }
+
+      public E next() {
+        return it.next();
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+    };
+  }
+}
@@ -0,0 +1,62 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.async;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Determines how a thread waits on a {@link RingBufferBlockingQueue} which is
+ * either empty (consumer side) or full (producer side).
+ *
+ * <p>
+ * SPIN offers the lowest latency but burns a full core while waiting. YIELD
+ * gives the CPU away between checks. PARK sleeps for a short period between
+ * checks and is the only reasonable choice when there are fewer cores than
+ * busy threads.
+ */
+public enum WaitStrategy {
+
+  SPIN {
+    void idle(int counter) {
+      // busy spin
+    }
+  },
+
+  YIELD {
+    void idle(int counter) {
+      Thread.yield();
+    }
+  },
+
+  PARK {
+    void idle(int counter) {
+      if (counter < SPIN_TRIES) {
+        Thread.yield();
+      } else {
+        LockSupport.parkNanos(PARK_NANOS);
+      }
+    }
+  };
+
+  static final int SPIN_TRIES = 100;
+  static final long PARK_NANOS = 50 * 1000L;
+
+  /**
+   * Wait a little.
+   *
+   * @param counter
+   *          the number of times idle was called for the current wait
+   */
+  abstract void idle(int counter);
+}
@@ -29,6 +29,7 @@ public class EchoEncoder<E> extends EncoderBase<E> {
   public void doEncode(E event) throws IOException {
     String val = event + CoreConstants.LINE_SEPARATOR;
     outputStream.write(val.getBytes());
+    outputStream.flush();
   }
 
   public void close() throws IOException {
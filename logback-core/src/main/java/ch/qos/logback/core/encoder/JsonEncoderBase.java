@@ -0,0 +1,411 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import java.io.IOException;
+
+/**
+ * Base class for encoders writing each event as a JSON object on a line of
+ * its own. Values are encoded as UTF-8 directly into a reusable byte array,
+ * without going through an intermediary String, and written to the output
+ * stream with a single call per event.
+ * 
+ * <p>
+ * Sub-classes write the fields of the event in {@link #writeFields(Object)}
+ * by way of the <code>write*</code> methods. Field names are expected to be
+ * converted once with {@link #fieldName(String)}. Commas separating fields and
+ * array elements are inserted automatically.
+ * 
+ * @param <E>
+ *          event type
+ */
+abstract public class JsonEncoderBase<E> extends EncoderBase<E> {
+
+  static final int INITIAL_BUFFER_SIZE = 512;
+  // buffers grown beyond this size, e.g. by a long stack trace, are not kept
+  static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+
+  // a character c below 0x80 needs to be escaped if ESCAPES[c] is not 0, in
+  // which case ESCAPES[c] is the character following the backslash
+  static final byte[] ESCAPES = new byte[0x80];
+  static final byte[] HEX_DIGITS = { '0', '1', '2', '3', '4', '5', '6', '7',
+      '8', '9', 'a', 'b', 'c', 'd', 'e', 'f' };
+  // tens and ones digits of the numbers from 0 to 99
+  static final byte[] DIGIT_TENS = new byte[100];
+  static final byte[] DIGIT_ONES = new byte[100];
+  static final byte[] NULL_BYTES = { 'n', 'u', 'l', 'l' };
+  static final byte[] LONG_MIN_VALUE_BYTES = utf8(String
+      .valueOf(Long.MIN_VALUE));
+
+  static {
+    for (int c = 0; c < 0x20; c++) {
+      ESCAPES[c] = 'u';
+    }
+    ESCAPES['"'] = '"';
+    ESCAPES['\\'] = '\\';
+    ESCAPES['\b'] = 'b';
+    ESCAPES['\f'] = 'f';
+    ESCAPES['\n'] = 'n';
+    ESCAPES['\r'] = 'r';
+    ESCAPES['\t'] = 't';
+    for (int i = 0; i < 100; i++) {
+      DIGIT_TENS[i] = (byte) ('0' + i / 10);
+      DIGIT_ONES[i] = (byte) ('0' + i % 10);
+    }
+  }
+
+  /**
+   * Whether the output stream is flushed after each event. True by default.
+   */
+  private boolean immediateFlush = true;
+
+  // reused from one event to the next. This is safe as doEncode is invoked
+  // while holding the lock of the enclosing appender
+  private byte[] buf = new byte[INITIAL_BUFFER_SIZE];
+  private char[] chars = new char[INITIAL_BUFFER_SIZE];
+  private int pos;
+  // whether a comma must be written before the next field or array element
+  private boolean commaNeeded;
+
+  public boolean isImmediateFlush() {
+    return immediateFlush;
+  }
+
+  /**
+   * Setting this property to false lets the output stream buffer events,
+   * which is considerably faster when the stream is buffered, as with
+   * FileAppender. On the downside, the last events may be lost if the
+   * application crashes.
+   * 
+   * @param immediateFlush
+   */
+  public void setImmediateFlush(boolean immediateFlush) {
+    this.immediateFlush = immediateFlush;
+  }
+
+  /**
+   * Should the output stream be flushed after writing the event? The default
+   * implementation returns the value of the <b>ImmediateFlush</b> property.
+   * 
+   * @param event
+   */
+  protected boolean isFlushRequired(E event) {
+    return immediateFlush;
+  }
+
+  /**
+   * Write the fields of the event, the enclosing braces excluded.
+   */
+  abstract protected void writeFields(E event);
+
+  public void doEncode(E event) throws IOException {
+    pos = 0;
+    commaNeeded = false;
+    writeStartObject();
+    writeFields(event);
+    writeEndObject();
+    ensureCapacity(1);
+    buf[pos++] = '\n';
+    outputStream.write(buf, 0, pos);
+    if (isFlushRequired(event)) {
+      outputStream.flush();
+    }
+    if (buf.length > MAX_RETAINED_BUFFER_SIZE) {
+      buf = new byte[INITIAL_BUFFER_SIZE];
+    }
+    if (chars.length > MAX_RETAINED_BUFFER_SIZE) {
+      chars = new char[INITIAL_BUFFER_SIZE];
+    }
+  }
+
+  public void close() throws IOException {
+  }
+
+  /**
+   * Returns the UTF-8 encoding of <code>"name":</code>, to be passed to
+   * {@link #writeFieldName(byte[])}.
+   */
+  public static byte[] fieldName(String name) {
+    StringBuilder sb = new StringBuilder(name.length() + 3);
+    sb.append('"');
+    appendEscaped(sb, name);
+    sb.append("\":");
+    return utf8(sb.toString());
+  }
+
+  /**
+   * Append the string passed as parameter to <code>sb</code>, escaped so as
+   * to be valid between the double quotes of a JSON string. Characters
+   * outside the ASCII range are escaped as well, so that the result can be
+   * passed to {@link #writeRawValue(String)}.
+   */
+  public static void appendEscaped(StringBuilder sb, String s) {
+    int len = s.length();
+    for (int i = 0; i < len; i++) {
+      char c = s.charAt(i);
+      int escape = (c < 0x80) ? ESCAPES[c] : 'u';
+      if (escape == 0) {
+        sb.append(c);
+      } else if (escape == 'u') {
+        sb.append("\\u").append((char) HEX_DIGITS[c >> 12]).append(
+            (char) HEX_DIGITS[(c >> 8) & 0xF]).append(
+            (char) HEX_DIGITS[(c >> 4) & 0xF]).append(
+            (char) HEX_DIGITS[c & 0xF]);
+      } else {
+        sb.append('\\').append((char) escape);
+      }
+    }
+  }
+
+  private static byte[] utf8(String s) {
+    try {
+      return s.getBytes("UTF-8");
+    } catch (java.io.UnsupportedEncodingException e) {
+      // UTF-8 is supported by every JVM
+      throw new IllegalStateException(e);
+    }
+  }
+
+  protected final void writeFieldName(byte[] name) {
+    separate();
+    writeBytes(name);
+    commaNeeded = false;
+  }
+
+  /**
+   * Write a field name computed at runtime, e.g. a map key. Constant field
+   * names are better converted once with {@link #fieldName(String)}. A null
+   * name, which JSON does not allow, is written as the string "null".
+   */
+  protected final void writeFieldName(String name) {
+    // the capacity reserved by writeString includes the colon
+    writeString(name == null ? "null" : name);
+    buf[pos++] = ':';
+    commaNeeded = false;
+  }
+
+  protected final void writeStartObject() {
+    separate();
+    ensureCapacity(1);
+    buf[pos++] = '{';
+    commaNeeded = false;
+  }
+
+  protected final void writeEndObject() {
+    ensureCapacity(1);
+    buf[pos++] = '}';
+    commaNeeded = true;
+  }
+
+  protected final void writeStartArray() {
+    separate();
+    ensureCapacity(1);
+    buf[pos++] = '[';
+    commaNeeded = false;
+  }
+
+  protected final void writeEndArray() {
+    ensureCapacity(1);
+    buf[pos++] = ']';
+    commaNeeded = true;
+  }
+
+  /**
+   * Write a string value, or <code>null</code> if <code>s</code> is null.
+   */
+  protected final void writeString(String s) {
+    separate();
+    if (s == null) {
+      writeBytes(NULL_BYTES);
+    } else {
+      // worst case: 6 bytes for an escaped control character, plus quotes
+      // and the colon following a field name
+      ensureCapacity(s.length() * 6 + 3);
+      buf[pos++] = '"';
+      writeChars(s);
+      buf[pos++] = '"';
+    }
+    commaNeeded = true;
+  }
+
+  protected final void writeNumber(long value) {
+    separate();
+    if (value == Long.MIN_VALUE) {
+      writeBytes(LONG_MIN_VALUE_BYTES);
+    } else {
+      ensureCapacity(20);
+      if (value < 0) {
+        buf[pos++] = '-';
+        value = -value;
+      }
+      writeDigits(value);
+    }
+    commaNeeded = true;
+  }
+
+  protected final void writeNull() {
+    separate();
+    writeBytes(NULL_BYTES);
+    commaNeeded = true;
+  }
+
+  /**
+   * Write a value which is already valid JSON and made of ASCII characters
+   * only, e.g. an object rendered earlier with the help of
+   * {@link #appendEscaped(StringBuilder, String)}. This is typically used to
+   * write cached renderings, hence the fast copy.
+   */
+  @SuppressWarnings("deprecation")
+  protected final void writeRawValue(String asciiJson) {
+    separate();
+    int len = asciiJson.length();
+    ensureCapacity(len);
+    // copies the low byte of each character, which for ASCII characters is
+    // their UTF-8 encoding, and much faster than encoding them one by one
+    asciiJson.getBytes(0, len, buf, pos);
+    pos += len;
+    commaNeeded = true;
+  }
+
+  protected final void writeStringField(byte[] name, String value) {
+    writeFieldName(name);
+    writeString(value);
+  }
+
+  protected final void writeNumberField(byte[] name, long value) {
+    writeFieldName(name);
+    writeNumber(value);
+  }
+
+  private void separate() {
+    if (commaNeeded) {
+      ensureCapacity(1);
+      buf[pos++] = ',';
+    }
+  }
+
+  private void writeBytes(byte[] bytes) {
+    ensureCapacity(bytes.length);
+    System.arraycopy(bytes, 0, buf, pos, bytes.length);
+    pos += bytes.length;
+  }
+
+  /**
+   * Encode <code>s</code> as UTF-8, escaping the characters that may not
+   * appear in a JSON string. The caller must have ensured sufficient
+   * capacity.
+   */
+  private void writeChars(String s) {
+    byte[] escapes = ESCAPES;
+    byte[] b = buf;
+    int p = pos;
+    int len = s.length();
+    // bulk copying the characters is much faster than calling charAt
+    if (chars.length < len) {
+      chars = new char[len];
+    }
+    char[] ca = chars;
+    s.getChars(0, len, ca, 0);
+    // leading characters which are copied as is, usually the whole string
+    int i = 0;
+    for (; i < len; i++) {
+      char c = ca[i];
+      if (c >= 0x80 || escapes[c] != 0) {
+        break;
+      }
+      b[p + i] = (byte) c;
+    }
+    p += i;
+    for (; i < len; i++) {
+      char c = ca[i];
+      if (c < 0x80) {
+        int e = escapes[c];
+        if (e == 0) {
+          b[p++] = (byte) c;
+        } else {
+          b[p++] = '\\';
+          b[p++] = (byte) e;
+          if (e == 'u') {
+            b[p++] = '0';
+            b[p++] = '0';
+            b[p++] = HEX_DIGITS[c >> 4];
+            b[p++] = HEX_DIGITS[c & 0xF];
+          }
+        }
+      } else if (c < 0x800) {
+        b[p++] = (byte) (0xC0 | (c >> 6));
+        b[p++] = (byte) (0x80 | (c & 0x3F));
+      } else if (Character.isHighSurrogate(c) && i + 1 < len
+          && Character.isLowSurrogate(ca[i + 1])) {
+        int cp = Character.toCodePoint(c, ca[++i]);
+        b[p++] = (byte) (0xF0 | (cp >> 18));
+        b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+        b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+        b[p++] = (byte) (0x80 | (cp & 0x3F));
+      } else if (c >= Character.MIN_SURROGATE
+          && c <= Character.MAX_SURROGATE) {
+        // unpaired surrogate, replaced as String.getBytes does
+        b[p++] = '?';
+      } else {
+        b[p++] = (byte) (0xE0 | (c >> 12));
+        b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+        b[p++] = (byte) (0x80 | (c & 0x3F));
+      }
+    }
+    pos = p;
+  }
+
+  /**
+   * Write the decimal digits of a non-negative value, two at a time from
+   * the right so as to halve the number of divisions. The caller must have
+   * ensured sufficient capacity.
+   */
+  private void writeDigits(long value) {
+    int digitCount = 1;
+    for (long bound = 10; digitCount < 19 && value >= bound; bound *= 10) {
+      digitCount++;
+    }
+    byte[] b = buf;
+    int p = pos + digitCount;
+    pos = p;
+    while (value > Integer.MAX_VALUE) {
+      long q = value / 100;
+      int r = (int) (value - q * 100);
+      b[--p] = DIGIT_ONES[r];
+      b[--p] = DIGIT_TENS[r];
+      value = q;
+    }
+    int v = (int) value;
+    while (v >= 100) {
+      int q = v / 100;
+      int r = v - q * 100;
+      b[--p] = DIGIT_ONES[r];
+      b[--p] = DIGIT_TENS[r];
+      v = q;
+    }
+    b[--p] = DIGIT_ONES[v];
+    if (v >= 10) {
+      b[--p] = DIGIT_TENS[v];
+    }
+  }
+
+  private void ensureCapacity(int extra) {
+    int required = pos + extra;
+    if (required > buf.length) {
+      byte[] newBuf = new byte[Math.max(required, buf.length * 2)];
+      System.arraycopy(buf, 0, newBuf, 0, pos);
+      buf = newBuf;
+    }
+  }
+}
@@ -2,11 +2,16 @@ package ch.qos.logback.core.encoder;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.LayoutBase;
 
 public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
 
@@ -21,12 +26,41 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
    */
   private Charset charset;
 
+  /**
+   * Whether the output stream is flushed after each event. True by default.
+   */
+  private boolean immediateFlush = true;
+
+  static final int INITIAL_BUFFER_SIZE = 256;
+  // buffers grown beyond this size, e.g. by a long stack trace, are not kept
+  static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+
+  // the following buffers are reused from one event to the next. This is safe
+  // as doEncode is invoked while holding the lock of the enclosing appender
+  private StringBuilder textBuffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+  private char[] charArray = new char[INITIAL_BUFFER_SIZE];
+  private CharBuffer charBuffer = CharBuffer.wrap(charArray);
+  private byte[] byteArray = new byte[INITIAL_BUFFER_SIZE];
+  private ByteBuffer byteBuffer = ByteBuffer.wrap(byteArray);
+  private CharsetEncoder charsetEncoder;
+  // characters below this value are encoded as a single byte of the same
+  // value, 0 if the charset has no such property
+  private int directEncodingLimit;
+  // whether the layout can append to textBuffer instead of returning a String
+  private boolean layoutIntoBuffer;
+
   public Layout<E> getLayout() {
     return layout;
   }
 
   public void setLayout(Layout<E> layout) {
     this.layout = layout;
+    this.layoutIntoBuffer = isLayoutIntoBufferPossible(layout);
+  }
+
+  private static boolean isLayoutIntoBufferPossible(Layout<?> layout) {
+    return layout instanceof LayoutBase
+        && ((LayoutBase<?>) layout).isDoLayoutIntoBufferEquivalent();
   }
 
   public Charset getCharset() {
@@ -45,6 +79,34 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
    */
   public void setCharset(Charset charset) {
     this.charset = charset;
+    this.charsetEncoder = null;
+  }
+
+  public boolean isImmediateFlush() {
+    return immediateFlush;
+  }
+
+  /**
+   * Setting this property to false lets the output stream buffer events,
+   * which is considerably faster when the stream is buffered, as with
+   * FileAppender. On the downside, the last events may be lost if the
+   * application crashes.
+   * 
+   * @param immediateFlush
+   */
+  public void setImmediateFlush(boolean immediateFlush) {
+    this.immediateFlush = immediateFlush;
+  }
+
+  /**
+   * Should the output stream be flushed after writing the event? The default
+   * implementation returns the value of the <b>ImmediateFlush</b> property.
+   * Sub-classes may flush on certain events regardless.
+   * 
+   * @param event
+   */
+  protected boolean isFlushRequired(E event) {
+    return immediateFlush;
   }
 
   public void init(OutputStream os) throws IOException {
@@ -62,7 +124,7 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
         // If at least one of file header or presentation header were not
         // null, then append a line separator.
         // This should be useful in most cases and should not hurt.
-        outputStream.write(convertToBytes(sb.toString()));
+        encodeAndWrite(sb);
         outputStream.flush();
       }
     }
@@ -78,30 +140,127 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
       appendIfNotNull(sb, layout.getPresentationFooter());
       appendIfNotNull(sb, layout.getFileFooter());
       if (sb.length() > 0) {
-        outputStream.write(convertToBytes(sb.toString()));
+        encodeAndWrite(sb);
         outputStream.flush();
       }
 
     }
   }
 
-  private byte[] convertToBytes(String s) {
-    if (charset == null) {
-      return s.getBytes();
+  public void doEncode(E event) throws IOException {
+    if (layoutIntoBuffer) {
+      textBuffer.setLength(0);
+      ((LayoutBase<E>) layout).doLayout(event, textBuffer);
+      encodeAndWrite(textBuffer);
+      if (textBuffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+        textBuffer = new StringBuilder(INITIAL_BUFFER_SIZE);
+      }
     } else {
-      try {
-        return s.getBytes(charset.name());
-      } catch (UnsupportedEncodingException e) {
-        throw new IllegalStateException(
-            "An existing charset cannot possibly be unsupported.");
+      String txt = layout.doLayout(event);
+      int len = txt.length();
+      txt.getChars(0, len, ensureCharArray(len), 0);
+      encodeAndWrite(len);
+    }
+    if (isFlushRequired(event)) {
+      outputStream.flush();
+    }
+  }
+
+  private void encodeAndWrite(StringBuilder sb) throws IOException {
+    int len = sb.length();
+    sb.getChars(0, len, ensureCharArray(len), 0);
+    encodeAndWrite(len);
+  }
+
+  private char[] ensureCharArray(int len) {
+    if (charArray.length < len) {
+      charArray = new char[len];
+      charBuffer = CharBuffer.wrap(charArray);
+    }
+    return charArray;
+  }
+
+  /**
+   * Encode the first <code>len</code> characters of the reusable char array
+   * into the reusable byte array and write the result to the output stream.
+   * Unlike {@link String#getBytes(String)}, no arrays are allocated in the
+   * common case.
+   */
+  private void encodeAndWrite(int len) throws IOException {
+    CharsetEncoder ce = getCharsetEncoder();
+    int maxLen = (int) (len * ce.maxBytesPerChar()) + 1;
+    if (byteArray.length < maxLen) {
+      byteArray = new byte[maxLen];
+      byteBuffer = ByteBuffer.wrap(byteArray);
+    }
+
+    int byteCount = encodeDirectly(len);
+    if (byteCount < 0) {
+      charBuffer.clear();
+      charBuffer.limit(len);
+      byteBuffer.clear();
+      ce.reset();
+      CoderResult cr = ce.encode(charBuffer, byteBuffer, true);
+      if (!cr.isUnderflow()) {
+        // cannot happen with the REPLACE action and an array of maximal size
+        throw new IllegalStateException("Unexpected encoding result " + cr);
+      }
+      ce.flush(byteBuffer);
+      byteCount = byteBuffer.position();
+    }
+    outputStream.write(byteArray, 0, byteCount);
+
+    if (charArray.length > MAX_RETAINED_BUFFER_SIZE) {
+      charArray = new char[INITIAL_BUFFER_SIZE];
+      charBuffer = CharBuffer.wrap(charArray);
+    }
+    if (byteArray.length > MAX_RETAINED_BUFFER_SIZE) {
+      byteArray = new byte[INITIAL_BUFFER_SIZE];
+      byteBuffer = ByteBuffer.wrap(byteArray);
+    }
+  }
+
+  /**
+   * Fast path for text made only of characters which the charset maps to a
+   * single byte of the same value, typically ASCII text. Returns the number
+   * of bytes written to the byte array, or -1 if the text contains other
+   * characters and must go through the CharsetEncoder.
+   */
+  private int encodeDirectly(int len) {
+    int limit = directEncodingLimit;
+    char[] chars = charArray;
+    byte[] bytes = byteArray;
+    for (int i = 0; i < len; i++) {
+      char c = chars[i];
+      if (c >= limit) {
+        return -1;
       }
+      bytes[i] = (byte) c;
     }
+    return len;
   }
 
-  public void doEncode(E event) throws IOException {
-    String txt = layout.doLayout(event);
-    outputStream.write(convertToBytes(txt));
-    outputStream.flush();
+  private CharsetEncoder getCharsetEncoder() {
+    if (charsetEncoder == null) {
+      Charset cs = (charset == null) ? Charset.defaultCharset() : charset;
+      // replace malformed input as String.getBytes does
+      charsetEncoder = cs.newEncoder().onMalformedInput(
+          CodingErrorAction.REPLACE).onUnmappableCharacter(
+          CodingErrorAction.REPLACE);
+      directEncodingLimit = directEncodingLimit(cs);
+    }
+    return charsetEncoder;
+  }
+
+  static int directEncodingLimit(Charset cs) {
+    String name = cs.name();
+    if ("ISO-8859-1".equals(name)) {
+      return 0x100;
+    }
+    if ("US-ASCII".equals(name) || "UTF-8".equals(name)) {
+      return 0x80;
+    }
+    return 0;
   }
 
   public boolean isStarted() {
@@ -109,6 +268,7 @@ public class LayoutWrappingEncoder<E> extends EncoderBase<E> {
   }
 
   public void start() {
+    layoutIntoBuffer = isLayoutIntoBufferPossible(layout);
     started = true;
   }
 
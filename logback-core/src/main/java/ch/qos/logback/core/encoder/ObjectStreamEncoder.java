@@ -76,7 +76,7 @@ public class ObjectStreamEncoder<E> extends EncoderBase<E> {
     oos.close();
     writeEndPosition(byteArray);
     outputStream.write(byteArray);
-    
+    outputStream.flush();
   }
   
   void writeEndPosition(byte[] byteArray) {
@@ -36,17 +36,15 @@ public class Transform {
    *          The text to be converted.
    */
   public static String escapeTags(final String input) {
-    // Check if the string is null or zero length -- if so, return
+    // Check if the string is null or contains no tags -- if so, return
     // what was sent in.
-    if ((input == null) || (input.length() == 0)
-        || (input.indexOf("<") == -1 && input.indexOf(">") == -1)) {
+    if (input == null || indexOfTag(input, 0) == -1) {
       return input;
     }
-
-    StringBuffer buf = new StringBuffer(input);
-    return escapeTags(buf);
+    StringBuilder buf = new StringBuilder(input.length() + 16);
+    appendEscapingTags(buf, input);
+    return buf.toString();
   }
-  
 
   /**
    * This method takes a StringBuilder which may contain HTML tags (ie, &lt;b&gt;,
@@ -56,17 +54,56 @@ public class Transform {
    * @return
    */
   public static String escapeTags(final StringBuffer buf) {
-    for (int i = 0; i < buf.length(); i++) {
-      char ch = buf.charAt(i);
-      if (ch == '<') {
-        buf.replace(i, i + 1, "&lt;");
-      } else if (ch == '>') {
-        buf.replace(i, i + 1, "&gt;");
+    String input = buf.toString();
+    String result = escapeTags(input);
+    if (result != input) {
+      // as before, the buffer is modified in place
+      buf.setLength(0);
+      buf.append(result);
+    }
+    return result;
+  }
+
+  /**
+   * Append the input to the output, replacing any '<' and '>' characters with
+   * respective predefined entity references. The input is scanned first and
+   * appended as a whole if it contains no such characters. Nothing is appended
+   * if the input is null.
+   * 
+   * @param output
+   *          The buffer to append to.
+   * @param input
+   *          The text to be converted.
+   */
+  public static void appendEscapingTags(StringBuilder output, String input) {
+    if (input == null) {
+      return;
+    }
+    int start = 0;
+    int tag = indexOfTag(input, 0);
+    while (tag != -1) {
+      output.append(input, start, tag);
+      output.append(input.charAt(tag) == '<' ? "&lt;" : "&gt;");
+      start = tag + 1;
+      tag = indexOfTag(input, start);
+    }
+    if (start == 0) {
+      output.append(input);
+    } else {
+      output.append(input, start, input.length());
+    }
+  }
+
+  private static int indexOfTag(String input, int from) {
+    int len = input.length();
+    for (int i = from; i < len; i++) {
+      char c = input.charAt(i);
+      if (c == '<' || c == '>') {
+        return i;
       }
     }
-    return buf.toString();
+    return -1;
   }
-  
 
   /**
    * Ensures that embeded CDEnd strings (]]>) are handled properly within
@@ -95,7 +132,7 @@ public class Transform {
     int start = 0;
 
     while (end > -1) {
-      output.append(str.substring(start, end));
+      output.append(str, start, end);
       output.append(CDATA_EMBEDED_END);
       start = end + CDATA_END_LEN;
 
@@ -106,6 +143,6 @@ public class Transform {
       }
     }
 
-    output.append(str.substring(start));
+    output.append(str, start, str.length());
   }
 }
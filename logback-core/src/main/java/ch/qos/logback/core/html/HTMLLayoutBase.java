@@ -47,6 +47,10 @@ public abstract class HTMLLayoutBase<E> extends LayoutBase<E> {
 
    // counter keeping track of the rows output
   protected long counter = 0;
+
+  // the opening tag of the cell of each converter, in the order of the
+  // converter chain
+  private String[] cellStartArray;
   
   /**
    * Set the <b>ConversionPattern </b> option. This is the string which controls
@@ -91,9 +95,37 @@ public abstract class HTMLLayoutBase<E> extends LayoutBase<E> {
     }
 
     if (errorCount == 0) {
+      cellStartArray = computeCellStartArray();
       super.started = true;
     }
   }
+
+  private String[] computeCellStartArray() {
+    int count = 0;
+    for (Converter<E> c = head; c != null; c = c.getNext()) {
+      count++;
+    }
+    String[] result = new String[count];
+    int i = 0;
+    for (Converter<E> c = head; c != null; c = c.getNext()) {
+      result[i++] = "<td class=\"" + computeConverterName(c) + "\">";
+    }
+    return result;
+  }
+
+  /**
+   * Append one cell per converter to the buffer, the converters writing the
+   * contents of the cells directly into the buffer.
+   */
+  protected void appendCells(StringBuilder buf, E event) {
+    int i = 0;
+    for (Converter<E> c = head; c != null; c = c.getNext()) {
+      buf.append(cellStartArray[i++]);
+      c.write(buf, event);
+      buf.append("</td>");
+      buf.append(LINE_SEPARATOR);
+    }
+  }
   
   protected abstract Map<String, String> getDefaultConverterMap();
 
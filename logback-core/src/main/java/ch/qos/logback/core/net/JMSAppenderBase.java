@@ -21,7 +21,7 @@ import javax.naming.InitialContext;
 import javax.naming.NameNotFoundException;
 import javax.naming.NamingException;
 
-import ch.qos.logback.core.AppenderBase;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 
 /**
  * This class serves as a base class for 
@@ -33,7 +33,8 @@ import ch.qos.logback.core.AppenderBase;
  * @author Ceki G&uuml;lc&uuml;
  * @author S&eacute;bastien Pennec
  */
-public abstract class JMSAppenderBase<E> extends AppenderBase<E> {
+public abstract class JMSAppenderBase<E> extends
+    UnsynchronizedAppenderBase<E> {
 
   protected String securityPrincipalName;
   protected String securityCredentials;
@@ -42,6 +43,12 @@ public abstract class JMSAppenderBase<E> extends AppenderBase<E> {
   protected String providerURL;
   protected String userName;
   protected String password;
+
+  /**
+   * JMS sessions may not be used by several threads concurrently. Sub-classes
+   * hold this lock while using their session, and only then.
+   */
+  protected final Object lock = new Object();
   
   
   protected Object lookup(Context ctx, String name) throws NamingException {
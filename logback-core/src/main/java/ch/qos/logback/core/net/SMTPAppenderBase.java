@@ -29,9 +29,9 @@ import javax.mail.internet.MimeBodyPart;
 import javax.mail.internet.MimeMessage;
 import javax.mail.internet.MimeMultipart;
 
-import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.CoreConstants;
 import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.boolex.EvaluationException;
 import ch.qos.logback.core.boolex.EventEvaluator;
 import ch.qos.logback.core.helpers.CyclicBuffer;
@@ -56,7 +56,8 @@ import ch.qos.logback.core.util.OptionHelper;
  * @author Ceki G&uuml;lc&uuml;
  * @author S&eacute;bastien Pennec
  */
-public abstract class SMTPAppenderBase<E> extends AppenderBase<E> {
+public abstract class SMTPAppenderBase<E> extends
+    UnsynchronizedAppenderBase<E> {
 
 
   // ~ 14 days
@@ -91,6 +92,12 @@ public abstract class SMTPAppenderBase<E> extends AppenderBase<E> {
 
   private int errorCount = 0;
 
+  /**
+   * Guards the cyclic buffers and the mime message. The discriminator and the
+   * evaluator are invoked outside of this lock.
+   */
+  protected final Object lock = new Object();
+
   /**
    * return a layout for the subjet string as appropriate for the module. If the
    * subjectStr parameter is null, then a default value for subjectStr should be
@@ -168,26 +175,31 @@ public abstract class SMTPAppenderBase<E> extends AppenderBase<E> {
 
     String key = discriminator.getDiscriminatingValue(eventObject);
     long now = System.currentTimeMillis();
-    CyclicBuffer<E> cb = cbTracker.get(key, now);
-    subAppend(cb, eventObject);
 
+    boolean triggered = false;
     try {
-      if (eventEvaluator.evaluate(eventObject)) {
-        sendBuffer(cb, eventObject);
-      }
+      triggered = eventEvaluator.evaluate(eventObject);
     } catch (EvaluationException ex) {
       errorCount++;
       if (errorCount < CoreConstants.MAX_ERROR_COUNT) {
         addError("SMTPAppender's EventEvaluator threw an Exception-", ex);
       }
     }
-    cbTracker.clearStaleBuffers(now);
-    if (lastTrackerStatusPrint + delayBetweenStatusMessages < now) {
-      addInfo("SMTPAppender [" + name + "] is tracking [" + cbTracker.size() + "] buffers");
-      lastTrackerStatusPrint = now;
-      // quadruple 'delay' assuming less than max delay 
-      if (delayBetweenStatusMessages < MAX_DELAY_BETWEEN_STATUS_MESSAGES) {
-        delayBetweenStatusMessages *= 4;
+
+    synchronized (lock) {
+      CyclicBuffer<E> cb = cbTracker.get(key, now);
+      subAppend(cb, eventObject);
+      if (triggered) {
+        sendBuffer(cb, eventObject);
+      }
+      cbTracker.clearStaleBuffers(now);
+      if (lastTrackerStatusPrint + delayBetweenStatusMessages < now) {
+        addInfo("SMTPAppender [" + name + "] is tracking [" + cbTracker.size() + "] buffers");
+        lastTrackerStatusPrint = now;
+        // quadruple 'delay' assuming less than max delay 
+        if (delayBetweenStatusMessages < MAX_DELAY_BETWEEN_STATUS_MESSAGES) {
+          delayBetweenStatusMessages *= 4;
+        }
       }
     }
   }
@@ -228,8 +240,10 @@ public abstract class SMTPAppenderBase<E> extends AppenderBase<E> {
     return true;
   }
 
-  synchronized public void stop() {
-    this.started = false;
+  public void stop() {
+    synchronized (lock) {
+      this.started = false;
+    }
   }
 
   InternetAddress getAddress(String addressStr) {
@@ -271,7 +285,7 @@ public abstract class SMTPAppenderBase<E> extends AppenderBase<E> {
    */
   protected void sendBuffer(CyclicBuffer<E> cb, E lastEventObject) {
 
-    // Note: this code already owns the monitor for this
+    // Note: this code already owns the lock of this
     // appender. This frees us from needing to synchronize on 'cb'.
     try {
       MimeBodyPart part = new MimeBodyPart();
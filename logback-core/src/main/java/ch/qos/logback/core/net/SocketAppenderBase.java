@@ -20,8 +20,8 @@ import java.io.Serializable;
 import java.net.InetAddress;
 import java.net.Socket;
 
-import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.spi.PreSerializationTransformer;
 
 /**
@@ -32,7 +32,8 @@ import ch.qos.logback.core.spi.PreSerializationTransformer;
  * @author S&eacute;bastien Pennec
  */
 
-public abstract class SocketAppenderBase<E> extends AppenderBase<E> {
+public abstract class SocketAppenderBase<E> extends
+    UnsynchronizedAppenderBase<E> {
 
   /**
    * The default port number of remote logging server (4560).
@@ -59,6 +60,12 @@ public abstract class SocketAppenderBase<E> extends AppenderBase<E> {
 
   protected int counter = 0;
 
+  /**
+   * Guards the object output stream and the connection state. Event
+   * preparation and serialization preprocessing happen outside of this lock.
+   */
+  protected final Object lock = new Object();
+
   /**
    * Start this appender.
    */
@@ -94,11 +101,13 @@ public abstract class SocketAppenderBase<E> extends AppenderBase<E> {
    */
   @Override
   public void stop() {
-    if (!isStarted())
-      return;
+    synchronized (lock) {
+      if (!isStarted())
+        return;
 
-    this.started = false;
-    cleanUp();
+      this.started = false;
+      cleanUp();
+    }
   }
 
   /**
@@ -106,37 +115,42 @@ public abstract class SocketAppenderBase<E> extends AppenderBase<E> {
    * thread if it has been created
    */
   public void cleanUp() {
-    if (oos != null) {
-      try {
-        oos.close();
-      } catch (IOException e) {
-        addError("Could not close oos.", e);
+    synchronized (lock) {
+      if (oos != null) {
+        try {
+          oos.close();
+        } catch (IOException e) {
+          addError("Could not close oos.", e);
+        }
+        oos = null;
+      }
+      if (connector != null) {
+        addInfo("Interrupting the connector.");
+        connector.interrupted = true;
+        connector = null; // allow gc
       }
-      oos = null;
-    }
-    if (connector != null) {
-      addInfo("Interrupting the connector.");
-      connector.interrupted = true;
-      connector = null; // allow gc
     }
   }
 
   void connect(InetAddress address, int port) {
     if (this.address == null)
       return;
-    try {
-      // First, close the previous connection if any.
-      cleanUp();
-      oos = new ObjectOutputStream(new Socket(address, port).getOutputStream());
-    } catch (IOException e) {
-
-      String msg = "Could not connect to remote logback server at ["
-          + address.getHostName() + "].";
-      if (reconnectionDelay > 0) {
-        msg += " We will try again later.";
-        fireConnector(); // fire the connector thread
+    synchronized (lock) {
+      try {
+        // First, close the previous connection if any.
+        cleanUp();
+        oos = new ObjectOutputStream(new Socket(address, port)
+            .getOutputStream());
+      } catch (IOException e) {
+
+        String msg = "Could not connect to remote logback server at ["
+            + address.getHostName() + "].";
+        if (reconnectionDelay > 0) {
+          msg += " We will try again later.";
+          fireConnector(); // fire the connector thread
+        }
+        addWarn(msg, e);
       }
-      addWarn(msg, e);
     }
   }
 
@@ -153,10 +167,20 @@ public abstract class SocketAppenderBase<E> extends AppenderBase<E> {
       return;
     }
 
-    if (oos != null) {
+    if (oos == null) {
+      // not connected, spare the preparation of the event
+      return;
+    }
+
+    // preparing the event does not require the lock
+    postProcessEvent(event);
+    Serializable serEvent = getPST().transform(event);
+
+    synchronized (lock) {
+      if (oos == null) {
+        return;
+      }
       try {
-        postProcessEvent(event);
-        Serializable serEvent = getPST().transform(event);
         oos.writeObject(serEvent);
         oos.flush();
         if (++counter >= CoreConstants.OOS_RESET_FREQUENCY) {
@@ -186,6 +210,7 @@ public abstract class SocketAppenderBase<E> extends AppenderBase<E> {
   protected abstract void postProcessEvent(E event);
   protected abstract PreSerializationTransformer<E> getPST();
 
+  // must be called while holding the lock
   void fireConnector() {
     if (connector == null) {
       addInfo("Starting a new connector thread.");
@@ -280,7 +305,7 @@ public abstract class SocketAppenderBase<E> extends AppenderBase<E> {
           sleep(reconnectionDelay);
           addInfo("Attempting connection to " + address.getHostName());
           socket = new Socket(address, port);
-          synchronized (this) {
+          synchronized (lock) {
             oos = new ObjectOutputStream(socket.getOutputStream());
             connector = null;
             addInfo("Connection established. Exiting connector thread.");
@@ -15,19 +15,18 @@ package ch.qos.logback.core.pattern;
 
 public class CompositeConverter<E> extends FormattingConverter<E> {
 
-  StringBuilder buf = new StringBuilder();
   Converter<E> childConverter;
 
-  public String convert(E event) {
-    if (buf.capacity() > MAX_CAPACITY) {
-      buf = new StringBuilder(INITIAL_BUF_SIZE);
-    } else {
-      buf.setLength(0);
-    }
-
+  @Override
+  public void appendTo(StringBuilder buf, E event) {
     for (Converter<E> c = childConverter; c != null; c = c.next) {
       c.write(buf, event);
     }
+  }
+
+  public String convert(E event) {
+    StringBuilder buf = new StringBuilder();
+    appendTo(buf, event);
     return buf.toString();
   }
 
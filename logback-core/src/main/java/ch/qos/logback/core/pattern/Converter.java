@@ -23,13 +23,44 @@ abstract public class Converter<E> {
   
   Converter<E> next;
 
+  // true if a sub-class overrides convert below the class implementing
+  // appendTo, e.g. a sub-class of a built-in converter, in which case the
+  // output must go through convert
+  final boolean writeThroughConvert = isConvertOverriddenBelowAppendTo(getClass());
+
   /**
    * The convert method is responsible for extracting data from the event and
    * storing it for later use by the write method.
    * 
+   * <p>
+   * The default implementation returns the characters written by
+   * {@link #appendTo(StringBuilder, Object)}. Derived classes must override
+   * at least one of these two methods. Pattern layouts reject converters
+   * which override neither, see {@link #isConversionImplemented(Class)}.
+   * 
    * @param event
    */
-  public abstract String  convert(E event);
+  public String convert(E event) {
+    StringBuilder buf = new StringBuilder();
+    appendTo(buf, event);
+    return buf.toString();
+  }
+
+  /**
+   * Append the data extracted from the event to the buffer passed as
+   * parameter. Converters overriding this method write directly into the
+   * buffer of the layout, without building an intermediary String.
+   * 
+   * <p>
+   * The default implementation appends the value returned by
+   * {@link #convert(Object)}.
+   * 
+   * @param buf The buffer where data is appended
+   * @param event The event from where data is extracted
+   */
+  public void appendTo(StringBuilder buf, E event) {
+    buf.append(convert(event));
+  }
 
   /**
    * In its simplest incarnation, a convert simply appends the data extracted from
@@ -39,9 +70,52 @@ abstract public class Converter<E> {
    * @param event The event from where data is extracted
    */
   public void write(StringBuilder buf, E event) {
-    buf.append(convert(event));
+    if (writeThroughConvert) {
+      buf.append(convert(event));
+    } else {
+      appendTo(buf, event);
+    }
+  }
+
+  static boolean isConvertOverriddenBelowAppendTo(Class<?> converterClass) {
+    try {
+      Class<?> convertClass = converterClass.getMethod("convert", Object.class)
+          .getDeclaringClass();
+      Class<?> appendToClass = converterClass.getMethod("appendTo",
+          StringBuilder.class, Object.class).getDeclaringClass();
+      // the Converter and FormattingConverter versions of appendTo already
+      // delegate to convert
+      return appendToClass != Converter.class
+          && appendToClass != FormattingConverter.class
+          && appendToClass != convertClass
+          && appendToClass.isAssignableFrom(convertClass);
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
   }
   
+  /**
+   * Whether the given converter class overrides
+   * {@link #convert(Object)} or {@link #appendTo(StringBuilder, Object)}.
+   * Otherwise each of these methods would call the other endlessly. The
+   * {@link FormattingConverter} version of appendTo only delegates to convert
+   * and therefore does not count.
+   */
+  public static boolean isConversionImplemented(Class<?> converterClass) {
+    try {
+      if (converterClass.getMethod("convert", Object.class)
+          .getDeclaringClass() != Converter.class) {
+        return true;
+      }
+      Class<?> declaring = converterClass.getMethod("appendTo",
+          StringBuilder.class, Object.class).getDeclaringClass();
+      return declaring != Converter.class
+          && declaring != FormattingConverter.class;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
   public final void setNext(Converter<E> next) {
     if (this.next != null) {
       throw  new IllegalStateException("Next converter has been already set");
@@ -15,10 +15,6 @@ package ch.qos.logback.core.pattern;
 
 abstract public class FormattingConverter<E> extends Converter<E> {
 
-  static final int INITIAL_BUF_SIZE = 256;
-  static final int MAX_CAPACITY = 1024;
-
-  
   FormatInfo formattingInfo;
 
   final public FormatInfo getFormattingInfo() {
@@ -32,41 +28,63 @@ abstract public class FormattingConverter<E> extends Converter<E> {
     this.formattingInfo = formattingInfo;
   }
 
+  /**
+   * Appends the value returned by {@link #convert(Object)}.
+   */
   @Override
-  final public void write(StringBuilder buf, E event) {
-    String s = convert(event);
-    
-    if(formattingInfo == null) {
+  public void appendTo(StringBuilder buf, E event) {
+    appendValue(buf, convert(event));
+  }
+
+  /**
+   * Append a value which may be null. As was the case when converters
+   * returned strings, a null value is rendered as "null" only in the absence
+   * of formatting modifiers, and as padding otherwise.
+   */
+  protected final void appendValue(StringBuilder buf, String s) {
+    if (s != null || formattingInfo == null) {
       buf.append(s);
-      return;
     }
-    
-    int min = formattingInfo.getMin();
-    int max = formattingInfo.getMax();
-
+  }
 
-    if (s == null) {
-      if (0 < min)
-        SpacePadder.spacePad(buf, min);
+  /**
+   * Appends the data extracted from the event and then applies padding and
+   * truncation in place, on the characters just appended.
+   */
+  @Override
+  final public void write(StringBuilder buf, E event) {
+    if (formattingInfo == null) {
+      appendConversion(buf, event);
       return;
     }
 
-    int len = s.length();
+    int start = buf.length();
+    appendConversion(buf, event);
+
+    int min = formattingInfo.getMin();
+    int max = formattingInfo.getMax();
+    int len = buf.length() - start;
 
     if (len > max) {
-      if(formattingInfo.isLeftTruncate()) {
-        buf.append(s.substring(len - max));
+      if (formattingInfo.isLeftTruncate()) {
+        buf.delete(start, start + len - max);
       } else {
-        buf.append(s.substring(0, max));
+        buf.setLength(start + max);
       }
     } else if (len < min) {
       if (formattingInfo.isLeftPad()) {
-       SpacePadder.leftPad(buf, s, min);
+        SpacePadder.leftPadInPlace(buf, start, min);
       } else {
-        SpacePadder.rightPad(buf, s, min);
+        SpacePadder.spacePad(buf, min - len);
       }
+    }
+  }
+
+  private void appendConversion(StringBuilder buf, E event) {
+    if (writeThroughConvert) {
+      appendValue(buf, convert(event));
     } else {
-      buf.append(s);
+      appendTo(buf, event);
     }
   }
 }
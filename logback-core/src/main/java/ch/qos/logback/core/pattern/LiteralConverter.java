@@ -24,6 +24,9 @@ public final class LiteralConverter<E> extends Converter<E> {
   public String convert(E o) {
     return literal;
   }
-  
-  
+
+  @Override
+  public void appendTo(StringBuilder buf, E event) {
+    buf.append(literal);
+  }
 }
@@ -113,12 +113,34 @@ abstract public class PatternLayoutBase<E> extends LayoutBase<E> {
 
   protected String writeLoopOnConverters(E event) {
     StringBuilder buf = new StringBuilder(128);
+    writeLoopOnConverters(buf, event);
+    return buf.toString();
+  }
+
+  protected void writeLoopOnConverters(StringBuilder buf, E event) {
     Converter<E> c = head;
     while (c != null) {
       c.write(buf, event);
       c = c.getNext();
     }
-    return buf.toString();
+  }
+
+  /**
+   * Append the layout of the event to the given buffer, sparing the creation
+   * of an intermediary String. Sub-classes overriding {@link #doLayout(Object)}
+   * should override this method as well, otherwise it is not used by
+   * {@link ch.qos.logback.core.encoder.LayoutWrappingEncoder}, see
+   * {@link #isDoLayoutIntoBufferEquivalent()}.
+   * 
+   * @param event
+   * @param buf
+   */
+  @Override
+  public void doLayout(E event, StringBuilder buf) {
+    if (!isStarted()) {
+      return;
+    }
+    writeLoopOnConverters(buf, event);
   }
 
   public String getPattern() {
@@ -20,6 +20,8 @@ public class SpacePadder {
       "                ", // 16 spaces
       "                                " }; // 32 spaces
 
+  final static char[] SPACE_CHARS = SPACES[5].toCharArray();
+
   final static public void leftPad(StringBuilder buf, String s, int desiredLength) {
     int actualLen = 0;
     if (s != null) {
@@ -46,6 +48,21 @@ public class SpacePadder {
     }
   }
   
+  /**
+   * Pad the characters found in buf from index start onwards with leading
+   * spaces, so that they span at least desiredLength characters. Padding is
+   * done in place, without building intermediary strings.
+   */
+  final static public void leftPadInPlace(StringBuilder buf, int start,
+      int desiredLength) {
+    int padLength = desiredLength - (buf.length() - start);
+    while (padLength > 0) {
+      int n = padLength < SPACE_CHARS.length ? padLength : SPACE_CHARS.length;
+      buf.insert(start, SPACE_CHARS, 0, n);
+      padLength -= n;
+    }
+  }
+
   /**
    * Fast space padding method.
    */
@@ -97,14 +97,21 @@ class Compiler<E> extends ContextAwareBase {
     String converterClassStr = (String) converterMap.get(keyword);
 
     if (converterClassStr != null) {
+      DynamicConverter<E> converter;
       try {
-        return (DynamicConverter) OptionHelper.instantiateByClassName(
+        converter = (DynamicConverter) OptionHelper.instantiateByClassName(
             converterClassStr, DynamicConverter.class, context);
       } catch (Exception e) {
         addError("Failed to instantiate converter class [" + converterClassStr
             + "]", e);
         return null;
       }
+      if (!Converter.isConversionImplemented(converter.getClass())) {
+        addError("Converter class [" + converterClassStr
+            + "] overrides neither convert(E) nor appendTo(StringBuilder, E)");
+        return null;
+      }
+      return converter;
     } else {
       addError("There is no conversion class registered for conversion word ["
           + keyword + "]");
@@ -13,6 +13,7 @@
  */
 package ch.qos.logback.core.recovery;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
@@ -22,23 +23,53 @@ import java.nio.channels.FileChannel;
 
 public class ResilientFileOutputStream extends ResilientOutputStreamBase {
 
+  public static final int DEFAULT_BUFFER_SIZE = 8192;
+
   File file;
+  final int bufferSize;
+  FileOutputStream fos;
 
   public ResilientFileOutputStream(File file, boolean append)
       throws FileNotFoundException {
+    this(file, append, 0);
+  }
+
+  /**
+   * @param file
+   * @param append
+   * @param bufferSize
+   *          size of the buffer placed in front of the file. Bytes reach the
+   *          file when the buffer is full or when {@link #flush()} is called.
+   *          With a size of 0, bytes are written to the file immediately.
+   * @throws FileNotFoundException
+   */
+  public ResilientFileOutputStream(File file, boolean append, int bufferSize)
+      throws FileNotFoundException {
     this.file = file;
-    this.os = new FileOutputStream(file, append);
+    this.bufferSize = bufferSize;
+    this.os = buffer(new FileOutputStream(file, append));
     this.presumedClean = true;
   }
 
+  private OutputStream buffer(FileOutputStream fos) {
+    this.fos = fos;
+    if (bufferSize == 0) {
+      return fos;
+    }
+    return new BufferedOutputStream(fos, bufferSize);
+  }
+
   public FileChannel getChannel() {
     if (os == null) {
       return null;
     }
-    final FileOutputStream fos = (FileOutputStream) os;
     return fos.getChannel();
   }
 
+  public int getBufferSize() {
+    return bufferSize;
+  }
+
   public File getFile() {
     return file;
   }
@@ -51,7 +82,7 @@ public class ResilientFileOutputStream extends ResilientOutputStreamBase {
 
   @Override
   OutputStream openNewOutputStream() throws IOException {
-    return  new FileOutputStream(file, true);
+    return buffer(new FileOutputStream(file, true));
   }
   
   @Override
@@ -74,6 +74,11 @@ abstract public class ResilientOutputStreamBase extends OutputStream {
 
   @Override
   public void flush() {
+    // flushing an unbuffered stream succeeds even if it is broken, which must
+    // not be mistaken for a recovery, that is left to write()
+    if (isPresumedInError()) {
+      return;
+    }
     if (os != null) {
       try {
         os.flush();
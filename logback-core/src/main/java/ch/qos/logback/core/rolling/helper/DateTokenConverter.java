@@ -13,10 +13,10 @@
  */
 package ch.qos.logback.core.rolling.helper;
 
-import java.text.SimpleDateFormat;
 import java.util.Date;
 
 import ch.qos.logback.core.pattern.DynamicConverter;
+import ch.qos.logback.core.util.CachingDateFormatter;
 
 /**
  * Returns a date formatted by SimpleDateFormatter.
@@ -31,7 +31,7 @@ public class DateTokenConverter<E> extends DynamicConverter<E> implements MonoTy
   public final static String CONVERTER_KEY = "d";
 
   private String datePattern;
-  private SimpleDateFormat sdf;
+  private CachingDateFormatter cdf;
 
   public DateTokenConverter() {
   }
@@ -42,11 +42,11 @@ public class DateTokenConverter<E> extends DynamicConverter<E> implements MonoTy
       this.datePattern = "yyyy-MM-dd";
       ;
     }
-    sdf = new SimpleDateFormat(datePattern);
+    cdf = new CachingDateFormatter(datePattern);
   }
 
   public String convert(Date date) {
-    return sdf.format(date);
+    return cdf.format(date.getTime());
   }
 
   public String convert(Object o) {
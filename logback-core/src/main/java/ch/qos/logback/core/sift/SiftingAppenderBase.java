@@ -14,8 +14,8 @@
 package ch.qos.logback.core.sift;
 
 import ch.qos.logback.core.Appender;
-import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.CoreConstants;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
 import ch.qos.logback.core.helpers.NOPAppender;
 import ch.qos.logback.core.joran.spi.JoranException;
 
@@ -29,13 +29,20 @@ import ch.qos.logback.core.joran.spi.JoranException;
  * @author Ceki Gulcu
  */
 public abstract class SiftingAppenderBase<E> extends
-    AppenderBase<E> {
+    UnsynchronizedAppenderBase<E> {
 
   protected AppenderTracker<E> appenderTracker = new AppenderTrackerImpl<E>();
   AppenderFactoryBase<E> appenderFactory;
 
   Discriminator<E> discriminator;
 
+  /**
+   * Guards the lookup and creation of nested appenders so that a single
+   * appender is built per discriminating value. Events are passed to the
+   * nested appenders outside of this lock.
+   */
+  private final Object lock = new Object();
+
   public void setAppenderFactory(AppenderFactoryBase<E> appenderFactory) {
     this.appenderFactory = appenderFactory;
   }
@@ -74,23 +81,26 @@ public abstract class SiftingAppenderBase<E> extends
     String discriminatingValue = discriminator.getDiscriminatingValue(event);
     long timestamp = getTimestamp(event);
     
-    Appender<E> appender = appenderTracker.get(discriminatingValue, timestamp);
-    if (appender == null) {
-      try {
-        appender = appenderFactory.buildAppender(context, discriminatingValue);
-        if (appender == null) {
-          appender = buildNOPAppender(discriminatingValue);
-        }
-        appenderTracker.put(discriminatingValue, appender, timestamp);
+    Appender<E> appender;
+    synchronized (lock) {
+      appender = appenderTracker.get(discriminatingValue, timestamp);
+      if (appender == null) {
+        try {
+          appender = appenderFactory.buildAppender(context, discriminatingValue);
+          if (appender == null) {
+            appender = buildNOPAppender(discriminatingValue);
+          }
+          appenderTracker.put(discriminatingValue, appender, timestamp);
 
-      } catch (JoranException e) {
-        addError("Failed to build appender for [" + discriminatingValue + "]",
-            e);
-        return;
+        } catch (JoranException e) {
+          addError("Failed to build appender for [" + discriminatingValue
+              + "]", e);
+          return;
+        }
       }
+      appenderTracker.stopStaleAppenders(timestamp);
     }
-    appenderTracker.stopStaleAppenders(timestamp);
-    
+
     appender.doAppend(event);
   }
 
@@ -13,43 +13,50 @@
  */
 package ch.qos.logback.core.spi;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.List;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import ch.qos.logback.core.Appender;
 
 /**
- * A ReentrantReadWriteLock based implementation of the
- * {@link AppenderAttachable} interface.
+ * A copy-on-write implementation of the {@link AppenderAttachable} interface.
+ * 
+ * <p>
+ * The attached appenders are held in an array which is never modified once
+ * published. Adding or removing an appender swaps in a new array, so that
+ * {@link #appendLoopOnAppenders(Object)} walks the array without taking any
+ * lock. Modifications are serialized on a private monitor.
  * 
  * @author Ceki G&uuml;lc&uuml;
  */
 public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
 
-  final private List<Appender<E>> appenderList = new ArrayList<Appender<E>>();
-  final private ReadWriteLock rwLock = new ReentrantReadWriteLock();
-  private final Lock r = rwLock.readLock();
-  private final Lock w = rwLock.writeLock();
+  @SuppressWarnings("unchecked")
+  static final Appender[] EMPTY_APPENDER_ARRAY = new Appender[0];
+
+  @SuppressWarnings("unchecked")
+  private volatile Appender<E>[] appenderArray = EMPTY_APPENDER_ARRAY;
+
+  final private Object writeLock = new Object();
 
   /**
    * Attach an appender. If the appender is already in the list in won't be
    * added again.
    */
+  @SuppressWarnings("unchecked")
   public void addAppender(Appender<E> newAppender) {
     if (newAppender == null) {
       throw new IllegalArgumentException("Null argument disallowed");
     }
-    w.lock();
-    try {
-      if (!appenderList.contains(newAppender)) {
-        appenderList.add(newAppender);
+    synchronized (writeLock) {
+      Appender<E>[] current = appenderArray;
+      if (indexOf(current, newAppender) != -1) {
+        return;
       }
-    } finally {
-      w.unlock();
+      Appender<E>[] updated = new Appender[current.length + 1];
+      System.arraycopy(current, 0, updated, 0, current.length);
+      updated[current.length] = newAppender;
+      appenderArray = updated;
     }
   }
 
@@ -57,17 +64,12 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
    * Call the <code>doAppend</code> method on all attached appenders.
    */
   public int appendLoopOnAppenders(E e) {
-    int size = 0;
-    r.lock();
-    try {
-      for (Appender<E> appender : appenderList) {
-        appender.doAppend(e);
-        size++;
-      }
-    } finally {
-      r.unlock();
+    final Appender<E>[] appenders = appenderArray;
+    final int len = appenders.length;
+    for (int i = 0; i < len; i++) {
+      appenders[i].doAppend(e);
     }
-    return size;
+    return len;
   }
 
   /**
@@ -77,14 +79,8 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
    * @return Iterator An iterator of attached appenders.
    */
   public Iterator<Appender<E>> iteratorForAppenders() {
-    List<Appender<E>> copy;
-    r.lock();
-    try {
-      copy = new ArrayList<Appender<E>>(appenderList);
-    } finally {
-      r.unlock();
-    }
-    return copy.iterator();
+    // the snapshot is immutable, no copy is necessary
+    return Arrays.asList(appenderArray).iterator();
   }
 
   /**
@@ -98,20 +94,12 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
     if (name == null) {
       return null;
     }
-    Appender<E> found = null;
-
-    r.lock();
-    try {
-      for (Appender<E> appender : appenderList) {
-        if (name.equals(appender.getName())) {
-          found = appender;
-          break;
-        }
+    for (Appender<E> appender : appenderArray) {
+      if (name.equals(appender.getName())) {
+        return appender;
       }
-    } finally {
-      r.unlock();
     }
-    return found;
+    return null;
   }
 
   /**
@@ -124,33 +112,20 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
     if (appender == null) {
       return false;
     }
-    boolean attached = false;
-    r.lock();
-    try {
-      for (Appender<E> a : appenderList) {
-        if (a == appender) {
-          attached = true;
-          break;
-        }
-      }
-    } finally {
-      r.unlock();
-    }
-    return attached;
+    return indexOf(appenderArray, appender) != -1;
   }
 
   /**
    * Remove and stop all previously attached appenders.
    */
+  @SuppressWarnings("unchecked")
   public void detachAndStopAllAppenders() {
-    w.lock();
-    try {
-      for (Appender<E> a : appenderList) {
+    synchronized (writeLock) {
+      Appender<E>[] current = appenderArray;
+      appenderArray = EMPTY_APPENDER_ARRAY;
+      for (Appender<E> a : current) {
         a.stop();
       }
-      appenderList.clear();
-    } finally {
-      w.unlock();
     }
   }
 
@@ -162,14 +137,9 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
     if (appender == null) {
       return false;
     }
-    boolean result;
-    w.lock();
-    try {
-      result = appenderList.remove(appender);
-    } finally {
-      w.unlock();
+    synchronized (writeLock) {
+      return remove(indexOf(appenderArray, appender));
     }
-    return result;
   }
 
   /**
@@ -180,18 +150,38 @@ public class AppenderAttachableImpl<E> implements AppenderAttachable<E> {
     if (name == null) {
       return false;
     }
-    boolean removed = false;
-    w.lock();
-    try {
-      for (Appender<E> a : appenderList) {
-        if (name.equals((a).getName())) {
-          removed = appenderList.remove(a);
-          break;
+    synchronized (writeLock) {
+      Appender<E>[] current = appenderArray;
+      for (int i = 0; i < current.length; i++) {
+        if (name.equals(current[i].getName())) {
+          return remove(i);
         }
       }
-    } finally {
-      w.unlock();
     }
-    return removed;
+    return false;
+  }
+
+  // must be called while holding writeLock
+  @SuppressWarnings("unchecked")
+  private boolean remove(int index) {
+    if (index == -1) {
+      return false;
+    }
+    Appender<E>[] current = appenderArray;
+    Appender<E>[] updated = new Appender[current.length - 1];
+    System.arraycopy(current, 0, updated, 0, index);
+    System.arraycopy(current, index + 1, updated, index, current.length
+        - index - 1);
+    appenderArray = updated;
+    return true;
+  }
+
+  private static <E> int indexOf(Appender<E>[] appenders, Appender<E> appender) {
+    for (int i = 0; i < appenders.length; i++) {
+      if (appenders[i] == appender) {
+        return i;
+      }
+    }
+    return -1;
   }
 }
@@ -14,32 +14,47 @@
 package ch.qos.logback.core.spi;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 import ch.qos.logback.core.filter.Filter;
 
 /**
  * Implementation of FilterAttachable.
  * 
+ * <p>
+ * The filters are held in an array which is replaced, never modified, when
+ * the filter chain changes. Evaluating the chain thus requires neither a lock
+ * nor an iterator.
+ * 
  * @author Ceki G&uuml;lc&uuml;
  */
 final public class FilterAttachableImpl<E> implements FilterAttachable<E> {
 
-  CopyOnWriteArrayList<Filter<E>> filterList = new CopyOnWriteArrayList<Filter<E>>();
+  @SuppressWarnings("unchecked")
+  static final Filter[] EMPTY_FILTER_ARRAY = new Filter[0];
+
+  @SuppressWarnings("unchecked")
+  private volatile Filter<E>[] filterArray = EMPTY_FILTER_ARRAY;
 
   /**
    * Add a filter to end of the filter list.
    */
-  public void addFilter(Filter<E> newFilter) {
-    filterList.add(newFilter);
+  @SuppressWarnings("unchecked")
+  public synchronized void addFilter(Filter<E> newFilter) {
+    Filter<E>[] current = filterArray;
+    Filter<E>[] updated = new Filter[current.length + 1];
+    System.arraycopy(current, 0, updated, 0, current.length);
+    updated[current.length] = newFilter;
+    filterArray = updated;
   }
 
   /**
    * Clear the filter chain
    */
-  public void clearAllFilters() {
-    filterList.clear();
+  @SuppressWarnings("unchecked")
+  public synchronized void clearAllFilters() {
+    filterArray = EMPTY_FILTER_ARRAY;
   }
 
   /**
@@ -48,8 +63,10 @@ final public class FilterAttachableImpl<E> implements FilterAttachable<E> {
    * NEUTRAL, then NEUTRAL is returned.
    */
   public FilterReply getFilterChainDecision(E event) {
-    for (Filter<E> f : filterList) {
-      final FilterReply r = f.decide(event);
+    final Filter<E>[] filters = filterArray;
+    final int len = filters.length;
+    for (int i = 0; i < len; i++) {
+      final FilterReply r = filters[i].decide(event);
       if (r == FilterReply.DENY || r == FilterReply.ACCEPT) {
         return r;
       }
@@ -58,6 +75,6 @@ final public class FilterAttachableImpl<E> implements FilterAttachable<E> {
   }
 
   public List<Filter<E>> getCopyOfAttachedFiltersList() {
-    return new ArrayList<Filter<E>>(filterList);
+    return new ArrayList<Filter<E>>(Arrays.asList(filterArray));
   }
 }
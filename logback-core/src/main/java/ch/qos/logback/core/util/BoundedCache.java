@@ -0,0 +1,122 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A map of bounded size meant to remember the results of expensive
+ * computations.
+ * 
+ * <p>
+ * The cache is safe for use by multiple threads and looking up an entry does
+ * not lock. It holds at most <code>maxSize</code> entries, when full it is
+ * cleared and filled anew.
+ * 
+ * <p>
+ * Optionally, the number of cache hits and misses are counted so that the
+ * efficiency of the cache can be monitored. The counters are shared by all
+ * threads, so that counting adds contention to every lookup. Caches consulted
+ * for every logging event should leave it off.
+ */
+public class BoundedCache<K, V> {
+
+  final int maxSize;
+  final boolean statisticsEnabled;
+  final ConcurrentMap<K, V> map = new ConcurrentHashMap<K, V>();
+
+  final AtomicLong hitCount = new AtomicLong();
+  final AtomicLong missCount = new AtomicLong();
+
+  /**
+   * @param statisticsEnabled
+   *                whether cache hits and misses are counted
+   * @throws IllegalArgumentException
+   *                 if maxSize is smaller than 1
+   */
+  public BoundedCache(int maxSize, boolean statisticsEnabled) {
+    if (maxSize < 1) {
+      throw new IllegalArgumentException("Cache size cannot be smaller than 1");
+    }
+    this.maxSize = maxSize;
+    this.statisticsEnabled = statisticsEnabled;
+  }
+
+  /**
+   * Returns the value associated with the key, or null.
+   */
+  public V get(K key) {
+    V value = map.get(key);
+    if (statisticsEnabled) {
+      if (value != null) {
+        hitCount.incrementAndGet();
+      } else {
+        missCount.incrementAndGet();
+      }
+    }
+    return value;
+  }
+
+  public void put(K key, V value) {
+    if (map.size() >= maxSize) {
+      map.clear();
+    }
+    map.put(key, value);
+  }
+
+  public void clear() {
+    map.clear();
+  }
+
+  public int getMaxSize() {
+    return maxSize;
+  }
+
+  /**
+   * The number of entries currently held by the cache.
+   */
+  public int getSize() {
+    return map.size();
+  }
+
+  public boolean isStatisticsEnabled() {
+    return statisticsEnabled;
+  }
+
+  /**
+   * The number of cache hits, always 0 if statistics are disabled.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * The number of cache misses, always 0 if statistics are disabled.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the ratio of cache hits to lookups, or 0 if there were no
+   * lookups or statistics are disabled.
+   */
+  public double getHitRate() {
+    long hits = hitCount.get();
+    long lookups = hits + missCount.get();
+    return (lookups == 0) ? 0 : (double) hits / lookups;
+  }
+}
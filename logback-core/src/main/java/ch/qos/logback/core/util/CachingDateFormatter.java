@@ -0,0 +1,194 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+/**
+ * A thread-safe formatter of timestamps, accepting {@link SimpleDateFormat}
+ * patterns.
+ *
+ * <p>
+ * The part of the output which does not depend on milliseconds is computed
+ * once per second and cached. When the pattern contains a single millisecond
+ * field, e.g. "SSS", the digits of the millisecond are inserted between the
+ * cached parts without calling SimpleDateFormat. The cache is published
+ * through an immutable holder in a volatile field so that formatting a
+ * timestamp falling in the cached second requires no locking. Only a cache
+ * miss synchronizes, on the underlying SimpleDateFormat instances.
+ *
+ * <p>
+ * Patterns with several millisecond fields are cached per millisecond.
+ */
+public class CachingDateFormatter {
+
+  static final char MILLIS_CHAR = 'S';
+  static final char QUOTE_CHAR = '\'';
+
+  final SimpleDateFormat prefixFormat;
+  final SimpleDateFormat suffixFormat;
+  // number of digits of the millisecond field, 0 if the millisecond field is
+  // absent, -1 if the output must be cached per millisecond
+  final int millisDigits;
+
+  private volatile CacheEntry cacheEntry;
+
+  /**
+   * @throws IllegalArgumentException
+   *                 if the pattern is invalid
+   */
+  public CachingDateFormatter(String pattern) {
+    this(pattern, null);
+  }
+
+  /**
+   * @param timeZone
+   *                the time zone of the output, null for the default time
+   *                zone
+   * @throws IllegalArgumentException
+   *                 if the pattern is invalid
+   */
+  public CachingDateFormatter(String pattern, TimeZone timeZone) {
+    // validate the whole pattern
+    new SimpleDateFormat(pattern);
+
+    int[] millisField = findMillisField(pattern);
+    if (millisField == null) {
+      millisDigits = -1;
+      prefixFormat = new SimpleDateFormat(pattern);
+      suffixFormat = null;
+    } else if (millisField.length == 0) {
+      millisDigits = 0;
+      prefixFormat = new SimpleDateFormat(pattern);
+      suffixFormat = null;
+    } else {
+      int begin = millisField[0];
+      int end = millisField[1];
+      millisDigits = end - begin;
+      prefixFormat = new SimpleDateFormat(pattern.substring(0, begin));
+      suffixFormat = new SimpleDateFormat(pattern.substring(end));
+    }
+    if (timeZone != null) {
+      prefixFormat.setTimeZone(timeZone);
+      if (suffixFormat != null) {
+        suffixFormat.setTimeZone(timeZone);
+      }
+    }
+  }
+
+  /**
+   * Returns the begin and end index of the single unquoted run of 'S'
+   * characters in the pattern, an empty array if there is no such run, and
+   * null if there are several runs.
+   */
+  static int[] findMillisField(String pattern) {
+    int[] result = new int[0];
+    boolean inQuote = false;
+    int len = pattern.length();
+    int i = 0;
+    while (i < len) {
+      char c = pattern.charAt(i);
+      if (c == QUOTE_CHAR) {
+        inQuote = !inQuote;
+        i++;
+      } else if (c == MILLIS_CHAR && !inQuote) {
+        if (result.length != 0) {
+          return null;
+        }
+        int begin = i;
+        while (i < len && pattern.charAt(i) == MILLIS_CHAR) {
+          i++;
+        }
+        result = new int[] { begin, i };
+      } else {
+        i++;
+      }
+    }
+    return result;
+  }
+
+  public final String format(long timestamp) {
+    if (millisDigits == 0 || millisDigits == -1) {
+      return getCacheEntry(timestamp).prefix;
+    }
+    StringBuilder buf = new StringBuilder(24);
+    appendTo(buf, timestamp);
+    return buf.toString();
+  }
+
+  /**
+   * Append the formatted timestamp to the buffer passed as parameter.
+   */
+  public final void appendTo(StringBuilder buf, long timestamp) {
+    CacheEntry entry = getCacheEntry(timestamp);
+    buf.append(entry.prefix);
+    if (millisDigits > 0) {
+      appendMillis(buf, millisOf(timestamp));
+      buf.append(entry.suffix);
+    }
+  }
+
+  private CacheEntry getCacheEntry(long timestamp) {
+    long key = (millisDigits == -1) ? timestamp : timestamp
+        - millisOf(timestamp);
+    CacheEntry entry = cacheEntry;
+    if (entry == null || entry.key != key) {
+      entry = computeCacheEntry(key);
+      cacheEntry = entry;
+    }
+    return entry;
+  }
+
+  private CacheEntry computeCacheEntry(long key) {
+    Date date = new Date(key);
+    String prefix;
+    String suffix = null;
+    synchronized (prefixFormat) {
+      prefix = prefixFormat.format(date);
+      if (suffixFormat != null) {
+        suffix = suffixFormat.format(date);
+      }
+    }
+    return new CacheEntry(key, prefix, suffix);
+  }
+
+  static int millisOf(long timestamp) {
+    int millis = (int) (timestamp % 1000);
+    // timestamps before the epoch
+    return (millis < 0) ? millis + 1000 : millis;
+  }
+
+  private void appendMillis(StringBuilder buf, int millis) {
+    // as SimpleDateFormat, pad with zeros up to the length of the field
+    int digits = millis >= 100 ? 3 : (millis >= 10 ? 2 : 1);
+    for (int i = digits; i < millisDigits; i++) {
+      buf.append('0');
+    }
+    buf.append(millis);
+  }
+
+  private static final class CacheEntry {
+    final long key;
+    final String prefix;
+    final String suffix;
+
+    CacheEntry(long key, String prefix, String suffix) {
+      this.key = key;
+      this.prefix = prefix;
+      this.suffix = suffix;
+    }
+  }
+}
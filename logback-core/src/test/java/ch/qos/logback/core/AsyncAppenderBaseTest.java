@@ -0,0 +1,152 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import ch.qos.logback.core.async.WaitStrategy;
+import ch.qos.logback.core.read.ListAppender;
+
+public class AsyncAppenderBaseTest {
+
+  Context context = new ContextBase();
+  AsyncAppenderBase<Integer> asyncAppenderBase = new AsyncAppenderBase<Integer>();
+  ListAppender<Integer> listAppender = new ListAppender<Integer>();
+
+  @Before
+  public void setUp() {
+    asyncAppenderBase.setContext(context);
+    listAppender.setContext(context);
+    listAppender.setName("list");
+    listAppender.start();
+  }
+
+  @Test(timeout = 2000)
+  public void smoke() {
+    asyncAppenderBase.addAppender(listAppender);
+    asyncAppenderBase.start();
+    asyncAppenderBase.doAppend(0);
+    asyncAppenderBase.stop();
+    verify(listAppender, 1);
+  }
+
+  @Test(timeout = 2000)
+  public void exceptionsShouldNotCauseHalting() {
+    NPEAppender<Integer> npeAppender = new NPEAppender<Integer>();
+    npeAppender.setName("bad");
+    npeAppender.setContext(context);
+    npeAppender.start();
+
+    asyncAppenderBase.addAppender(npeAppender);
+    asyncAppenderBase.start();
+    assertTrue(asyncAppenderBase.isStarted());
+    for (int i = 0; i < 10; i++)
+      asyncAppenderBase.append(i);
+
+    asyncAppenderBase.stop();
+    assertFalse(asyncAppenderBase.isStarted());
+    assertFalse(npeAppender.isStarted());
+  }
+
+  @Test(timeout = 2000)
+  public void emptyQueueShouldBeStoppable() {
+    asyncAppenderBase.addAppender(listAppender);
+    asyncAppenderBase.start();
+    asyncAppenderBase.stop();
+    verify(listAppender, 0);
+  }
+
+  @Test(timeout = 2000)
+  public void noAppenderShouldNotStart() {
+    asyncAppenderBase.start();
+    assertFalse(asyncAppenderBase.isStarted());
+  }
+
+  @Test(timeout = 2000)
+  public void stopShouldFlushQueuedEvents() {
+    int bufferSize = 10;
+    int loopLen = bufferSize * 2;
+    asyncAppenderBase.addAppender(listAppender);
+    asyncAppenderBase.setQueueSize(bufferSize);
+    asyncAppenderBase.start();
+    for (int i = 0; i < loopLen; i++) {
+      asyncAppenderBase.doAppend(i);
+    }
+    asyncAppenderBase.stop();
+    verify(listAppender, loopLen);
+    assertFalse(listAppender.isStarted());
+  }
+
+  @Test(timeout = 2000)
+  public void ringBufferModeShouldDeliverAllEvents() {
+    int loopLen = 1000;
+    asyncAppenderBase.addAppender(listAppender);
+    asyncAppenderBase.setQueueSize(10);
+    asyncAppenderBase.setWaitStrategy(WaitStrategy.PARK);
+    asyncAppenderBase.start();
+    assertEquals(16, asyncAppenderBase.getRemainingCapacity());
+    for (int i = 0; i < loopLen; i++) {
+      asyncAppenderBase.doAppend(i);
+    }
+    asyncAppenderBase.stop();
+    verify(listAppender, loopLen);
+    for (int i = 0; i < loopLen; i++) {
+      assertEquals(Integer.valueOf(i), listAppender.list.get(i));
+    }
+  }
+
+  @Test(timeout = 2000)
+  public void discardingThresholdIsApplied() {
+    DiscardingAsyncAppender discarding = new DiscardingAsyncAppender();
+    discarding.setContext(context);
+    discarding.addAppender(listAppender);
+    discarding.setQueueSize(10);
+    // a threshold above the queue size makes discardable events always dropped
+    discarding.setDiscardingThreshold(11);
+    discarding.start();
+    for (int i = 0; i < 20; i++) {
+      discarding.doAppend(i);
+    }
+    discarding.stop();
+    // odd numbered events are discardable
+    for (Integer i : listAppender.list) {
+      assertEquals(0, i % 2);
+    }
+    assertEquals(10, listAppender.list.size());
+  }
+
+  private void verify(ListAppender<Integer> la, int expectedSize) {
+    assertFalse(la.isStarted());
+    assertEquals(expectedSize, la.list.size());
+  }
+
+  static class NPEAppender<E> extends AppenderBase<E> {
+    @Override
+    protected void append(E eventObject) {
+      throw new NullPointerException();
+    }
+  }
+
+  static class DiscardingAsyncAppender extends AsyncAppenderBase<Integer> {
+    @Override
+    protected boolean isDiscardable(Integer eventObject) {
+      return eventObject % 2 == 1;
+    }
+  }
+}
@@ -25,11 +25,15 @@ import org.junit.Test;
 import ch.qos.logback.core.Appender;
 import ch.qos.logback.core.FileAppender;
 import ch.qos.logback.core.encoder.DummyEncoder;
+import ch.qos.logback.core.encoder.LayoutWrappingEncoder;
 import ch.qos.logback.core.encoder.NopEncoder;
+import ch.qos.logback.core.layout.EchoLayout;
 import ch.qos.logback.core.status.Status;
 import ch.qos.logback.core.status.StatusManager;
 import ch.qos.logback.core.testUtil.RandomUtil;
 import ch.qos.logback.core.util.CoreTestConstants;
+import ch.qos.logback.core.util.Duration;
+import ch.qos.logback.core.util.FileSize;
 import ch.qos.logback.core.util.FileUtil;
 import ch.qos.logback.core.util.StatusPrinter;
 
@@ -125,4 +129,85 @@ public class FileAppenderTest extends AbstractAppenderTest<Object> {
     assertTrue(file.exists());
     assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
   }
+
+  FileAppender<Object> buildBufferedAppender(String filename) {
+    EchoLayout<Object> layout = new EchoLayout<Object>();
+    layout.setContext(context);
+    layout.start();
+    LayoutWrappingEncoder<Object> encoder = new LayoutWrappingEncoder<Object>();
+    encoder.setLayout(layout);
+    encoder.setImmediateFlush(false);
+    FileAppender<Object> appender = new FileAppender<Object>();
+    appender.setEncoder(encoder);
+    appender.setAppend(false);
+    appender.setFile(filename);
+    appender.setContext(context);
+    return appender;
+  }
+
+  @Test
+  public void outputOfOtherEncodersIsNotBuffered() {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff
+        + "unbuffered.log";
+    File file = new File(filename);
+    FileAppender<Object> appender = new FileAppender<Object>();
+    // writes without ever flushing
+    appender.setEncoder(new DummyEncoder<Object>());
+    appender.setAppend(false);
+    appender.setFile(filename);
+    appender.setContext(context);
+    appender.start();
+    appender.doAppend("hello");
+    assertEquals(DummyEncoder.DUMMY.length(), file.length());
+    appender.stop();
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
+
+  @Test
+  public void bufferedOutputIsFlushedOnStop() {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff
+        + "buffered.log";
+    File file = new File(filename);
+    FileAppender<Object> appender = buildBufferedAppender(filename);
+    appender.start();
+    appender.doAppend("hello");
+    // the event is still in the buffer
+    assertEquals(0, file.length());
+    appender.stop();
+    assertTrue(file.length() > 0);
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
+
+  @Test
+  public void bufferedOutputIsFlushedWhenFull() {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff
+        + "bufferFull.log";
+    File file = new File(filename);
+    FileAppender<Object> appender = buildBufferedAppender(filename);
+    appender.setBufferSize(FileSize.valueOf("1kb"));
+    appender.start();
+    for (int i = 0; i < 500; i++) {
+      appender.doAppend("hello " + i);
+    }
+    assertTrue(file.length() >= 1024);
+    appender.stop();
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
+
+  @Test(timeout = 5000)
+  public void bufferedOutputIsFlushedAfterMaxFlushDelay()
+      throws InterruptedException {
+    String filename = CoreTestConstants.OUTPUT_DIR_PREFIX + diff
+        + "flushDelay.log";
+    File file = new File(filename);
+    FileAppender<Object> appender = buildBufferedAppender(filename);
+    appender.setMaxFlushDelay(Duration.buildByMilliseconds(50));
+    appender.start();
+    appender.doAppend("hello");
+    while (file.length() == 0) {
+      Thread.sleep(10);
+    }
+    appender.stop();
+    assertTrue("failed to delete " + file.getAbsolutePath(), file.delete());
+  }
 }
@@ -0,0 +1,167 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.async;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class RingBufferBlockingQueueTest {
+
+  RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(
+      10, WaitStrategy.YIELD);
+
+  @Test
+  public void capacityIsRoundedUpToPowerOfTwo() {
+    assertEquals(16, queue.getCapacity());
+    assertEquals(2, new RingBufferBlockingQueue<Integer>(1, WaitStrategy.SPIN)
+        .getCapacity());
+    assertEquals(64, new RingBufferBlockingQueue<Integer>(64,
+        WaitStrategy.PARK).getCapacity());
+  }
+
+  @Test
+  public void capacityOfOneDoesNotLoseElements() {
+    RingBufferBlockingQueue<Integer> small = new RingBufferBlockingQueue<Integer>(
+        1, WaitStrategy.SPIN);
+    assertTrue(small.offer(0));
+    assertTrue(small.offer(1));
+    assertFalse(small.offer(2));
+    assertEquals(2, small.size());
+    assertEquals(Integer.valueOf(0), small.poll());
+    assertEquals(Integer.valueOf(1), small.poll());
+    assertNull(small.poll());
+    for (int i = 0; i < 10; i++) {
+      assertTrue(small.offer(i));
+      assertEquals(Integer.valueOf(i), small.poll());
+    }
+  }
+
+  @Test
+  public void fifoOrder() {
+    for (int i = 0; i < 5; i++) {
+      assertTrue(queue.offer(i));
+    }
+    assertEquals(5, queue.size());
+    assertEquals(Integer.valueOf(0), queue.peek());
+    for (int i = 0; i < 5; i++) {
+      assertEquals(Integer.valueOf(i), queue.poll());
+    }
+    assertNull(queue.poll());
+    assertEquals(0, queue.size());
+  }
+
+  @Test
+  public void offerFailsWhenFull() {
+    for (int i = 0; i < queue.getCapacity(); i++) {
+      assertTrue(queue.offer(i));
+    }
+    assertFalse(queue.offer(-1));
+    assertEquals(0, queue.remainingCapacity());
+    queue.poll();
+    assertTrue(queue.offer(-1));
+  }
+
+  @Test
+  public void wrapAround() {
+    for (int lap = 0; lap < 5; lap++) {
+      for (int i = 0; i < queue.getCapacity(); i++) {
+        assertTrue(queue.offer(i));
+      }
+      List<Integer> list = new ArrayList<Integer>();
+      assertEquals(queue.getCapacity(), queue.drainTo(list));
+      assertEquals(queue.getCapacity(), list.size());
+      assertEquals(Integer.valueOf(queue.getCapacity() - 1), list.get(list
+          .size() - 1));
+    }
+  }
+
+  @Test
+  public void drainToHonorsMaxElements() {
+    for (int i = 0; i < 10; i++) {
+      queue.offer(i);
+    }
+    List<Integer> list = new ArrayList<Integer>();
+    assertEquals(3, queue.drainTo(list, 3));
+    assertEquals(7, queue.size());
+  }
+
+  @Test
+  public void iteratorIsASnapshot() {
+    for (int i = 0; i < 3; i++) {
+      queue.offer(i);
+    }
+    List<Integer> list = new ArrayList<Integer>();
+    for (Integer i : queue) {
+      list.add(i);
+    }
+    assertEquals(3, list.size());
+    assertEquals(3, queue.size());
+  }
+
+  @Test(timeout = 2000)
+  public void takeIsInterruptible() throws InterruptedException {
+    Thread.currentThread().interrupt();
+    try {
+      queue.take();
+      fail("expected InterruptedException");
+    } catch (InterruptedException e) {
+    }
+  }
+
+  @Test(timeout = 5000)
+  public void multipleProducers() throws InterruptedException {
+    final int producerCount = 4;
+    final int perProducer = 10000;
+    Thread[] producers = new Thread[producerCount];
+    for (int p = 0; p < producerCount; p++) {
+      final int base = p * perProducer;
+      producers[p] = new Thread(new Runnable() {
+        public void run() {
+          try {
+            for (int i = 0; i < perProducer; i++) {
+              queue.put(base + i);
+            }
+          } catch (InterruptedException e) {
+          }
+        }
+      });
+      producers[p].start();
+    }
+
+    int[] lastSeen = new int[producerCount];
+    for (int p = 0; p < producerCount; p++) {
+      lastSeen[p] = -1;
+    }
+    for (int n = 0; n < producerCount * perProducer; n++) {
+      int value = queue.take();
+      int producer = value / perProducer;
+      int seq = value % perProducer;
+      // events from a given producer must come out in order
+      assertEquals(lastSeen[producer] + 1, seq);
+      lastSeen[producer] = seq;
+    }
+    for (Thread t : producers) {
+      t.join();
+    }
+    assertNull(queue.poll());
+  }
+}
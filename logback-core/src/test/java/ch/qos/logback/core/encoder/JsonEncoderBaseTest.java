@@ -0,0 +1,174 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.encoder;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class JsonEncoderBaseTest {
+
+  static final byte[] MSG = JsonEncoderBase.fieldName("msg");
+  static final byte[] LEN = JsonEncoderBase.fieldName("len");
+  static final byte[] CHARS = JsonEncoderBase.fieldName("chars");
+
+  // writes the string, its length and its characters as an array
+  static class StringJsonEncoder extends JsonEncoderBase<String> {
+    @Override
+    protected void writeFields(String event) {
+      writeStringField(MSG, event);
+      writeNumberField(LEN, event == null ? -1 : event.length());
+      writeFieldName(CHARS);
+      writeStartArray();
+      if (event != null) {
+        for (int i = 0; i < event.length(); i++) {
+          writeString(event.substring(i, i + 1));
+        }
+      }
+      writeEndArray();
+    }
+  }
+
+  StringJsonEncoder encoder = new StringJsonEncoder();
+  ByteArrayOutputStream baos = new ByteArrayOutputStream();
+
+  @Before
+  public void setUp() throws IOException {
+    encoder.start();
+    encoder.init(baos);
+  }
+
+  String encode(String event) throws IOException {
+    baos.reset();
+    encoder.doEncode(event);
+    return new String(baos.toByteArray(), "UTF-8");
+  }
+
+  @Test
+  public void smoke() throws IOException {
+    assertEquals("{\"msg\":\"ab\",\"len\":2,\"chars\":[\"a\",\"b\"]}\n",
+        encode("ab"));
+  }
+
+  @Test
+  public void nullAndEmpty() throws IOException {
+    assertEquals("{\"msg\":null,\"len\":-1,\"chars\":[]}\n", encode(null));
+    assertEquals("{\"msg\":\"\",\"len\":0,\"chars\":[]}\n", encode(""));
+  }
+
+  @Test
+  public void escaping() throws IOException {
+    String s = "q\" b\\ n\n r\r t\t \u0001 \u001f /";
+    String expected = "q\\\" b\\\\ n\\n r\\r t\\t \\u0001 \\u001f /";
+    assertTrue(encode(s).startsWith("{\"msg\":\"" + expected + "\","));
+    StringBuilder sb = new StringBuilder();
+    JsonEncoderBase.appendEscaped(sb, s);
+    assertEquals(expected, sb.toString());
+  }
+
+  @Test
+  public void nonASCII() throws IOException {
+    // 2, 3 and 4 byte sequences
+    String s = "\u00e9\u20ac\ud83d\ude00";
+    String json = encode(s);
+    assertTrue(json.startsWith("{\"msg\":\"" + s + "\",\"len\":4,"));
+    // renderings are made of ASCII characters only
+    StringBuilder sb = new StringBuilder();
+    JsonEncoderBase.appendEscaped(sb, s);
+    assertEquals("\\u00e9\\u20ac\\ud83d\\ude00", sb.toString());
+  }
+
+  @Test
+  public void unpairedSurrogate() throws IOException {
+    String json = encode("a\ud83db");
+    assertTrue(json.startsWith("{\"msg\":\"a?b\","));
+  }
+
+  @Test
+  public void rawValue() throws IOException {
+    JsonEncoderBase<String> rawEncoder = new JsonEncoderBase<String>() {
+      @Override
+      protected void writeFields(String event) {
+        writeFieldName(MSG);
+        writeRawValue(event);
+        writeNumberField(LEN, event.length());
+      }
+    };
+    rawEncoder.init(baos);
+    rawEncoder.doEncode("{\"a\":[1,2]}");
+    assertEquals("{\"msg\":{\"a\":[1,2]},\"len\":11}\n", baos.toString());
+  }
+
+  @Test
+  public void nullFieldName() throws IOException {
+    // the name is written at every position of the initial buffer, so that
+    // it ends up filling the buffer exactly for one of the lengths
+    for (int i = 0; i < JsonEncoderBase.INITIAL_BUFFER_SIZE; i++) {
+      StringBuilder sb = new StringBuilder();
+      for (int j = 0; j < i; j++) {
+        sb.append('a');
+      }
+      final String padding = sb.toString();
+      JsonEncoderBase<String> mapEncoder = new JsonEncoderBase<String>() {
+        @Override
+        protected void writeFields(String event) {
+          writeStringField(MSG, padding);
+          writeFieldName((String) null);
+          writeString(event);
+        }
+      };
+      mapEncoder.init(baos);
+      baos.reset();
+      mapEncoder.doEncode("v");
+      assertEquals("{\"msg\":\"" + padding + "\",\"null\":\"v\"}\n", baos
+          .toString());
+    }
+  }
+
+  @Test
+  public void numbers() throws IOException {
+    for (long l : new long[] { 0, 7, -7, 10, 1234567890123L, Long.MAX_VALUE,
+        Long.MIN_VALUE }) {
+      final long value = l;
+      JsonEncoderBase<String> numberEncoder = new JsonEncoderBase<String>() {
+        @Override
+        protected void writeFields(String event) {
+          writeNumberField(LEN, value);
+        }
+      };
+      numberEncoder.init(baos);
+      baos.reset();
+      numberEncoder.doEncode("");
+      assertEquals("{\"len\":" + value + "}\n", baos.toString());
+    }
+  }
+
+  @Test
+  public void bufferGrowsAndShrinks() throws IOException {
+    StringBuilder sb = new StringBuilder();
+    for (int i = 0; i < JsonEncoderBase.MAX_RETAINED_BUFFER_SIZE; i++) {
+      sb.append((char) ('a' + i % 26));
+    }
+    String longString = sb.toString();
+    String json = encode(longString);
+    assertTrue(json.startsWith("{\"msg\":\"" + longString + "\",\"len\":"
+        + longString.length() + ","));
+    assertEquals("{\"msg\":\"x\",\"len\":1,\"chars\":[\"x\"]}\n", encode("x"));
+  }
+}
@@ -18,7 +18,7 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 @RunWith(Suite.class)
-@SuiteClasses({ThrowableToStringArrayTest.class})
+@SuiteClasses({ThrowableToStringArrayTest.class, TransformTest.class})
 public class PackageTest {
 
 }
@@ -0,0 +1,67 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.helpers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+public class TransformTest {
+
+  StringBuilder buf = new StringBuilder("x");
+
+  @Test
+  public void escapeTagsReturnsInputWithoutTags() {
+    String s = "no tags here";
+    assertSame(s, Transform.escapeTags(s));
+    assertSame("", Transform.escapeTags(""));
+    assertNull(Transform.escapeTags((String) null));
+  }
+
+  @Test
+  public void escapeTags() {
+    assertEquals("&lt;b&gt;bold&lt;/b&gt; a &gt; b", Transform
+        .escapeTags("<b>bold</b> a > b"));
+    assertEquals("&lt;&gt;", Transform.escapeTags("<>"));
+  }
+
+  @Test
+  public void escapeTagsInStringBuffer() {
+    StringBuffer sb = new StringBuffer("a<b");
+    assertEquals("a&lt;b", Transform.escapeTags(sb));
+    assertEquals("a&lt;b", sb.toString());
+  }
+
+  @Test
+  public void appendEscapingTags() {
+    Transform.appendEscapingTags(buf, "plain");
+    Transform.appendEscapingTags(buf, null);
+    Transform.appendEscapingTags(buf, "<a>");
+    Transform.appendEscapingTags(buf, "1 < 2 > 0");
+    assertEquals("xplain&lt;a&gt;1 &lt; 2 &gt; 0", buf.toString());
+  }
+
+  @Test
+  public void appendEscapingCDATA() {
+    Transform.appendEscapingCDATA(buf, "plain");
+    Transform.appendEscapingCDATA(buf, null);
+    assertEquals("xplain", buf.toString());
+
+    buf.setLength(0);
+    Transform.appendEscapingCDATA(buf, "a]]>b]]>");
+    assertEquals("a]]>]]&gt;<![CDATA[b]]>]]&gt;<![CDATA[", buf.toString());
+  }
+}
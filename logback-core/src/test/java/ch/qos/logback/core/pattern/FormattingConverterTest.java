@@ -0,0 +1,87 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.pattern;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+public class FormattingConverterTest {
+
+  static class AppendingConverter extends FormattingConverter<String> {
+    public void appendTo(StringBuilder buf, String event) {
+      appendValue(buf, event);
+    }
+  }
+
+  static class ConvertingConverter extends FormattingConverter<String> {
+    public String convert(String event) {
+      return event;
+    }
+  }
+
+  String write(FormattingConverter<String> converter, String event) {
+    StringBuilder buf = new StringBuilder("[");
+    converter.write(buf, event);
+    return buf.append("]").toString();
+  }
+
+  void check(String expected, FormatInfo fi, String event) {
+    FormattingConverter<String> appending = new AppendingConverter();
+    FormattingConverter<String> converting = new ConvertingConverter();
+    if (fi != null) {
+      appending.setFormattingInfo(fi);
+      converting.setFormattingInfo(fi);
+    }
+    assertEquals(expected, write(appending, event));
+    assertEquals(expected, write(converting, event));
+  }
+
+  @Test
+  public void noFormatting() {
+    check("[abc]", null, "abc");
+    check("[null]", null, null);
+  }
+
+  @Test
+  public void padding() {
+    check("[  abc]", new FormatInfo(5, Integer.MAX_VALUE), "abc");
+    check("[abc  ]", new FormatInfo(5, Integer.MAX_VALUE, false, true), "abc");
+    check("[abc]", new FormatInfo(2, Integer.MAX_VALUE), "abc");
+    check("[  ]", new FormatInfo(2, Integer.MAX_VALUE), null);
+  }
+
+  @Test
+  public void truncation() {
+    check("[cde]", new FormatInfo(Integer.MIN_VALUE, 3), "abcde");
+    check("[abc]", new FormatInfo(Integer.MIN_VALUE, 3, true, false), "abcde");
+    check("[ab]", new FormatInfo(Integer.MIN_VALUE, 3), "ab");
+  }
+
+  @Test
+  public void convertBridgesToAppendTo() {
+    assertEquals("abc", new AppendingConverter().convert("abc"));
+  }
+
+  @Test
+  public void compositeConverterWritesInPlace() {
+    CompositeConverter<String> composite = new CompositeConverter<String>();
+    composite.setFormattingInfo(new FormatInfo(8, Integer.MAX_VALUE));
+    Converter<String> child = new LiteralConverter<String>("a-");
+    child.setNext(new ConvertingConverter());
+    composite.setChildConverter(child);
+    assertEquals("[   a-abc]", write(composite, "abc"));
+    assertEquals("a-abc", composite.convert("abc"));
+  }
+}
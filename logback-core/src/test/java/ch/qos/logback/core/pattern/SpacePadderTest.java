@@ -104,4 +104,28 @@ public class SpacePadderTest {
     
   }
 
+  @Test
+  public void leftPadInPlace() {
+    {
+      StringBuilder buf = new StringBuilder("x");
+      buf.append("abc");
+      SpacePadder.leftPadInPlace(buf, 1, 5);
+      assertEquals("x  abc", buf.toString());
+    }
+    {
+      StringBuilder buf = new StringBuilder("x");
+      buf.append("abc");
+      SpacePadder.leftPadInPlace(buf, 1, 2);
+      assertEquals("xabc", buf.toString());
+    }
+    {
+      StringBuilder buf = new StringBuilder("x");
+      buf.append("abc");
+      SpacePadder.leftPadInPlace(buf, 1, 70);
+      assertEquals(71, buf.length());
+      assertEquals("x" + SpacePadder.SPACES[5] + SpacePadder.SPACES[5]
+          + "   abc", buf.toString());
+    }
+  }
+
 }
@@ -27,6 +27,7 @@ import ch.qos.logback.core.ContextBase;
 import ch.qos.logback.core.pattern.Converter;
 import ch.qos.logback.core.pattern.Converter123;
 import ch.qos.logback.core.pattern.ConverterHello;
+import ch.qos.logback.core.pattern.ConverterWithoutConversion;
 import ch.qos.logback.core.status.StatusChecker;
 import ch.qos.logback.core.util.StatusPrinter;
 
@@ -39,6 +40,7 @@ public class CompilerTest  {
   @Before public void setUp() {
     converterMap.put("OTT", Converter123.class.getName());
     converterMap.put("hello", ConverterHello.class.getName());
+    converterMap.put("none", ConverterWithoutConversion.class.getName());
   }
 
 
@@ -242,6 +244,18 @@ public class CompilerTest  {
         .containsMatch("\\[unknown] is not a valid conversion word"));
   }
 
+  @Test
+  public void testConverterWithoutConversion() throws Exception {
+    Parser<Object> p = new Parser<Object>("abc %none");
+    p.setContext(context);
+    Node t = p.parse();
+    Converter<Object> head = p.compile(t, converterMap);
+    String result = write(head, new Object());
+    assertEquals("abc %PARSER_ERROR_none", result);
+    StatusChecker checker = new StatusChecker(context.getStatusManager());
+    assertTrue(checker.containsMatch("Converter class \\[.*] overrides neither"));
+  }
+
   @Test
   public void testWithNopEscape() throws Exception {
     {
@@ -26,6 +26,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.AppenderBase;
 import ch.qos.logback.core.helpers.NOPAppender;
 
 /**
@@ -162,6 +163,24 @@ public class AppenderAttachableImplTest {
     assertFalse( aai.detachAppender("test1"));
   }
 
+  @Test
+  public void detachingDuringAppendDoesNotAffectTheCurrentLoop() {
+    final NOPAppender<TestEvent> last = new NOPAppender<TestEvent>();
+    last.start();
+    AppenderBase<TestEvent> detaching = new AppenderBase<TestEvent>() {
+      protected void append(TestEvent e) {
+        aai.detachAppender(last);
+      }
+    };
+    detaching.start();
+    aai.addAppender(detaching);
+    aai.addAppender(last);
+    // the loop walks the snapshot taken when it started
+    assertTrue(aai.appendLoopOnAppenders(new TestEvent()) == 2);
+    assertFalse(aai.isAttached(last));
+    assertTrue(aai.appendLoopOnAppenders(new TestEvent()) == 1);
+  }
+
   private static class TestEvent {
 
   }
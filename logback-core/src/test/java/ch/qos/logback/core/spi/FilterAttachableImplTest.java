@@ -0,0 +1,70 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.spi;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import ch.qos.logback.core.filter.Filter;
+
+public class FilterAttachableImplTest {
+
+  FilterAttachableImpl<Object> fai = new FilterAttachableImpl<Object>();
+
+  static class FixedReplyFilter extends Filter<Object> {
+    final FilterReply reply;
+    int count = 0;
+
+    FixedReplyFilter(FilterReply reply) {
+      this.reply = reply;
+    }
+
+    public FilterReply decide(Object event) {
+      count++;
+      return reply;
+    }
+  }
+
+  @Test
+  public void emptyChainIsNeutral() {
+    assertEquals(FilterReply.NEUTRAL, fai.getFilterChainDecision("e"));
+  }
+
+  @Test
+  public void firstNonNeutralReplyWins() {
+    FixedReplyFilter neutral = new FixedReplyFilter(FilterReply.NEUTRAL);
+    FixedReplyFilter deny = new FixedReplyFilter(FilterReply.DENY);
+    FixedReplyFilter accept = new FixedReplyFilter(FilterReply.ACCEPT);
+    fai.addFilter(neutral);
+    fai.addFilter(deny);
+    fai.addFilter(accept);
+    assertEquals(FilterReply.DENY, fai.getFilterChainDecision("e"));
+    assertEquals(1, neutral.count);
+    assertEquals(1, deny.count);
+    assertEquals(0, accept.count);
+  }
+
+  @Test
+  public void copyIsIndependentOfTheChain() {
+    fai.addFilter(new FixedReplyFilter(FilterReply.DENY));
+    List<Filter<Object>> copy = fai.getCopyOfAttachedFiltersList();
+    fai.clearAllFilters();
+    assertEquals(1, copy.size());
+    assertEquals(0, fai.getCopyOfAttachedFiltersList().size());
+    assertEquals(FilterReply.NEUTRAL, fai.getFilterChainDecision("e"));
+  }
+}
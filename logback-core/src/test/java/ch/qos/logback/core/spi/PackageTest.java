@@ -19,6 +19,7 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({AppenderAttachableImplTest.class, AppenderAttachableImplLockTest.class,
+        FilterAttachableImplTest.class,
         CyclicBufferTrackerImplTest.class, ScenarioBasedCyclicBufferTrackerTest.class})
 
 public class PackageTest {
@@ -0,0 +1,64 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Test;
+
+public class BoundedCacheTest {
+
+  BoundedCache<String, String> cache = new BoundedCache<String, String>(2, true);
+
+  @Test
+  public void hitsAndMissesAreCounted() {
+    assertEquals(0.0, cache.getHitRate(), 0);
+    assertNull(cache.get("a"));
+    cache.put("a", "A");
+    assertEquals("A", cache.get("a"));
+    assertEquals("A", cache.get("a"));
+    assertEquals(2, cache.getHitCount());
+    assertEquals(1, cache.getMissCount());
+    assertEquals(2.0 / 3, cache.getHitRate(), 0.0001);
+  }
+
+  @Test
+  public void cacheIsClearedWhenFull() {
+    cache.put("a", "A");
+    cache.put("b", "B");
+    assertEquals(2, cache.getSize());
+    cache.put("c", "C");
+    assertEquals(1, cache.getSize());
+    assertNull(cache.get("a"));
+    assertEquals("C", cache.get("c"));
+  }
+
+  @Test
+  public void statisticsCanBeDisabled() {
+    BoundedCache<String, String> uncounted = new BoundedCache<String, String>(
+        2, false);
+    uncounted.put("a", "A");
+    assertEquals("A", uncounted.get("a"));
+    assertNull(uncounted.get("b"));
+    assertEquals(0, uncounted.getHitCount());
+    assertEquals(0, uncounted.getMissCount());
+    assertEquals(0.0, uncounted.getHitRate(), 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void maxSizeMustBePositive() {
+    new BoundedCache<String, String>(0, true);
+  }
+}
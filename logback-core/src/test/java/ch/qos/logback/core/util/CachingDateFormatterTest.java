@@ -0,0 +1,97 @@
+/**
+ * Logback: the reliable, generic, fast and flexible logging framework.
+ * Copyright (C) 1999-2009, QOS.ch. All rights reserved.
+ *
+ * This program and the accompanying materials are dual-licensed under
+ * either the terms of the Eclipse Public License v1.0 as published by
+ * the Eclipse Foundation
+ *
+ *   or (per the licensee's choosing)
+ *
+ * under the terms of the GNU Lesser General Public License version 2.1
+ * as published by the Free Software Foundation.
+ */
+package ch.qos.logback.core.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.TimeZone;
+
+import org.junit.Test;
+
+import ch.qos.logback.core.CoreConstants;
+
+public class CachingDateFormatterTest {
+
+  static final long BASE = 1262390400123L; // 2010-01-02 00:00:00.123 UTC
+
+  static final long[] OFFSETS = { 0, 1, 9, 10, 99, 100, 877, 999, 1000, 1001,
+      60 * 1000 - 1, 60 * 1000, 3600 * 1000 + 5, 24 * 3600 * 1000L };
+
+  void check(String pattern, TimeZone tz) {
+    CachingDateFormatter cdf = new CachingDateFormatter(pattern, tz);
+    SimpleDateFormat sdf = new SimpleDateFormat(pattern);
+    if (tz != null) {
+      sdf.setTimeZone(tz);
+    }
+    for (long offset : OFFSETS) {
+      long timestamp = BASE + offset;
+      String expected = sdf.format(new Date(timestamp));
+      assertEquals(pattern, expected, cdf.format(timestamp));
+
+      StringBuilder buf = new StringBuilder("x");
+      cdf.appendTo(buf, timestamp);
+      assertEquals(pattern, "x" + expected, buf.toString());
+    }
+  }
+
+  @Test
+  public void sameOutputAsSimpleDateFormat() {
+    check(CoreConstants.ISO8601_PATTERN, null);
+    check(CoreConstants.CLF_DATE_PATTERN, null);
+    check("HH:mm:ss.SSS", null);
+    check("HH:mm:ss,S", null);
+    check("HH:mm:ss SSSSS", null);
+    check("SSS HH:mm:ss", null);
+    check("yyyy-MM-dd", null);
+  }
+
+  @Test
+  public void timeZone() {
+    check(CoreConstants.ISO8601_PATTERN, TimeZone.getTimeZone("GMT+5:30"));
+    check(CoreConstants.CLF_DATE_PATTERN, TimeZone.getTimeZone("GMT-8"));
+  }
+
+  @Test
+  public void quotedOrRepeatedMillis() {
+    check("HH:mm:ss 'SSS'", null);
+    check("HH:mm:ss.SSS 'at' SSS", null);
+    check("HH:mm:ss.SSS''SS", null);
+  }
+
+  @Test
+  public void timestampsBeforeTheEpoch() {
+    CachingDateFormatter cdf = new CachingDateFormatter("HH:mm:ss.SSS",
+        TimeZone.getTimeZone("UTC"));
+    assertEquals("23:59:59.999", cdf.format(-1));
+    assertEquals("23:59:58.001", cdf.format(-1999));
+  }
+
+  @Test
+  public void millisField() {
+    assertEquals(0, CachingDateFormatter.findMillisField("HH:mm:ss").length);
+    int[] field = CachingDateFormatter.findMillisField("HH:mm:ss.SSS");
+    assertEquals(9, field[0]);
+    assertEquals(12, field[1]);
+    assertEquals(0, CachingDateFormatter.findMillisField("'SSS'").length);
+    assertNull(CachingDateFormatter.findMillisField("SSS SSS"));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void invalidPattern() {
+    new CachingDateFormatter("HH:mm:ss.SSS bb");
+  }
+}
@@ -25,6 +25,8 @@ import org.junit.runners.Suite.SuiteClasses;
   OptionHelperTest.class,
   StatusPrinterTest.class,
   TimeUtilTest.class,
-  ContentTypeUtilTest.class})
+  CachingDateFormatterTest.class,
+  ContentTypeUtilTest.class,
+  BoundedCacheTest.class})
 public class PackageTest {
 }